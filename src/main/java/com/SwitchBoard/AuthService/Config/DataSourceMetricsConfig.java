@@ -0,0 +1,63 @@
+package com.SwitchBoard.AuthService.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Statement-level database metrics: every Hikari pool is wrapped in a QueryMetricsDataSource and every
+ * repository call is tagged, so query time, rows written and slow queries are attributed to a repository
+ * method. Only the physical pools are wrapped, so routing proxies in front of them do not double count.
+ * Disable with {@code db.metrics.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.metrics.enabled", matchIfMissing = true)
+public class DataSourceMetricsConfig {
+
+    private static final Set<String> HISTOGRAM_METERS = Set.of(QueryMetricsDataSource.QUERY_TIMER, "hikaricp.connections.acquire");
+
+    // Static so the post-processors are registered before the beans they wrap are created
+    @Bean
+    public static BeanPostProcessor queryMetricsDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                        @Value("${db.metrics.slow-query-ms:250}") long slowQueryMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    String pool = dataSource.getPoolName() != null ? dataSource.getPoolName() : beanName;
+                    return new QueryMetricsDataSource(dataSource, pool, meterRegistry.getObject(), slowQueryMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public static RepositoryMethodTaggingPostProcessor repositoryMethodTaggingPostProcessor() {
+        return new RepositoryMethodTaggingPostProcessor();
+    }
+
+    // Percentile histograms let Prometheus compute p95/p99 query and acquire times across instances
+    @Bean
+    public MeterFilter databaseHistogramMeterFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HISTOGRAM_METERS.contains(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        };
+    }
+}
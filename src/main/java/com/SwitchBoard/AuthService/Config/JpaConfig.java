@@ -0,0 +1,19 @@
+package com.SwitchBoard.AuthService.Config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    /**
+     * Pads IN-list bind parameters to the next power of two, so batch lookups of 1..N keys compile to
+     * about log2(N) distinct SQL strings instead of N, keeping the query plan and statement caches small.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer inClauseParameterPaddingCustomizer() {
+        return properties -> properties.put(AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, true);
+    }
+}
@@ -0,0 +1,242 @@
+package com.SwitchBoard.AuthService.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Wraps a Hikari pool so every statement is timed and attributed to the repository method that issued it.
+ * Records {@code auth.db.query} (timer) and {@code auth.db.query.rows} (rows written), both tagged with
+ * pool, caller and operation, plus {@code auth.db.pool.utilization}. Acquire wait is Hikari's own
+ * {@code hikaricp.connections.acquire}. Statements slower than the threshold are logged with string
+ * literals masked; bound parameter values are never logged. It replaces the pool's bean, so it is Closeable
+ * and passes close() on: otherwise the container's inferred destroy method would never reach the pool.
+ */
+@Slf4j
+public class QueryMetricsDataSource extends DelegatingDataSource implements Closeable {
+
+    static final String QUERY_TIMER = "auth.db.query";
+    static final String ROWS_SUMMARY = "auth.db.query.rows";
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    private static final Set<String> PREPARE_METHODS = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> OPERATIONS = Set.of("select", "insert", "update", "delete");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_LOGGED_SQL_LENGTH = 1000;
+
+    private final HikariDataSource hikariDataSource;
+    private final String pool;
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryNanos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    public QueryMetricsDataSource(HikariDataSource target, String pool, MeterRegistry meterRegistry, long slowQueryMillis) {
+        super(target);
+        this.hikariDataSource = target;
+        this.pool = pool;
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = slowQueryMillis * 1_000_000L;
+        // The pool MXBean only exists once the first connection has been requested
+        Gauge.builder("auth.db.pool.utilization", target, QueryMetricsDataSource::utilization)
+                .description("Share of the pool's maximum connections currently in use")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() {
+        hikariDataSource.close();
+    }
+
+    private Connection wrap(Connection target) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, new ConnectionHandler(target));
+    }
+
+    private static double utilization(HikariDataSource dataSource) {
+        HikariPoolMXBean poolBean = dataSource.getHikariPoolMXBean();
+        int max = dataSource.getMaximumPoolSize();
+        return poolBean == null || max <= 0 ? 0 : (double) poolBean.getActiveConnections() / max;
+    }
+
+    private void record(String sql, long elapsedNanos, long rows) {
+        String caller = RepositoryMethodTaggingPostProcessor.currentCaller();
+        String operation = operation(sql);
+        String key = caller + '|' + operation;
+        timers.computeIfAbsent(key, k -> Timer.builder(QUERY_TIMER)
+                .description("JDBC statement execution time by issuing repository method")
+                .tags("pool", pool, "caller", caller, "operation", operation)
+                .register(meterRegistry)).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (rows >= 0) {
+            rowSummaries.computeIfAbsent(key, k -> DistributionSummary.builder(ROWS_SUMMARY)
+                    .description("Rows written per JDBC statement or batch by issuing repository method")
+                    .tags("pool", pool, "caller", caller, "operation", operation)
+                    .register(meterRegistry)).record(rows);
+        }
+        if (elapsedNanos >= slowQueryNanos) {
+            log.warn("QueryMetricsDataSource : record : Slow query on {} took {} ms in {} - {}",
+                    pool, elapsedNanos / 1_000_000, caller, redact(sql));
+        }
+    }
+
+    static String operation(String sql) {
+        if (sql == null) {
+            return "batch";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return OPERATIONS.contains(keyword) ? keyword : "other";
+    }
+
+    // Bound values never reach this string; literals inlined into the SQL text are masked as well
+    static String redact(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        String redacted = WHITESPACE.matcher(STRING_LITERAL.matcher(sql).replaceAll("'?'")).replaceAll(" ").trim();
+        return redacted.length() > MAX_LOGGED_SQL_LENGTH ? redacted.substring(0, MAX_LOGGED_SQL_LENGTH) + "..." : redacted;
+    }
+
+    // Rows written as reported by the driver, or -1 for reads and when the count is unknown
+    private static long rowsOf(String method, Object result) {
+        if (result instanceof Integer count && method.equals("executeUpdate")) {
+            return count;
+        }
+        if (result instanceof Long count && method.equals("executeLargeUpdate")) {
+            return count;
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+            return total;
+        }
+        return -1;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getTargetConnection":
+                    return target;
+                default:
+                    break;
+            }
+            Object result = QueryMetricsDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = PREPARE_METHODS.contains(method.getName()) ? (String) args[0] : null;
+                return Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                        new Class<?>[]{method.getReturnType()}, new StatementHandler(statement, sql, (Connection) proxy));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final Connection connection;
+
+        StatementHandler(Statement target, String preparedSql, Connection connection) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connection;
+                default:
+                    break;
+            }
+            if (!EXECUTE_METHODS.contains(name)) {
+                return QueryMetricsDataSource.invoke(target, method, args);
+            }
+            // Plain statements carry their SQL as the first argument; batches of plain statements have none
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            long start = System.nanoTime();
+            Object result = null;
+            try {
+                result = QueryMetricsDataSource.invoke(target, method, args);
+                return result;
+            } finally {
+                // Failed statements are timed too; they report no rows
+                record(sql, System.nanoTime() - start, rowsOf(name, result));
+            }
+        }
+    }
+}
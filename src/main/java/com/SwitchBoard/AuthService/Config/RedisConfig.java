@@ -2,18 +2,114 @@ package com.SwitchBoard.AuthService.Config;
 
 
 
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
+@Slf4j
 public class RedisConfig {
 
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+        return buildTemplate(connectionFactory);
+    }
+
+    /**
+     * Template for lag-tolerant reads such as OTP cooldown checks. On a Redis Cluster it reads from
+     * replicas when one is available; on a standalone Redis it shares the primary connection factory.
+     */
+    @Bean
+    public RedisTemplate<String, Object> replicaRedisTemplate(
+            RedisConnectionFactory connectionFactory,
+            @Qualifier("replicaRedisConnectionFactory") ObjectProvider<LettuceConnectionFactory> replicaConnectionFactory) {
+        LettuceConnectionFactory replicaFactory = replicaConnectionFactory.getIfAvailable();
+        return buildTemplate(replicaFactory != null ? replicaFactory : connectionFactory);
+    }
+
+    /**
+     * Cluster connection factory that prefers replicas for reads. Declared as its own bean so the container
+     * starts and destroys it (and its client resources); not a default candidate, so Boot's auto-configured
+     * factory stays the one injected everywhere else.
+     */
+    @Bean(defaultCandidate = false)
+    @Qualifier("replicaRedisConnectionFactory")
+    @ConditionalOnProperty(prefix = "spring.data.redis.cluster", name = "nodes")
+    public LettuceConnectionFactory replicaRedisConnectionFactory(RedisConnectionFactory connectionFactory) {
+        if (!(connectionFactory instanceof LettuceConnectionFactory lettuce) || lettuce.getClusterConfiguration() == null) {
+            throw new IllegalStateException("Replica reads need a Lettuce cluster connection factory");
+        }
+        log.info("RedisConfig : replicaRedisConnectionFactory : Cluster detected, routing replica reads with REPLICA_PREFERRED");
+        LettuceClientConfiguration base = lettuce.getClientConfiguration();
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder()
+                .readFrom(ReadFrom.REPLICA_PREFERRED)
+                .commandTimeout(base.getCommandTimeout())
+                .shutdownTimeout(base.getShutdownTimeout());
+        base.getClientOptions().ifPresent(builder::clientOptions);
+        if (base.isUseSsl()) {
+            builder.useSsl();
+        }
+        return new LettuceConnectionFactory(lettuce.getClusterConfiguration(), builder.build());
+    }
+
+    /**
+     * Template for values that are already serialized (e.g. cached profile JSON), stored and read as raw bytes.
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> bytesRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(RedisSerializer.byteArray());
+
+        return template;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * Keeps the Lettuce view of the cluster current so slot migrations and failovers are picked up
+     * without restarting the service. Only active when cluster nodes are configured.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.data.redis.cluster", name = "nodes")
+    public LettuceClientConfigurationBuilderCustomizer clusterTopologyRefreshCustomizer(
+            @Value("${redis.cluster.topology-refresh-seconds:30}") long refreshSeconds) {
+        ClusterTopologyRefreshOptions topologyRefreshOptions = ClusterTopologyRefreshOptions.builder()
+                .enablePeriodicRefresh(Duration.ofSeconds(refreshSeconds))
+                .enableAllAdaptiveRefreshTriggers()
+                .build();
+
+        return builder -> builder.clientOptions(ClusterClientOptions.builder()
+                .topologyRefreshOptions(topologyRefreshOptions)
+                .build());
+    }
+
+    private RedisTemplate<String, Object> buildTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -23,4 +119,3 @@ public class RedisConfig {
         return template;
     }
 }
-
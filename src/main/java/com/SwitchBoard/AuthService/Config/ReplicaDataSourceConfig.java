@@ -0,0 +1,79 @@
+package com.SwitchBoard.AuthService.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write split across a Postgres primary and a streaming replica, enabled by setting
+ * {@code spring.datasource.replica.url}. Without it Boot's single auto-configured pool is used as before.
+ * Each side gets its own Hikari pool (named "primary" and "replica", so hikaricp.* metrics are tagged
+ * per pool); the replica inherits the primary's credentials unless replica ones are set. For local runs
+ * the replica URL may point at the primary itself: the lag probe reports zero for a server that is not
+ * a standby.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.datasource.replica.url")
+@Slf4j
+public class ReplicaDataSourceConfig {
+
+    // Binds the same spring.datasource.hikari.* settings Boot would have applied to its own pool
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${spring.datasource.replica.url}") String url,
+                                              @Value("${spring.datasource.replica.username:#{null}}") String username,
+                                              @Value("${spring.datasource.replica.password:#{null}}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+        if (username != null) {
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+        }
+        dataSource.setPoolName("replica");
+        // A write that reaches the replica fails fast instead of waiting on the standby
+        dataSource.setReadOnly(true);
+        log.info("ReplicaDataSourceConfig : replicaDataSource : Routing read-only transactions to replica - {}", url);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${spring.datasource.replica.max-lag-ms:1000}") long maxLagMillis,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, maxLagMillis, meterRegistry);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                             @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                             ReplicaLagMonitor replicaLagMonitor,
+                                                             MeterRegistry meterRegistry) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry);
+    }
+
+    // The proxy defers the physical connection to the first statement, by which time the read-only flag is set
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
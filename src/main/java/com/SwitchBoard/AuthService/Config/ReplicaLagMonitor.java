@@ -0,0 +1,76 @@
+package com.SwitchBoard.AuthService.Config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Polls the replica for how far its replay trails the primary. Read-only work is routed to the replica
+ * only while the last probe succeeded, the standby was streaming from the primary and the lag was within
+ * bounds; anything else sends it to the primary. The replica login needs pg_read_all_stats to see the WAL
+ * receiver's status; without it only the receiver's presence is checked.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // Zero when the server is not a standby, or when it has replayed everything it received. NULL when no WAL
+    // receiver is streaming: a disconnected standby has replayed all it received too, but is falling behind
+    private static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE coalesce(status, 'streaming') = 'streaming') THEN NULL "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE coalesce(extract(epoch FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMillis;
+    private volatile boolean usable;
+    private volatile double lagMillis = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagMillis, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagMillis = maxLagMillis;
+        Gauge.builder("auth.datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .description("Replica replay lag in milliseconds at the last probe; NaN when the probe failed")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("auth.datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            if (lag == null) {
+                lagMillis = Double.NaN;
+                usable = false;
+                if (wasUsable) {
+                    log.error("ReplicaLagMonitor : check : Replica is not streaming from the primary, routing reads to the primary");
+                }
+                return;
+            }
+            lagMillis = lag;
+            usable = lagMillis <= maxLagMillis;
+        } catch (Exception e) {
+            lagMillis = Double.NaN;
+            usable = false;
+            if (wasUsable) {
+                log.error("ReplicaLagMonitor : check : Replica probe failed, routing reads to the primary - {}", e.getMessage());
+            }
+            return;
+        }
+        if (wasUsable != usable) {
+            log.warn("ReplicaLagMonitor : check : Replica lag {} ms, routing reads to the {}", (long) lagMillis,
+                    usable ? "replica" : "primary");
+        }
+    }
+}
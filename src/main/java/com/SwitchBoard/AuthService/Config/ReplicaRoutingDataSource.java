@@ -0,0 +1,48 @@
+package com.SwitchBoard.AuthService.Config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary. The key
+ * is read when a connection is requested, so this must sit behind a LazyConnectionDataSourceProxy: the
+ * transaction manager asks for its connection before it marks the transaction read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.fallbacks = Counter.builder("auth.datasource.replica.fallbacks")
+                .description("Read-only transactions sent to the primary because the replica was lagging or down")
+                .register(meterRegistry);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // Work outside a transaction is never known to be read-only, so it stays on the primary
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isUsable()) {
+            fallbacks.increment();
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+}
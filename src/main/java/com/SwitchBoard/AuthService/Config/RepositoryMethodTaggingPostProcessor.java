@@ -0,0 +1,73 @@
+package com.SwitchBoard.AuthService.Config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records which repository method is running on the current thread, so statements reaching the JDBC layer
+ * can be attributed to it (see QueryMetricsDataSource). Applies to @Repository classes and to Spring Data
+ * repositories, whose SimpleJpaRepository target carries the annotation.
+ */
+public class RepositoryMethodTaggingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    static final String NO_CALLER = "none";
+
+    private static final ThreadLocal<String> CURRENT_CALLER = new ThreadLocal<>();
+
+    public RepositoryMethodTaggingPostProcessor() {
+        this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Repository.class, true), new CallerInterceptor());
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+    }
+
+    // "AccountRepository.findByEmail", or "none" for statements issued outside a repository call (e.g. flush at commit)
+    static String currentCaller() {
+        String caller = CURRENT_CALLER.get();
+        return caller == null ? NO_CALLER : caller;
+    }
+
+    static final class CallerInterceptor implements MethodInterceptor {
+
+        private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            String previous = CURRENT_CALLER.get();
+            CURRENT_CALLER.set(repositoryName(invocation) + "." + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                if (previous == null) {
+                    CURRENT_CALLER.remove();
+                } else {
+                    CURRENT_CALLER.set(previous);
+                }
+            }
+        }
+
+        // Spring Data repositories share one target class, so they are named after the interface the proxy implements
+        private String repositoryName(MethodInvocation invocation) {
+            Class<?> type = invocation instanceof ProxyMethodInvocation proxyInvocation
+                    ? proxyInvocation.getProxy().getClass()
+                    : invocation.getThis().getClass();
+            return repositoryNames.computeIfAbsent(type, proxyType -> {
+                for (Class<?> candidate : proxyType.getInterfaces()) {
+                    if (org.springframework.data.repository.Repository.class.isAssignableFrom(candidate)
+                            && !candidate.getName().startsWith("org.springframework.")) {
+                        return candidate.getSimpleName();
+                    }
+                }
+                return ClassUtils.getUserClass(proxyType).getSimpleName();
+            });
+        }
+    }
+}
@@ -1,20 +1,41 @@
 package com.SwitchBoard.AuthService.Config;
 
+import com.SwitchBoard.AuthService.Filter.JwtAuthenticationFilter;
+import com.SwitchBoard.AuthService.Util.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 public class SecurityConfig {
 
+    // Roles allowed to call the bulk and write-side admin endpoints
+    private static final String[] ADMIN_ROLES = {"ADMIN", "SUPER_ADMIN", JwtAuthenticationFilter.INTERNAL_ROLE};
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtUtil jwtUtil,
+                                           @Value("${security.internal.api-key:}") String internalApiKey) throws Exception {
 
         http
                 .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, internalApiKey), UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(auth -> auth
+                        // Bulk account creation, reward minting and leaderboard rebuilds: admins and internal callers only.
+                        // Must stay ahead of the permitAll on /api/v1/auth/**, since the first matching rule wins
+                        .requestMatchers(HttpMethod.POST,
+                                "/api/v1/auth/account/import",
+                                "/api/v1/auth/account/*/counters",
+                                "/api/v1/auth/leaderboard/rebuild"
+                        ).hasAnyRole(ADMIN_ROLES)
                         // Permit all for auth endpoints and Swagger
                         .requestMatchers(
                                 "/api/v1/auth/google/login",
@@ -37,6 +58,8 @@ public class SecurityConfig {
                         ).permitAll()
                         .anyRequest().authenticated()  // everything else requires auth
                 )
+                // Missing or rejected credentials get 401; valid credentials without the role get 403
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                .httpBasic(AbstractHttpConfigurer::disable)  // disable basic login popup
                 .formLogin(AbstractHttpConfigurer::disable);           // disable default login form
 
@@ -1,20 +1,41 @@
 package com.SwitchBoard.AuthService.Controller;
 
 
+import com.SwitchBoard.AuthService.DTO.Account.AccountBatchRequest;
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeFeed;
+import com.SwitchBoard.AuthService.DTO.Account.AccountImportSummary;
+import com.SwitchBoard.AuthService.DTO.Account.AccountPageResponse;
 import com.SwitchBoard.AuthService.DTO.Account.AccountRequestDto;
 import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
+import com.SwitchBoard.AuthService.DTO.Account.AccountSearchResponse;
+import com.SwitchBoard.AuthService.DTO.Account.CounterIncrementRequest;
+import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
 import com.SwitchBoard.AuthService.DTO.Authentication.ApiResponse;
 import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Service.Account.AccountChangeFeedService;
+import com.SwitchBoard.AuthService.Service.Account.AccountCounterService;
+import com.SwitchBoard.AuthService.Service.Account.AccountImportService;
 import com.SwitchBoard.AuthService.Service.Account.AccountService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -24,6 +45,10 @@ import java.util.UUID;
 @Tag(name = "Account Management", description = "API endpoints for managing user accounts")
 public class AccountController {
     private final AccountService accountService;
+    private final AccountImportService accountImportService;
+    private final AccountCounterService accountCounterService;
+    private final AccountChangeFeedService accountChangeFeedService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Create a new user account")
     @PostMapping("/create")
@@ -36,6 +61,37 @@ public class AccountController {
             return new ResponseEntity<>(apiResponse, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Create accounts in bulk from CSV or NDJSON; rejected records are streamed back as NDJSON")
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                             InputStream input) {
+        AccountImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"))
+                ? AccountImportService.Format.CSV
+                : AccountImportService.Format.NDJSON;
+        log.info("AccountController : importUsers : Received {} import request", format);
+
+        // The upload is read while the report is written, so neither side is buffered in full
+        StreamingResponseBody body = outputStream -> {
+            ObjectWriter writer = objectMapper.writer();
+            AccountImportSummary summary = accountImportService.importAccounts(input, format, error -> {
+                try {
+                    outputStream.write(writer.writeValueAsBytes(error));
+                    outputStream.write('\n');
+                    outputStream.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.write(writer.writeValueAsBytes(summary));
+            outputStream.write('\n');
+            log.info("AccountController : importUsers : Import completed - {}", summary);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @Operation(summary = "Get user by ID")
     @GetMapping("/get/{id}")
     public ResponseEntity<AccountResponseDto> getUser(@PathVariable UUID id) {
@@ -50,6 +106,15 @@ public class AccountController {
         }
     }
 
+    @Operation(summary = "Get several users by id or email in one call")
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, AccountResponseDto>> getUsers(@RequestBody AccountBatchRequest request) {
+        log.info("AccountController : getUsers : Received batch lookup request");
+        Map<String, AccountResponseDto> users = accountService.getUsers(request);
+        log.info("AccountController : getUsers : Successfully retrieved {} users", users.size());
+        return ResponseEntity.ok(users);
+    }
+
     @Operation(summary = "Get all users")
     @GetMapping("/getAll")
     public ResponseEntity<List<AccountResponseDto>> getAllUsers() {
@@ -64,6 +129,74 @@ public class AccountController {
         }
     }
 
+    @Operation(summary = "List users one page at a time, ordered by id, optionally only those holding a role")
+    @GetMapping("/list")
+    public ResponseEntity<AccountPageResponse> listUsers(@RequestParam(required = false) UUID after,
+                                                         @RequestParam(defaultValue = "50") int limit,
+                                                         @RequestParam(required = false) USER_ROLE role) {
+        log.info("AccountController : listUsers : Listing users after - {} with role - {}", after, role);
+        AccountPageResponse page = role == null
+                ? accountService.listUsers(after, limit)
+                : accountService.listUsersByRole(role, after, limit);
+        log.info("AccountController : listUsers : Successfully retrieved {} users", page.getItems().size());
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "List account changes after a sequence number, oldest first, for delta sync")
+    @GetMapping("/changes")
+    public ResponseEntity<AccountChangeFeed> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                        @RequestParam(defaultValue = "100") int limit) {
+        log.info("AccountController : getChanges : Fetching account changes since - {}", since);
+        AccountChangeFeed feed = accountChangeFeedService.changesSince(since, limit);
+        log.info("AccountController : getChanges : Returning {} changes, next since - {}", feed.getItems().size(), feed.getNextSince());
+        return ResponseEntity.ok(feed);
+    }
+
+    @Operation(summary = "Search users by partial name or email, best matches first")
+    @GetMapping("/search")
+    public ResponseEntity<AccountSearchResponse> searchUsers(@RequestParam("q") String query,
+                                                             @RequestParam(defaultValue = "0") int page,
+                                                             @RequestParam(defaultValue = "20") int size) {
+        log.info("AccountController : searchUsers : Searching users for - {}", query);
+        AccountSearchResponse result = accountService.searchUsers(query, page, size);
+        log.info("AccountController : searchUsers : Found {} users for - {}", result.getItems().size(), query);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Stream all users as a JSON array")
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        log.info("AccountController : streamUsers : Streaming all users");
+        // Rows are written as they are read, so neither the result set nor the response is held in memory
+        // Let the generator's buffer decide when to flush instead of flushing after every row
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                accountService.streamAllUsers(user -> {
+                    try {
+                        writer.writeValue(generator, user);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @Operation(summary = "Increment reward and task counters; applied asynchronously and at most once per eventId")
+    @PostMapping("/{id}/counters")
+    public ResponseEntity<ApiResponse> incrementCounters(@PathVariable UUID id, @RequestBody CounterIncrementRequest request) {
+        log.info("AccountController : incrementCounters : Received counter event {} for account - {}", request.getEventId(), id);
+        request.setAccountId(id);
+        accountCounterService.submit(request);
+        return new ResponseEntity<>(ApiResponse.success("Counter increment accepted for " + id, true), HttpStatus.ACCEPTED);
+    }
+
     @Operation(summary = "Update user")
     @PatchMapping("/update/{id}")
     public ResponseEntity<ApiResponse> updateUser(@PathVariable UUID id, @RequestBody AccountRequestDto updates) {
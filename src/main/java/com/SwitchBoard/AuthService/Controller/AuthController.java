@@ -5,13 +5,12 @@ import com.SwitchBoard.AuthService.DTO.Authentication.AuthRequest;
 import com.SwitchBoard.AuthService.DTO.Authentication.AuthResponse;
 import com.SwitchBoard.AuthService.DTO.Authentication.AuthValidateRequest;
 import com.SwitchBoard.AuthService.DTO.Authentication.RefreshTokenRequest;
+import com.SwitchBoard.AuthService.DTO.Totp.TotpEnrollResponse;
+import com.SwitchBoard.AuthService.DTO.Totp.TotpVerifyRequest;
 import com.SwitchBoard.AuthService.Exception.ResourceNotFoundException;
-import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
-import com.SwitchBoard.AuthService.Model.Account;
-import com.SwitchBoard.AuthService.Model.RefreshToken;
 import com.SwitchBoard.AuthService.Service.OtpService;
-import com.SwitchBoard.AuthService.Service.RefreshTokenService;
-import com.SwitchBoard.AuthService.Util.JwtUtil;
+import com.SwitchBoard.AuthService.Service.TokenRefreshService;
+import com.SwitchBoard.AuthService.Service.TotpService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -19,7 +18,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,11 +29,8 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final OtpService otpService;
-    private final RefreshTokenService refreshTokenService;
-    private final JwtUtil jwtUtil;
-
-    @Value("${jwt.expiration}")
-    private Long jwtExpiration;
+    private final TokenRefreshService tokenRefreshService;
+    private final TotpService totpService;
 
     @Operation(
         summary = "Send OTP to email",
@@ -85,7 +80,8 @@ public class AuthController {
     @PostMapping("/verify-otp")
     public ResponseEntity<AuthResponse> verifyOtp(@RequestBody AuthValidateRequest authValidateRequest) throws Exception {
         log.info("AuthController : verifyOtp : Request received for email - {}", authValidateRequest.getEmail());
-        AuthResponse authResponse = otpService.validateOtp(authValidateRequest.getEmail(), authValidateRequest.getOtp());
+        AuthResponse authResponse = otpService.validateOtp(
+                authValidateRequest.getEmail(), authValidateRequest.getOtp(), authValidateRequest.getChallenge());
         log.info("AuthController : verifyOtp : OTP verified successfully for email - {}", authValidateRequest.getEmail());
         return ResponseEntity.ok(authResponse);
     }
@@ -110,34 +106,106 @@ public class AuthController {
     public ResponseEntity<AuthResponse> refreshToken(@RequestBody RefreshTokenRequest request) throws Exception {
         log.info("AuthController : refreshToken : Request received to refresh token");
         
-        RefreshToken refreshToken = refreshTokenService.findByToken(request.getRefreshToken())
-                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
-        
-        if (!refreshTokenService.isTokenValid(refreshToken)) {
-            log.warn("AuthController : refreshToken : Invalid or expired refresh token");
-            throw new UnauthorizedException("Refresh token expired or invalid");
-        }
-        
-        Account account = refreshToken.getAccount();
-        
-        // Generate new access token
-        String newAccessToken = jwtUtil.generateToken(
-            account.getEmail(), 
-            account.getName(), 
-            account.getId(), 
-            account.getUserRole()
-        );
+        AuthResponse response = tokenRefreshService.refresh(request.getRefreshToken());
         
-        // Create new refresh token
-        RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(account);
-        
-        AuthResponse response = AuthResponse.builder()
-                .accessToken(newAccessToken)
-                .refreshToken(newRefreshToken.getToken())
-                .expiresIn(jwtExpiration)
-                .build();
-        
-        log.info("AuthController : refreshToken : Token refreshed successfully for account - {}", account.getEmail());
+        log.info("AuthController : refreshToken : Token refreshed successfully");
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Logout",
+        description = "Revokes the refresh token and every other refresh token of its account"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Logged out successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "401",
+            description = "Tampered refresh token",
+            content = @Content
+        )
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse> logout(@RequestBody RefreshTokenRequest request) {
+        log.info("AuthController : logout : Request received to logout");
+        tokenRefreshService.logout(request.getRefreshToken());
+        log.info("AuthController : logout : Logged out successfully");
+        return ResponseEntity.ok(ApiResponse.success("Logged out successfully", true));
+    }
+
+    @Operation(
+        summary = "Enroll TOTP authenticator",
+        description = "Verifies the emailed OTP and issues a new TOTP secret; login via TOTP is enabled after activation"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "TOTP secret issued",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = TotpEnrollResponse.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "401",
+            description = "OTP expired or invalid",
+            content = @Content
+        )
+    })
+    @PostMapping("/totp/enroll")
+    public ResponseEntity<TotpEnrollResponse> enrollTotp(@RequestBody AuthValidateRequest authValidateRequest) {
+        log.info("AuthController : enrollTotp : Request received for email - {}", authValidateRequest.getEmail());
+        TotpEnrollResponse response = totpService.enroll(
+                authValidateRequest.getEmail(), authValidateRequest.getOtp(), authValidateRequest.getChallenge());
+        log.info("AuthController : enrollTotp : TOTP secret issued for email - {}", authValidateRequest.getEmail());
         return ResponseEntity.ok(response);
     }
+
+    @Operation(
+        summary = "Activate TOTP authenticator",
+        description = "Confirms the first code from the authenticator app and enables TOTP login"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "TOTP login enabled",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "401",
+            description = "Invalid or replayed TOTP code",
+            content = @Content
+        )
+    })
+    @PostMapping("/totp/activate")
+    public ResponseEntity<ApiResponse> activateTotp(@RequestBody TotpVerifyRequest request) {
+        log.info("AuthController : activateTotp : Request received for email - {}", request.getEmail());
+        ApiResponse apiResponse = totpService.activate(request.getEmail(), request.getCode());
+        log.info("AuthController : activateTotp : TOTP activated for email - {}", request.getEmail());
+        return ResponseEntity.ok(apiResponse);
+    }
+
+    @Operation(
+        summary = "Login with TOTP",
+        description = "Validates a code from the enrolled authenticator app and returns authentication tokens"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "TOTP verified successfully",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuthResponse.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "401",
+            description = "Invalid or replayed TOTP code, or TOTP not enabled",
+            content = @Content
+        )
+    })
+    @PostMapping("/totp/verify")
+    public ResponseEntity<AuthResponse> verifyTotp(@RequestBody TotpVerifyRequest request) throws Exception {
+        log.info("AuthController : verifyTotp : Request received for email - {}", request.getEmail());
+        AuthResponse authResponse = totpService.login(request.getEmail(), request.getCode());
+        log.info("AuthController : verifyTotp : TOTP verified successfully for email - {}", request.getEmail());
+        return ResponseEntity.ok(authResponse);
+    }
 }
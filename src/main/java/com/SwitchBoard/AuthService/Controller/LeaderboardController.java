@@ -0,0 +1,62 @@
+package com.SwitchBoard.AuthService.Controller;
+
+import com.SwitchBoard.AuthService.DTO.Authentication.ApiResponse;
+import com.SwitchBoard.AuthService.DTO.Leaderboard.LeaderboardEntry;
+import com.SwitchBoard.AuthService.Exception.ConflictException;
+import com.SwitchBoard.AuthService.Service.Leaderboard.LeaderboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/auth/leaderboard")
+@Slf4j
+@RequiredArgsConstructor
+@Tag(name = "Leaderboard", description = "Reward point rankings served from Redis")
+public class LeaderboardController {
+    private final LeaderboardService leaderboardService;
+
+    @Operation(summary = "Get the top accounts by reward points")
+    @GetMapping("/top")
+    public ResponseEntity<List<LeaderboardEntry>> getTop(@RequestParam(defaultValue = "10") int limit) {
+        log.info("LeaderboardController : getTop : Received request for top {} accounts", limit);
+        return ResponseEntity.ok(leaderboardService.top(limit));
+    }
+
+    @Operation(summary = "Get an account's rank and reward points")
+    @GetMapping("/{accountId}/rank")
+    public ResponseEntity<LeaderboardEntry> getRank(@PathVariable UUID accountId) {
+        log.info("LeaderboardController : getRank : Received rank request for account - {}", accountId);
+        return ResponseEntity.ok(leaderboardService.rankOf(accountId));
+    }
+
+    @Operation(summary = "Get the accounts ranked immediately above and below an account")
+    @GetMapping("/{accountId}/around")
+    public ResponseEntity<List<LeaderboardEntry>> getAround(@PathVariable UUID accountId,
+                                                            @RequestParam(defaultValue = "5") int radius) {
+        log.info("LeaderboardController : getAround : Received around-me request for account - {}", accountId);
+        return ResponseEntity.ok(leaderboardService.around(accountId, radius));
+    }
+
+    @Operation(summary = "Rebuild the leaderboard from the account table")
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponse> rebuild() {
+        log.info("LeaderboardController : rebuild : Received leaderboard rebuild request");
+        if (!leaderboardService.rebuild()) {
+            throw new ConflictException("A leaderboard rebuild is already running");
+        }
+        log.info("LeaderboardController : rebuild : Leaderboard rebuilt");
+        return ResponseEntity.ok(ApiResponse.success("Leaderboard rebuilt", true));
+    }
+}
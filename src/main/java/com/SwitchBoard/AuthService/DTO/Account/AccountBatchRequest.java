@@ -0,0 +1,18 @@
+package com.SwitchBoard.AuthService.DTO.Account;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountBatchRequest {
+    private List<UUID> ids;
+    private List<String> emails;
+}
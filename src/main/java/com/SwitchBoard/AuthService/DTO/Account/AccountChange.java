@@ -0,0 +1,23 @@
+package com.SwitchBoard.AuthService.DTO.Account;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountChange {
+    private long sequence;
+    private UUID accountId;
+    private AccountChangeType type;
+    private Instant changedAt;
+
+    // The account as it is now, not as of this change; null if the account no longer exists
+    private AccountResponseDto account;
+}
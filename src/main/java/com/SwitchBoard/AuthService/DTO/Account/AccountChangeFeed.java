@@ -0,0 +1,24 @@
+package com.SwitchBoard.AuthService.DTO.Account;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountChangeFeed {
+    // Ascending by sequence
+    private List<AccountChange> items;
+
+    // Pass back as "since" to fetch the next page; equal to the request's "since" when nothing changed
+    private long nextSince;
+
+    // Highest sequence written so far; a new consumer records it before copying the table via /list
+    private long latestSequence;
+    private boolean hasMore;
+}
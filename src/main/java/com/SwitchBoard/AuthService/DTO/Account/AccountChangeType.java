@@ -0,0 +1,8 @@
+package com.SwitchBoard.AuthService.DTO.Account;
+
+public enum AccountChangeType {
+    // Stored by name in account_change.change_type; rename only together with a data migration
+    CREATED,
+    UPDATED,
+    COUNTERS
+}
@@ -0,0 +1,17 @@
+package com.SwitchBoard.AuthService.DTO.Account;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountImportError {
+    // 1-based position of the record in the upload, not counting a CSV header
+    private long record;
+    private String email;
+    private String message;
+}
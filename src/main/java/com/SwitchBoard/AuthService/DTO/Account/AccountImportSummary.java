@@ -0,0 +1,16 @@
+package com.SwitchBoard.AuthService.DTO.Account;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountImportSummary {
+    private long received;
+    private long created;
+    private long rejected;
+}
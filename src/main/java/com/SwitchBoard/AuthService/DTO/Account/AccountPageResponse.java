@@ -0,0 +1,20 @@
+package com.SwitchBoard.AuthService.DTO.Account;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountPageResponse {
+    private List<AccountResponseDto> items;
+
+    // Pass back as "after" to fetch the next page; null once the last page has been returned
+    private UUID nextCursor;
+}
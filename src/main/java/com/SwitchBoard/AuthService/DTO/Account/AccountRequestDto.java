@@ -31,4 +31,7 @@ public class AccountRequestDto {
     private int taskAssignedCount;
     private int taskCompletedCount;
     private List<USER_ROLE> userRole ;
+
+    // Optional on update: when set, the update only applies if the account is still at this version
+    private Long version;
 }
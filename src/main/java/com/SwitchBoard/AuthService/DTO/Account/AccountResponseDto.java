@@ -8,15 +8,15 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.Collections;
+import java.util.Collection;
 import java.util.Date;
-import java.util.List;
 import java.util.UUID;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+// Field order defines the constructor used by AccountMapper.RESPONSE_PROJECTION
 public class AccountResponseDto {
     private UUID id;
     private String name;
@@ -37,6 +37,9 @@ public class AccountResponseDto {
     private int taskCompletedCount;
 
 
-    private List<USER_ROLE> userRole ;
+    // EnumSet when read from an account; serialized as the same JSON array of role names as before
+    private Collection<USER_ROLE> userRole ;
+
+    private Long version;
 }
 
@@ -0,0 +1,20 @@
+package com.SwitchBoard.AuthService.DTO.Account;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountSearchResponse {
+    // Best matches first: prefix matches, then by trigram similarity
+    private List<AccountResponseDto> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+}
@@ -0,0 +1,24 @@
+package com.SwitchBoard.AuthService.DTO.Account;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Counter deltas for one account, also the payload of task-completion events. The event id makes the
+ * increment idempotent: an id that was already applied is ignored.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CounterIncrementRequest {
+    private String eventId;
+    private UUID accountId;
+    private int rewardPoints;
+    private int tasksAssigned;
+    private int tasksCompleted;
+}
@@ -1,7 +1,41 @@
 package com.SwitchBoard.AuthService.DTO.Account;
 
+import java.util.Collection;
+import java.util.EnumSet;
+
 public enum USER_ROLE {
-    ADMIN,
-    USER,
-    SUPER_ADMIN
+    ADMIN(1),
+    USER(2),
+    SUPER_ADMIN(4);
+
+    // Bit stored in account.role_mask; never reuse or renumber a bit once rows carry it
+    private final int mask;
+
+    USER_ROLE(int mask) {
+        this.mask = mask;
+    }
+
+    public int mask() {
+        return mask;
+    }
+
+    public static int toMask(Collection<USER_ROLE> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (USER_ROLE role : roles) {
+                mask |= role.mask;
+            }
+        }
+        return mask;
+    }
+
+    public static EnumSet<USER_ROLE> fromMask(int mask) {
+        EnumSet<USER_ROLE> roles = EnumSet.noneOf(USER_ROLE.class);
+        for (USER_ROLE role : values()) {
+            if ((mask & role.mask) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
 }
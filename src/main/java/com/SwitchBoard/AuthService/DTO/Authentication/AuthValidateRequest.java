@@ -6,4 +6,5 @@ import lombok.Data;
 public class AuthValidateRequest {
     private String email;
     private String otp;
+    private String challenge; // only set when stateless OTP challenges are enabled
 }
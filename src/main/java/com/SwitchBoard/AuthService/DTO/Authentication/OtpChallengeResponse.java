@@ -0,0 +1,14 @@
+package com.SwitchBoard.AuthService.DTO.Authentication;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OtpChallengeResponse {
+
+    private String challenge; // echo back on /verify-otp
+    private Long expiresIn;   // seconds until the challenge expires
+}
@@ -0,0 +1,19 @@
+package com.SwitchBoard.AuthService.DTO.Leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LeaderboardEntry {
+    // 1-based; accounts with equal points keep the order Redis gives them
+    private long rank;
+    private UUID accountId;
+    private long points;
+}
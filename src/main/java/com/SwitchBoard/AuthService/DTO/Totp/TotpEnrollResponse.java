@@ -0,0 +1,16 @@
+package com.SwitchBoard.AuthService.DTO.Totp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TotpEnrollResponse {
+
+    private String secret;     // Base32 seed for manual entry
+    private String otpauthUri; // otpauth:// URI for QR codes
+}
@@ -0,0 +1,9 @@
+package com.SwitchBoard.AuthService.DTO.Totp;
+
+import lombok.Data;
+
+@Data
+public class TotpVerifyRequest {
+    private String email;
+    private String code;
+}
@@ -0,0 +1,7 @@
+package com.SwitchBoard.AuthService.Exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,7 @@ package com.SwitchBoard.AuthService.Exception;
 import com.SwitchBoard.AuthService.DTO.Authentication.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -34,6 +35,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED);
     }
     
+    @ExceptionHandler({ConflictException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ApiResponse> handleConflict(RuntimeException ex, HttpServletRequest request) {
+        log.error("GlobalExceptionHandler : handleConflict : Conflicting update - {} at URI: {}", ex.getMessage(), request.getRequestURI());
+        ApiResponse response = ApiResponse.error(ex.getMessage(), "CONFLICT", request.getRequestURI());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse> handleServiceUnavailable(ServiceUnavailableException ex, HttpServletRequest request) {
+        log.error("GlobalExceptionHandler : handleServiceUnavailable : Service unavailable - {} at URI: {}", ex.getMessage(), request.getRequestURI());
+        ApiResponse response = ApiResponse.error(ex.getMessage(), "SERVICE_UNAVAILABLE", request.getRequestURI());
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(UnexpectedException.class)
     public ResponseEntity<ApiResponse> handleUnexpected(UnexpectedException ex, HttpServletRequest request) {
         log.error("GlobalExceptionHandler : handleUnexpected : Unexpected error - {} at URI: {}", ex.getMessage(), request.getRequestURI());
@@ -0,0 +1,89 @@
+package com.SwitchBoard.AuthService.Filter;
+
+import com.SwitchBoard.AuthService.Util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticates callers of the protected endpoints. A service-to-service call presents the shared
+ * internal API key and gets ROLE_INTERNAL; a user presents an access token issued by this service and
+ * gets one ROLE_ authority per role claim. Anything else continues unauthenticated, and the security rules
+ * decide whether that is enough. Registered inside the security chain only (see SecurityConfig).
+ */
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String INTERNAL_API_KEY_HEADER = "X-Internal-Api-Key";
+    public static final String INTERNAL_ROLE = "INTERNAL";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+    private final byte[] internalApiKey;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, String internalApiKey) {
+        this.jwtUtil = jwtUtil;
+        // A blank key disables internal-caller authentication rather than matching an empty header
+        this.internalApiKey = internalApiKey == null || internalApiKey.isBlank()
+                ? null
+                : internalApiKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String apiKey = request.getHeader(INTERNAL_API_KEY_HEADER);
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (apiKey != null) {
+            authenticateInternalCaller(apiKey);
+        } else if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            authenticateUser(authorization.substring(BEARER_PREFIX.length()));
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticateInternalCaller(String apiKey) {
+        if (internalApiKey == null || !MessageDigest.isEqual(internalApiKey, apiKey.getBytes(StandardCharsets.UTF_8))) {
+            log.warn("JwtAuthenticationFilter : authenticateInternalCaller : Rejected internal API key");
+            return;
+        }
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "internal", null, List.of(new SimpleGrantedAuthority("ROLE_" + INTERNAL_ROLE))));
+    }
+
+    private void authenticateUser(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parseToken(token);
+        } catch (Exception e) {
+            log.warn("JwtAuthenticationFilter : authenticateUser : Rejected access token - {}", e.getMessage());
+            return;
+        }
+
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        if (claims.get("role") instanceof Collection<?> roles) {
+            roles.forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role)));
+        }
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(claims.getSubject(), null, authorities));
+    }
+}
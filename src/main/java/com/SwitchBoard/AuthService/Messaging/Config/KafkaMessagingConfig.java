@@ -1,14 +1,22 @@
 package com.SwitchBoard.AuthService.Messaging.Config;
 
+import com.SwitchBoard.AuthService.DTO.Account.CounterIncrementRequest;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import switchboard.schemas.OTPNotificationEvent;
 import switchboard.schemas.OnboardingEvent;
@@ -23,6 +31,12 @@ public class KafkaMessagingConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${account.counters.kafka.group-id:auth-service-counters}")
+    private String counterGroupId;
+
+    @Value("${account.counters.kafka.max-poll-records:500}")
+    private int counterMaxPollRecords;
+
     private Map<String, Object> baseConfig() {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
@@ -50,4 +64,33 @@ public class KafkaMessagingConfig {
     public KafkaTemplate<String, OnboardingEvent> onboardingKafkaTemplate() {
         return new KafkaTemplate<>(onboardingProducerFactory());
     }
+
+    @Bean
+    public ConsumerFactory<String, CounterIncrementRequest> counterEventConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, counterGroupId);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, counterMaxPollRecords);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        // A malformed record becomes a null value instead of blocking the partition
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, CounterIncrementRequest.class.getName());
+        config.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    /**
+     * Batch listener factory: each poll is handed over as one list and its offsets are committed only after
+     * the listener returns, i.e. after the counter flush has committed.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, CounterIncrementRequest> counterEventListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, CounterIncrementRequest> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(counterEventConsumerFactory());
+        factory.setBatchListener(true);
+        return factory;
+    }
 }
@@ -1,9 +1,11 @@
 package com.SwitchBoard.AuthService.Messaging.Config;
 
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -35,4 +37,25 @@ public class RabbitMQConfig {
 
         return template;
     }
-}
\ No newline at end of file
+
+    /**
+     * Consumer-side batching for counter events: up to batch-size messages (or what arrives within the
+     * receive timeout) are delivered as one list and acknowledged together after the listener returns.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory counterEventListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            MessageConverter messageConverter,
+            @Value("${account.counters.rabbit.batch-size:500}") int batchSize,
+            @Value("${account.counters.rabbit.receive-timeout-ms:200}") long receiveTimeoutMillis) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(messageConverter);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMillis);
+        return factory;
+    }
+}
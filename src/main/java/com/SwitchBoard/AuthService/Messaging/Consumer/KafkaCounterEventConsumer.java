@@ -0,0 +1,28 @@
+package com.SwitchBoard.AuthService.Messaging.Consumer;
+
+import com.SwitchBoard.AuthService.DTO.Account.CounterIncrementRequest;
+import com.SwitchBoard.AuthService.Service.Account.AccountCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Profile("dev")
+@Slf4j
+public class KafkaCounterEventConsumer {
+
+    private final AccountCounterService accountCounterService;
+
+    @KafkaListener(topics = "${account.counters.kafka.topic:task-completed}",
+            containerFactory = "counterEventListenerContainerFactory")
+    public void onEvents(List<CounterIncrementRequest> events) {
+        log.info("Received {} counter events from Kafka", events.size());
+        // Applied and committed before the poll's offsets are, so a crash only causes redelivery
+        accountCounterService.apply(events);
+    }
+}
@@ -0,0 +1,28 @@
+package com.SwitchBoard.AuthService.Messaging.Consumer;
+
+import com.SwitchBoard.AuthService.DTO.Account.CounterIncrementRequest;
+import com.SwitchBoard.AuthService.Service.Account.AccountCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Profile("prod")
+@Slf4j
+public class RabbitCounterEventConsumer {
+
+    private final AccountCounterService accountCounterService;
+
+    @RabbitListener(queues = "${rabbitmq.queue.task-completed:task-completed}",
+            containerFactory = "counterEventListenerContainerFactory")
+    public void onEvents(List<CounterIncrementRequest> events) {
+        log.info("Received {} counter events from RabbitMQ", events.size());
+        // Acknowledged only after the flush commits, so a crash only causes redelivery
+        accountCounterService.apply(events);
+    }
+}
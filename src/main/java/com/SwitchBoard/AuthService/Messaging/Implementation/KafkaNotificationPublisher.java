@@ -10,6 +10,8 @@ import org.springframework.stereotype.Service;
 import switchboard.schemas.OTPNotificationEvent;
 import switchboard.schemas.OnboardingEvent;
 
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 @Profile("dev")
@@ -38,4 +40,12 @@ public class KafkaNotificationPublisher implements NotificationPublisher {
         log.info("Sending Onboarding event to Kafka: {}", event);
         onboardingKafkaTemplate.send(onboardingTopic, event);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void sendOnboardingNotifications(Map<String, String> fullNamesByEmail) {
+        log.info("Sending {} Onboarding events to Kafka", fullNamesByEmail.size());
+        // Sends are queued in the producer and go out in its own record batches
+        fullNamesByEmail.forEach((email, fullName) ->
+                onboardingKafkaTemplate.send(onboardingTopic, new OnboardingEvent(email, fullName)));
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.stereotype.Service;
 import switchboard.schemas.OTPNotificationEvent;
 import switchboard.schemas.OnboardingEvent;
 
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 @Profile("prod")
@@ -39,4 +41,15 @@ public class RabbitNotificationPublisher implements NotificationPublisher {
         log.info("Publishing Onboarding event to RabbitMQ: {}", event);
         rabbitTemplate.convertAndSend(onboardingQueue, event);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void sendOnboardingNotifications(Map<String, String> fullNamesByEmail) {
+        log.info("Publishing {} Onboarding events to RabbitMQ", fullNamesByEmail.size());
+        // One channel for the whole group instead of a channel checkout per message
+        rabbitTemplate.invoke(operations -> {
+            fullNamesByEmail.forEach((email, fullName) ->
+                    operations.convertAndSend(onboardingQueue, new OnboardingEvent(email, fullName)));
+            return null;
+        });
+    }
+}
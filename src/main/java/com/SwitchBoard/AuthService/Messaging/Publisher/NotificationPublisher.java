@@ -1,9 +1,16 @@
 package com.SwitchBoard.AuthService.Messaging.Publisher;
 
+import java.util.Map;
+
 public interface NotificationPublisher {
 
     void sendOtpNotification(String email, String otp);
 
     void sendOnboardingNotification(String email, String fullName);
 
+    // Full names keyed by email; implementations can override to publish the whole group in one round
+    default void sendOnboardingNotifications(Map<String, String> fullNamesByEmail) {
+        fullNamesByEmail.forEach(this::sendOnboardingNotification);
+    }
+
 }
@@ -3,15 +3,22 @@ package com.SwitchBoard.AuthService.Model;
 
 import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,6 +27,7 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Entity
+@DynamicUpdate
 @Table(
         name = "account",
         indexes = {
@@ -57,8 +65,28 @@ public class Account {
     private String profileImageUrl;       // Google Profile Photo
     private boolean googleAccount;        // true if logged in via Google
 
+    // TOTP LOGIN FIELDS
+    @Column(length = 512)
+    private String totpSecret;            // AES-GCM encrypted Base32 seed
+    private boolean totpEnabled;          // true once the first code has been confirmed
+    private Long totpLastStep;            // last accepted time step, blocks code replay
+
+    // Stateless refresh tokens issued at or before this instant are rejected
+    private Date refreshRevokedAt;
+
+    @Convert(converter = UserRoleMaskConverter.class)
+    @Column(name = "role_mask", nullable = false)
+    private EnumSet<USER_ROLE> userRole = EnumSet.of(USER_ROLE.USER);
+
+    // Copy of userRole in the pre-V9 array column, kept for nodes that have not moved to role_mask. Written
+    // only; dropped together with the column (see db/optional/account_drop_user_role.sql)
     @Enumerated(EnumType.STRING)
-    private List<USER_ROLE> userRole = Collections.singletonList(USER_ROLE.USER);
+    @Column(name = "user_role")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private List<USER_ROLE> legacyUserRole;
 
     @CreationTimestamp
     private Date createdAt ;
@@ -66,5 +94,15 @@ public class Account {
     @UpdateTimestamp
     private Date updatedAt;
 
+    // Optimistic lock; profile PATCHes compare it in their WHERE clause instead of loading the row
+    @Version
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    protected void syncLegacyUserRole() {
+        legacyUserRole = userRole == null ? null : new ArrayList<>(userRole);
+    }
+
 }
 
@@ -10,7 +10,13 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(
+        name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_selector", columnList = "selector", unique = true),
+                @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiry_date")
+        }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,7 +27,16 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
-    @Column(unique = true, nullable = false, length = 512)
+    // Public lookup half of the token; 36 chars to also hold selectors migrated from legacy UUID tokens
+    @Column(nullable = false, length = 36)
+    private String selector;
+
+    // SHA-256 of the secret half; the secret itself is never stored
+    @Column(name = "verifier_hash", nullable = false, length = 32)
+    private byte[] verifierHash;
+
+    // Full "selector.verifier" value handed to the client once, at creation
+    @Transient
     private String token;
     
     @Column(name = "expiry_date", nullable = false)
@@ -0,0 +1,25 @@
+package com.SwitchBoard.AuthService.Model;
+
+import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.EnumSet;
+
+/**
+ * Stores an account's roles as one integer bitmask (see {@link USER_ROLE#mask()}) instead of an array
+ * column, so a role check in SQL is a single {@code role_mask & ? <> 0}.
+ */
+@Converter
+public class UserRoleMaskConverter implements AttributeConverter<EnumSet<USER_ROLE>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(EnumSet<USER_ROLE> roles) {
+        return USER_ROLE.toMask(roles);
+    }
+
+    @Override
+    public EnumSet<USER_ROLE> convertToEntityAttribute(Integer mask) {
+        return USER_ROLE.fromMask(mask == null ? 0 : mask);
+    }
+}
@@ -0,0 +1,90 @@
+package com.SwitchBoard.AuthService.Repository;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The account change log behind the delta-sync feed. Writers append in their own transaction, so a change
+ * row exists exactly when the account write it describes committed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountChangeRepository {
+
+    // Serializes appenders until commit, so sequence numbers become visible in order and "seq > N" never skips
+    private static final String APPEND_LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('account_change'))";
+
+    private static final String APPEND_SQL = "INSERT INTO account_change (account_id, change_type, changed_at) "
+            + "SELECT c.account_id, ?, now() FROM unnest(?::uuid[]) AS c(account_id)";
+
+    private static final String FIND_SINCE_SQL = "SELECT seq, account_id, change_type, changed_at FROM account_change "
+            + "WHERE seq > ? ORDER BY seq LIMIT ?";
+
+    // The newest row is always kept so a cursor pointing at purged rows can still be told apart from an idle log
+    private static final String DELETE_BEFORE_SQL = "DELETE FROM account_change WHERE changed_at < ? "
+            + "AND seq < (SELECT max(seq) FROM account_change)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record ChangeRecord(long sequence, UUID accountId, AccountChangeType type, Instant changedAt) {
+    }
+
+    public record SequenceBounds(long oldest, long latest) {
+    }
+
+    /**
+     * Records a change for each account when the caller's transaction commits. The insert is deferred to
+     * just before commit so the append lock is held only for the insert and the commit itself, not for
+     * whatever else the transaction goes on to do.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Collection<UUID> accountIds, AccountChangeType type) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        UUID[] ids = accountIds.toArray(UUID[]::new);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                jdbcTemplate.execute(APPEND_LOCK_SQL);
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(APPEND_SQL);
+                    ps.setString(1, type.name());
+                    ps.setArray(2, connection.createArrayOf("uuid", ids));
+                    return ps;
+                });
+            }
+        });
+    }
+
+    public List<ChangeRecord> findSince(long since, int limit) {
+        return jdbcTemplate.query(FIND_SINCE_SQL, (rs, rowNum) -> new ChangeRecord(
+                rs.getLong(1),
+                rs.getObject(2, UUID.class),
+                AccountChangeType.valueOf(rs.getString(3)),
+                rs.getTimestamp(4).toInstant()), since, limit);
+    }
+
+    // Both are 0 while the log is empty
+    public SequenceBounds sequenceBounds() {
+        return jdbcTemplate.queryForObject("SELECT coalesce(min(seq), 0), coalesce(max(seq), 0) FROM account_change",
+                (rs, rowNum) -> new SequenceBounds(rs.getLong(1), rs.getLong(2)));
+    }
+
+    public int deleteChangedBefore(Timestamp cutoff) {
+        return jdbcTemplate.update(DELETE_BEFORE_SQL, cutoff);
+    }
+}
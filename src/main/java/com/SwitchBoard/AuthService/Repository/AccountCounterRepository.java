@@ -0,0 +1,83 @@
+package com.SwitchBoard.AuthService.Repository;
+
+import com.SwitchBoard.AuthService.DTO.Account.CounterIncrementRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Set-based SQL for account counters. The event and delta statements are meant to run in the caller's
+ * transaction so the processed-event rows and the counter updates commit or roll back together.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccountCounterRepository {
+
+    private static final String RECORD_EVENTS_SQL = "INSERT INTO account_counter_event (event_id, account_id, processed_at) "
+            + "SELECT e.event_id, e.account_id, now() FROM unnest(?::varchar[], ?::uuid[]) AS e(event_id, account_id) "
+            + "ON CONFLICT (event_id) DO NOTHING "
+            + "RETURNING event_id";
+
+    private static final String APPLY_DELTA_SQL = "UPDATE account SET "
+            + "total_reward_points = total_reward_points + ?, "
+            + "task_assigned_count = task_assigned_count + ?, "
+            + "task_completed_count = task_completed_count + ?, "
+            + "version = version + 1 "
+            + "WHERE id = ?";
+
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record CounterDelta(UUID accountId, int rewardPoints, int tasksAssigned, int tasksCompleted) {
+    }
+
+    // Records the events in one statement and returns the ids that had not been seen before
+    public Set<String> recordNewEvents(Collection<CounterIncrementRequest> events) {
+        String[] eventIds = events.stream().map(CounterIncrementRequest::getEventId).toArray(String[]::new);
+        UUID[] accountIds = events.stream().map(CounterIncrementRequest::getAccountId).toArray(UUID[]::new);
+
+        List<String> inserted = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(RECORD_EVENTS_SQL);
+            ps.setArray(1, connection.createArrayOf("varchar", eventIds));
+            ps.setArray(2, connection.createArrayOf("uuid", accountIds));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1));
+        return new HashSet<>(inserted);
+    }
+
+    // One "x = x + ?" UPDATE per account, sent as a single JDBC batch; callers pass deltas in id order
+    public int[] applyDeltas(List<CounterDelta> deltas) {
+        return jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setInt(1, delta.rewardPoints());
+            ps.setInt(2, delta.tasksAssigned());
+            ps.setInt(3, delta.tasksCompleted());
+            ps.setObject(4, delta.accountId());
+        })[0];
+    }
+
+    // Reads every account's reward total through a cursor; the transaction keeps it open between fetches
+    @Transactional(readOnly = true)
+    public void scanRewardPoints(ObjIntConsumer<UUID> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement("SELECT id, total_reward_points FROM account");
+            ps.setFetchSize(SCAN_FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getObject(1, UUID.class), rs.getInt(2)));
+    }
+
+    public int deleteEventsProcessedBefore(Timestamp cutoff) {
+        return jdbcTemplate.update("DELETE FROM account_counter_event WHERE processed_at < ?", cutoff);
+    }
+}
@@ -0,0 +1,16 @@
+package com.SwitchBoard.AuthService.Repository;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountRequestDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface AccountPatchRepository {
+
+    /**
+     * Writes the non-null profile fields of {@code updates} in one UPDATE, without loading the row. When
+     * {@code updates.getVersion()} is set the row must still carry that version. Returns the name of each
+     * updated row, so an empty list means nothing matched.
+     */
+    List<String> applyProfilePatch(UUID id, AccountRequestDto updates);
+}
@@ -0,0 +1,59 @@
+package com.SwitchBoard.AuthService.Repository;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountRequestDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@Slf4j
+public class AccountPatchRepositoryImpl implements AccountPatchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> applyProfilePatch(UUID id, AccountRequestDto updates) {
+        // Native so the UPDATE can return the name; bulk updates bypass entity callbacks, so version and
+        // timestamp are maintained here
+        StringBuilder sql = new StringBuilder("UPDATE account SET version = version + 1, updated_at = :updatedAt");
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("updatedAt", new Date());
+
+        setIfPresent(sql, params, "aim_role", updates.getAimRole());
+        setIfPresent(sql, params, "deadline", updates.getDeadline());
+        setIfPresent(sql, params, "current_role_name", updates.getCurrentRole());
+        setIfPresent(sql, params, "github_url", updates.getGithubUrl());
+        setIfPresent(sql, params, "linkedin_url", updates.getLinkedinUrl());
+        setIfPresent(sql, params, "leetcode_url", updates.getLeetcodeUrl());
+        setIfPresent(sql, params, "mobile", updates.getMobile());
+
+        sql.append(" WHERE id = :id");
+        params.put("id", id);
+        if (updates.getVersion() != null) {
+            sql.append(" AND version = :version");
+            params.put("version", updates.getVersion());
+        }
+        sql.append(" RETURNING name");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), String.class);
+        params.forEach(query::setParameter);
+        List<String> names = query.getResultList();
+        log.debug("AccountPatchRepository : applyProfilePatch : Updated {} rows for account - {}", names.size(), id);
+        return names;
+    }
+
+    private void setIfPresent(StringBuilder sql, Map<String, Object> params, String column, Object value) {
+        if (value != null) {
+            sql.append(", ").append(column).append(" = :").append(column);
+            params.put(column, value);
+        }
+    }
+}
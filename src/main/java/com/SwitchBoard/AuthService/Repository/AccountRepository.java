@@ -1,14 +1,96 @@
 package com.SwitchBoard.AuthService.Repository;
 
+import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
 import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Util.AccountMapper;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, UUID> {
-    Optional<Account> findByEmail(String email);
+public interface AccountRepository extends JpaRepository<Account, UUID>, AccountPatchRepository {
+    String SEARCH_RANKING = " ORDER BY (lower(a.email) LIKE :prefix OR lower(a.name) LIKE :prefix) DESC, "
+            + "greatest(similarity(lower(a.name), :query), similarity(lower(a.email), :query)) DESC, a.id "
+            + "LIMIT :limit OFFSET :offset";
+
+    // Every email finder compares lower(email), so it probes the unique functional index (V10_1); callers
+    // pass values already run through EmailNormalizer. Read-only, so outside a write transaction it may be
+    // served by the replica.
+    @Transactional(readOnly = true)
+    @Query("SELECT a FROM Account a WHERE lower(a.email) = :email")
+    Optional<Account> findByEmail(@Param("email") String email);
+
+    // Conditional write so a TOTP code is accepted at most once, even across nodes
+    @Modifying
+    @Query("UPDATE Account a SET a.totpLastStep = :step WHERE a.id = :id AND (a.totpLastStep IS NULL OR a.totpLastStep < :step)")
+    int markTotpStepUsed(@Param("id") UUID id, @Param("step") long step);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.refreshRevokedAt = :revokedAt WHERE a.id = :id")
+    int markRefreshRevoked(@Param("id") UUID id, @Param("revokedAt") Date revokedAt);
+
+    @Query("SELECT lower(a.email) FROM Account a WHERE lower(a.email) IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Fills the profile cache, so it must read the primary: a replica row older than the last evict would be
+    // cached again (see AccountProfileCache). Read-write overrides the read-only default of repository reads
+    @Transactional
+    @Query("SELECT " + AccountMapper.RESPONSE_PROJECTION + " FROM Account a WHERE a.id = :id")
+    Optional<AccountResponseDto> findResponseById(@Param("id") UUID id);
+
+    @Query("SELECT " + AccountMapper.RESPONSE_PROJECTION + " FROM Account a ORDER BY a.id")
+    List<AccountResponseDto> findAllResponses();
+
+    // Batch lookups; IN lists are padded (see JpaConfig) so varying sizes share a handful of plans
+    @Query("SELECT " + AccountMapper.RESPONSE_PROJECTION + " FROM Account a WHERE a.id IN :ids")
+    List<AccountResponseDto> findResponsesByIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT " + AccountMapper.RESPONSE_PROJECTION + " FROM Account a WHERE lower(a.email) IN :emails")
+    List<AccountResponseDto> findResponsesByEmails(@Param("emails") Collection<String> emails);
+
+    // Account search (V8 to V8_4 indexes). Each OR arm has its own index, so Postgres combines them with a
+    // BitmapOr. Patterns arrive lower-cased with LIKE wildcards escaped.
+    @Query(value = "SELECT a.id FROM account a "
+            + "WHERE lower(a.email) LIKE :prefix OR lower(a.name) LIKE :prefix" + SEARCH_RANKING, nativeQuery = true)
+    List<UUID> searchIdsByPrefix(@Param("query") String query, @Param("prefix") String prefix,
+                                 @Param("limit") int limit, @Param("offset") int offset);
+
+    @Query(value = "SELECT a.id FROM account a "
+            + "WHERE lower(a.email) LIKE :prefix OR lower(a.name) LIKE :prefix "
+            + "OR lower(a.email) LIKE :contains OR lower(a.name) LIKE :contains" + SEARCH_RANKING, nativeQuery = true)
+    List<UUID> searchIdsBySubstring(@Param("query") String query, @Param("prefix") String prefix,
+                                    @Param("contains") String contains,
+                                    @Param("limit") int limit, @Param("offset") int offset);
+
+    // Role filter on the role_mask bitmask (see UserRoleMaskConverter): a single AND per row while walking the primary key
+    @Query(value = "SELECT a.id FROM account a WHERE (a.role_mask & :mask) <> 0 AND a.id > :after "
+            + "ORDER BY a.id LIMIT :limit", nativeQuery = true)
+    List<UUID> findIdsWithAnyRole(@Param("mask") int mask, @Param("after") UUID after, @Param("limit") int limit);
+
+    // Keyset pagination: each page is an index range scan on the primary key, however deep the cursor is
+    @Query("SELECT " + AccountMapper.RESPONSE_PROJECTION + " FROM Account a ORDER BY a.id")
+    List<AccountResponseDto> findFirstPage(Limit limit);
+
+    @Query("SELECT " + AccountMapper.RESPONSE_PROJECTION + " FROM Account a WHERE a.id > :after ORDER BY a.id")
+    List<AccountResponseDto> findPageAfter(@Param("after") UUID after, Limit limit);
+
+    // Forward-only cursor; the fetch size only takes effect inside a transaction (autocommit off)
+    @Query("SELECT " + AccountMapper.RESPONSE_PROJECTION + " FROM Account a ORDER BY a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<AccountResponseDto> streamAllOrderById();
 }
 
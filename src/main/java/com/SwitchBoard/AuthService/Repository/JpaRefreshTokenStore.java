@@ -0,0 +1,71 @@
+package com.SwitchBoard.AuthService.Repository;
+
+import com.SwitchBoard.AuthService.Exception.UnexpectedException;
+import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Model.RefreshToken;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    // Present when refresh-token.batching.enabled=true
+    private final Optional<RefreshTokenInsertBatcher> insertBatcher;
+
+    @Value("${refresh-token.batching.wait-ms:2000}")
+    private long batchWaitMillis;
+
+    @Override
+    public RefreshToken issue(RefreshToken refreshToken) {
+        log.debug("JpaRefreshTokenStore : issue : Storing refresh token in Postgres");
+        if (insertBatcher.isPresent()) {
+            return issueBatched(insertBatcher.get(), refreshToken);
+        }
+
+        UUID id = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.revokeLiveAndInsert(id, refreshToken.getSelector(), refreshToken.getVerifierHash(),
+                refreshToken.getExpiryDate(), refreshToken.getAccount().getId(), now);
+
+        refreshToken.setId(id);
+        refreshToken.setCreatedAt(now);
+        return refreshToken;
+    }
+
+    private RefreshToken issueBatched(RefreshTokenInsertBatcher batcher, RefreshToken refreshToken) {
+        try {
+            // Returns once the group commit holding this row is durable
+            return batcher.enqueue(refreshToken).get(batchWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnexpectedException("Interrupted while storing refresh token");
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("JpaRefreshTokenStore : issueBatched : Error storing refresh token - {}", e.getMessage());
+            throw new UnexpectedException("Unable to store refresh token");
+        }
+    }
+
+    @Override
+    public Optional<RefreshToken> findValidBySelector(String selector, LocalDateTime currentTime) {
+        return refreshTokenRepository.findValidBySelector(selector, currentTime);
+    }
+
+    @Override
+    public void revokeAllByAccount(Account account) {
+        refreshTokenRepository.revokeAllTokensByAccount(account, LocalDateTime.now());
+    }
+}
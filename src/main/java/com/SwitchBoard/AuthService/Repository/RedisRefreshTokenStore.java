@@ -0,0 +1,120 @@
+package com.SwitchBoard.AuthService.Repository;
+
+import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Model.RefreshToken;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps refresh tokens in Redis instead of Postgres. Each account has one token family, a hash of
+ * selector -> "verifierHashHex:expiryEpochMillis" that expires with its newest token; revoking is a DEL
+ * and issuing replaces the family atomically through a script. A per-selector key points back to the
+ * account so a presented token can find its family; a stale pointer is harmless because the family
+ * hash is the source of truth.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "redis")
+@RequiredArgsConstructor
+@Slf4j
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String FAMILY_PREFIX = "refresh:";
+    private static final String SELECTOR_PREFIX = "refresh:sel:";
+    private static final RedisScript<Long> ISSUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh-token-issue.lua"), Long.class);
+    private static final RedisScript<String> LOOKUP_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh-token-lookup.lua"), String.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final AccountRepository accountRepository;
+
+    @Override
+    public RefreshToken issue(RefreshToken refreshToken) {
+        UUID accountId = refreshToken.getAccount().getId();
+        log.debug("RedisRefreshTokenStore : issue : Storing refresh token for account - {}", accountId);
+
+        Instant expiresAt = refreshToken.getExpiryDate().atZone(ZoneId.systemDefault()).toInstant();
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+
+        // The pointer lives in another hash slot, so it is written first and outside the script
+        redisTemplate.opsForValue().set(selectorKey(refreshToken.getSelector()), accountId.toString(), ttl);
+        redisTemplate.execute(ISSUE_SCRIPT,
+                Collections.singletonList(familyKey(accountId)),
+                refreshToken.getSelector(),
+                Hex.encodeHexString(refreshToken.getVerifierHash()),
+                String.valueOf(expiresAt.toEpochMilli()));
+
+        if (refreshToken.getCreatedAt() == null) {
+            refreshToken.setCreatedAt(LocalDateTime.now());
+        }
+        return refreshToken;
+    }
+
+    @Override
+    public Optional<RefreshToken> findValidBySelector(String selector, LocalDateTime currentTime) {
+        Object accountId = redisTemplate.opsForValue().get(selectorKey(selector));
+        if (accountId == null) {
+            return Optional.empty();
+        }
+
+        UUID id = UUID.fromString(accountId.toString());
+        // Read through a script so the field comes back with the same string encoding the issue script wrote
+        String entry = redisTemplate.execute(LOOKUP_SCRIPT, Collections.singletonList(familyKey(id)), selector);
+        if (entry == null) {
+            log.debug("RedisRefreshTokenStore : findValidBySelector : Selector no longer in its token family");
+            return Optional.empty();
+        }
+
+        int separator = entry.indexOf(':');
+        LocalDateTime expiryDate = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(Long.parseLong(entry.substring(separator + 1))), ZoneId.systemDefault());
+        if (!expiryDate.isAfter(currentTime)) {
+            return Optional.empty();
+        }
+
+        byte[] verifierHash;
+        try {
+            verifierHash = Hex.decodeHex(entry.substring(0, separator));
+        } catch (DecoderException e) {
+            log.error("RedisRefreshTokenStore : findValidBySelector : Corrupt token family entry - {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        return accountRepository.findById(id).map(account -> RefreshToken.builder()
+                .selector(selector)
+                .verifierHash(verifierHash)
+                .account(account)
+                .expiryDate(expiryDate)
+                .isRevoked(false)
+                .build());
+    }
+
+    @Override
+    public void revokeAllByAccount(Account account) {
+        log.debug("RedisRefreshTokenStore : revokeAllByAccount : Dropping token family for account - {}", account.getId());
+        redisTemplate.delete(familyKey(account.getId()));
+    }
+
+    private String familyKey(UUID accountId) {
+        return FAMILY_PREFIX + "{" + accountId + "}";
+    }
+
+    private String selectorKey(String selector) {
+        return SELECTOR_PREFIX + selector;
+    }
+}
@@ -0,0 +1,235 @@
+package com.SwitchBoard.AuthService.Repository;
+
+import com.SwitchBoard.AuthService.Model.RefreshToken;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for refresh token inserts. Callers enqueue a row and get a future; a single flusher thread
+ * collects up to max-rows rows or waits at most max-delay-ms after the first one, then writes the whole group
+ * as one multi-row INSERT (plus the revocation of those accounts' live tokens) in one transaction. Each future
+ * completes once that transaction has committed, so many logins share one commit fsync.
+ *
+ * The flusher writes through its own single-connection pool. Callers wait on their future inside their own
+ * transaction, holding a connection from the main pool; if the flusher drew from that pool too, a burst of
+ * logins could take every connection and leave it nothing to write with until their waits timed out.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token.batching.enabled", havingValue = "true")
+@Slf4j
+public class RefreshTokenInsertBatcher {
+
+    private static final String POOL_NAME = "refresh-token-batcher";
+    private static final String INSERT_COLUMNS =
+            "INSERT INTO refresh_tokens (id, selector, verifier_hash, expiry_date, account_id, created_at, is_revoked) VALUES ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    // The flusher's own pool; null when the templates are supplied directly
+    private final HikariDataSource dataSource;
+    private final BlockingQueue<PendingInsert> queue = new LinkedBlockingQueue<>();
+    private final Counter commitCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+    private volatile boolean running = true;
+    private Thread flusher;
+
+    @Value("${refresh-token.batching.max-rows:100}")
+    private int maxRows;
+
+    @Value("${refresh-token.batching.max-delay-ms:5}")
+    private long maxDelayMillis;
+
+    private record PendingInsert(RefreshToken refreshToken, CompletableFuture<RefreshToken> future) {
+    }
+
+    @Autowired
+    public RefreshTokenInsertBatcher(DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        this(null, null, flusherDataSource(dataSourceProperties, meterRegistry), meterRegistry);
+    }
+
+    RefreshTokenInsertBatcher(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry) {
+        this(jdbcTemplate, transactionTemplate, null, meterRegistry);
+    }
+
+    private RefreshTokenInsertBatcher(JdbcTemplate jdbcTemplate,
+                                      TransactionTemplate transactionTemplate,
+                                      HikariDataSource dataSource,
+                                      MeterRegistry meterRegistry) {
+        // With its own pool both templates run on it; otherwise they are the ones supplied
+        this.dataSource = dataSource;
+        this.jdbcTemplate = dataSource != null ? new JdbcTemplate(dataSource) : jdbcTemplate;
+        this.transactionTemplate = dataSource != null
+                ? new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                : transactionTemplate;
+        this.commitCounter = Counter.builder("auth.refresh_tokens.batch.commits")
+                .description("Transactions committed by the refresh token insert batcher")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("auth.refresh_tokens.batch.rows")
+                .description("Rows written per refresh token insert batch")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("auth.refresh_tokens.batch.flush")
+                .description("Latency of one refresh token batch insert and commit")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    // Same database and credentials as the primary pool, but one connection reserved for the flusher thread
+    private static HikariDataSource flusherDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(POOL_NAME);
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(1);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = new Thread(this::run, "refresh-token-batcher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    public CompletableFuture<RefreshToken> enqueue(RefreshToken refreshToken) {
+        CompletableFuture<RefreshToken> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new IllegalStateException("Refresh token batcher is stopped"));
+            return future;
+        }
+        queue.add(new PendingInsert(refreshToken, future));
+        return future;
+    }
+
+    private void run() {
+        List<PendingInsert> batch = new ArrayList<>(maxRows);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingInsert first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+                while (batch.size() < maxRows) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingInsert next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+                // Only stop() ends the loop, after draining the queue. Any other interrupt is dropped (the flag is
+                // already clear) so logins keep being written rather than timing out against a dead flusher
+                if (running) {
+                    log.warn("RefreshTokenInsertBatcher : run : Flusher interrupted while running, continuing");
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<PendingInsert> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+            commitCounter.increment();
+            batchSizeSummary.record(batch.size());
+            batch.forEach(pending -> pending.future().complete(pending.refreshToken()));
+        } catch (Exception e) {
+            log.error("RefreshTokenInsertBatcher : flush : Error writing refresh token batch of {} - {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.future().completeExceptionally(e));
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void write(List<PendingInsert> batch) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // Within one batch only an account's last token stays live, as if the logins had run one after another
+        Map<UUID, RefreshToken> latestByAccount = new HashMap<>();
+        batch.forEach(pending -> latestByAccount.put(pending.refreshToken().getAccount().getId(), pending.refreshToken()));
+        Set<UUID> accountIds = new LinkedHashSet<>(latestByAccount.keySet());
+
+        StringBuilder sql = new StringBuilder("WITH revoked AS (UPDATE refresh_tokens SET is_revoked = true WHERE account_id IN (");
+        List<Object> args = new ArrayList<>(accountIds.size() + 1 + batch.size() * 7);
+        appendPlaceholders(sql, accountIds.size(), "?");
+        args.addAll(accountIds);
+        sql.append(") AND is_revoked = false AND expiry_date > ?) ").append(INSERT_COLUMNS);
+        args.add(now);
+        appendPlaceholders(sql, batch.size(), "(?, ?, ?, ?, ?, ?, ?)");
+
+        for (PendingInsert pending : batch) {
+            RefreshToken token = pending.refreshToken();
+            UUID accountId = token.getAccount().getId();
+            token.setId(UUID.randomUUID());
+            token.setCreatedAt(now);
+            token.setIsRevoked(latestByAccount.get(accountId) != token);
+            args.add(token.getId());
+            args.add(token.getSelector());
+            args.add(token.getVerifierHash());
+            args.add(token.getExpiryDate());
+            args.add(accountId);
+            args.add(now);
+            args.add(token.getIsRevoked());
+        }
+
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private static void appendPlaceholders(StringBuilder sql, int count, String placeholder) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(placeholder);
+        }
+    }
+}
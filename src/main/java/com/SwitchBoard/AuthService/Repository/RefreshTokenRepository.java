@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,18 +17,50 @@ import java.util.UUID;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
     
-    Optional<RefreshToken> findByToken(String token);
-    
     List<RefreshToken> findByAccountAndIsRevokedFalse(Account account);
     
+    // Only live rows are touched, via the partial index on (account_id) WHERE is_revoked = false;
+    // the expiry bound lets Postgres skip partitions that only hold expired tokens
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.isRevoked = true WHERE rt.account = :account")
-    void revokeAllTokensByAccount(@Param("account") Account account);
+    @Query("UPDATE RefreshToken rt SET rt.isRevoked = true " +
+            "WHERE rt.account = :account AND rt.isRevoked = false AND rt.expiryDate > :currentTime")
+    void revokeAllTokensByAccount(@Param("account") Account account, @Param("currentTime") LocalDateTime currentTime);
     
+    // Revokes the account's live tokens and inserts the new one as a single statement, i.e. one round trip
+    @Modifying
+    @Query(value = "WITH revoked AS (" +
+            "UPDATE refresh_tokens SET is_revoked = true " +
+            "WHERE account_id = :accountId AND is_revoked = false AND expiry_date > :createdAt) " +
+            "INSERT INTO refresh_tokens (id, selector, verifier_hash, expiry_date, account_id, created_at, is_revoked) " +
+            "VALUES (:id, :selector, :verifierHash, :expiryDate, :accountId, :createdAt, false)", nativeQuery = true)
+    int revokeLiveAndInsert(@Param("id") UUID id,
+                            @Param("selector") String selector,
+                            @Param("verifierHash") byte[] verifierHash,
+                            @Param("expiryDate") LocalDateTime expiryDate,
+                            @Param("accountId") UUID accountId,
+                            @Param("createdAt") LocalDateTime createdAt);
+
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.expiryDate < :currentTime")
     void deleteExpiredTokens(@Param("currentTime") LocalDateTime currentTime);
     
-    @Query("SELECT rt FROM RefreshToken rt WHERE rt.token = :token AND rt.isRevoked = false AND rt.expiryDate > :currentTime")
-    Optional<RefreshToken> findValidToken(@Param("token") String token, @Param("currentTime") LocalDateTime currentTime);
+    // Deletes at most batchSize purgeable rows by physical row id, committing per call to keep locks short.
+    // ctid is only unique within one partition, so rows are addressed by (tableoid, ctid).
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE (tableoid, ctid) IN (" +
+            "SELECT tableoid, ctid FROM refresh_tokens " +
+            "WHERE expiry_date < :currentTime OR (is_revoked = true AND created_at < :revokedBefore) " +
+            "LIMIT :batchSize)", nativeQuery = true)
+    int deletePurgeableBatch(@Param("currentTime") LocalDateTime currentTime,
+                             @Param("revokedBefore") LocalDateTime revokedBefore,
+                             @Param("batchSize") int batchSize);
+
+    @Query(value = "SELECT pg_total_relation_size('refresh_tokens')", nativeQuery = true)
+    long totalRelationSize();
+
+    // Fetches the account in the same query, since every caller goes on to read it
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.account " +
+            "WHERE rt.selector = :selector AND rt.isRevoked = false AND rt.expiryDate > :currentTime")
+    Optional<RefreshToken> findValidBySelector(@Param("selector") String selector, @Param("currentTime") LocalDateTime currentTime);
 }
\ No newline at end of file
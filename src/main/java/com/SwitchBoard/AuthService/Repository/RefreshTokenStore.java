@@ -0,0 +1,22 @@
+package com.SwitchBoard.AuthService.Repository;
+
+import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Model.RefreshToken;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Persistence for refresh tokens. Selected with {@code refresh-token.store} ({@code jpa} by default, or {@code redis}).
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Revokes every live token of the token's account and stores the given one in its place.
+     */
+    RefreshToken issue(RefreshToken refreshToken);
+
+    Optional<RefreshToken> findValidBySelector(String selector, LocalDateTime currentTime);
+
+    void revokeAllByAccount(Account account);
+}
@@ -0,0 +1,99 @@
+package com.SwitchBoard.AuthService.Service.Account;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountChange;
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeFeed;
+import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
+import com.SwitchBoard.AuthService.Exception.BadRequestException;
+import com.SwitchBoard.AuthService.Exception.ConflictException;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository.ChangeRecord;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository.SequenceBounds;
+import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Serves the account change log as a cursor feed, so services that keep a copy of account profiles can
+ * fetch what changed since their last sequence instead of re-reading every account. Each change carries
+ * the account's current profile, so applying a page in order leaves the copy up to date.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountChangeFeedService {
+
+    private final AccountChangeRepository accountChangeRepository;
+    private final AccountRepository accountRepository;
+
+    @Value("${account.changes.max-limit:500}")
+    private int maxLimit;
+
+    @Value("${account.changes.retention-hours:168}")
+    private long retentionHours;
+
+    /**
+     * Returns up to {@code limit} changes with a sequence above {@code since}. A cursor older than the
+     * retained log is rejected with a conflict: the consumer has missed purged changes and must copy the
+     * table again (record {@code latestSequence}, page through /list, then resume from it).
+     */
+    @Transactional(readOnly = true)
+    public AccountChangeFeed changesSince(long since, int limit) {
+        if (since < 0) {
+            throw new BadRequestException("since must not be negative");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new BadRequestException("limit must be between 1 and " + maxLimit);
+        }
+
+        SequenceBounds bounds = accountChangeRepository.sequenceBounds();
+        // A rolled-back append leaves a gap, so this can also fire when nothing was purged; a resync is still safe
+        if (since < bounds.oldest() - 1) {
+            log.warn("AccountChangeFeedService : changesSince : Cursor {} is older than the retained log - {}", since, bounds.oldest());
+            throw new ConflictException("Changes after " + since + " are no longer retained. Resync and resume from sequence "
+                    + bounds.latest());
+        }
+
+        // One extra row tells whether another page follows without a count query
+        List<ChangeRecord> records = accountChangeRepository.findSince(since, limit + 1);
+        boolean hasMore = records.size() > limit;
+        if (hasMore) {
+            records = records.subList(0, limit);
+        }
+
+        Map<UUID, AccountResponseDto> accounts = new HashMap<>();
+        if (!records.isEmpty()) {
+            Set<UUID> ids = new LinkedHashSet<>();
+            records.forEach(record -> ids.add(record.accountId()));
+            accountRepository.findResponsesByIds(ids).forEach(account -> accounts.put(account.getId(), account));
+        }
+
+        List<AccountChange> items = new ArrayList<>(records.size());
+        for (ChangeRecord record : records) {
+            items.add(new AccountChange(record.sequence(), record.accountId(), record.type(), record.changedAt(),
+                    accounts.get(record.accountId())));
+        }
+        long nextSince = records.isEmpty() ? since : records.get(records.size() - 1).sequence();
+        log.debug("AccountChangeFeedService : changesSince : Returning {} changes after - {}", items.size(), since);
+        return new AccountChangeFeed(items, nextSince, bounds.latest(), hasMore);
+    }
+
+    @Scheduled(cron = "${account.changes.purge-cron:0 45 * * * *}")
+    public void purgeExpiredChanges() {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - retentionHours * 3_600_000L);
+        int deleted = accountChangeRepository.deleteChangedBefore(cutoff);
+        log.info("AccountChangeFeedService : purgeExpiredChanges : Deleted {} account changes", deleted);
+    }
+}
@@ -0,0 +1,234 @@
+package com.SwitchBoard.AuthService.Service.Account;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeType;
+import com.SwitchBoard.AuthService.DTO.Account.CounterIncrementRequest;
+import com.SwitchBoard.AuthService.Exception.BadRequestException;
+import com.SwitchBoard.AuthService.Exception.ServiceUnavailableException;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository;
+import com.SwitchBoard.AuthService.Repository.AccountCounterRepository;
+import com.SwitchBoard.AuthService.Repository.AccountCounterRepository.CounterDelta;
+import com.SwitchBoard.AuthService.Service.Leaderboard.LeaderboardService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Applies reward and task counter deltas. API increments are buffered and flushed on a short interval;
+ * event consumers hand over a whole poll at once. Either way a flush is one transaction that records the
+ * event ids (skipping ones already applied) and then issues one "x = x + ?" UPDATE per account, so row
+ * writes scale with accounts touched rather than events received. Events held in memory, buffered or
+ * in flight, are capped; once the cap is reached new increments are refused with 503 until a flush succeeds.
+ */
+@Service
+@Slf4j
+public class AccountCounterService {
+
+    private static final int MAX_EVENT_ID_LENGTH = 64;
+
+    private final AccountCounterRepository accountCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountProfileCache accountProfileCache;
+    private final LeaderboardService leaderboardService;
+    private final AccountChangeRepository accountChangeRepository;
+    private final Counter appliedEvents;
+    private final Counter duplicateEvents;
+    private final Counter rejectedEvents;
+    private final DistributionSummary accountsPerFlush;
+    private final Object bufferLock = new Object();
+    private List<CounterIncrementRequest> buffer = new ArrayList<>();
+    // Events taken by flushes that have not finished yet; guarded by bufferLock
+    private int inFlight;
+
+    @Value("${account.counters.max-buffered:10000}")
+    private int maxBuffered;
+
+    @Value("${account.counters.max-pending:50000}")
+    private int maxPending;
+
+    @Value("${account.counters.event-retention-hours:168}")
+    private long eventRetentionHours;
+
+    public AccountCounterService(AccountCounterRepository accountCounterRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 AccountProfileCache accountProfileCache,
+                                 LeaderboardService leaderboardService,
+                                 AccountChangeRepository accountChangeRepository,
+                                 MeterRegistry meterRegistry) {
+        this.accountCounterRepository = accountCounterRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.accountProfileCache = accountProfileCache;
+        this.leaderboardService = leaderboardService;
+        this.accountChangeRepository = accountChangeRepository;
+        this.appliedEvents = Counter.builder("auth.account_counters.events")
+                .description("Counter increment events by outcome")
+                .tag("result", "applied")
+                .register(meterRegistry);
+        this.duplicateEvents = Counter.builder("auth.account_counters.events")
+                .description("Counter increment events by outcome")
+                .tag("result", "duplicate")
+                .register(meterRegistry);
+        this.rejectedEvents = Counter.builder("auth.account_counters.events")
+                .description("Counter increment events by outcome")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        this.accountsPerFlush = DistributionSummary.builder("auth.account_counters.flush.accounts")
+                .description("Account rows updated per counter flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an increment for the next flush. Returns once buffered; a full buffer is flushed by the caller,
+     * which slows producers down instead of growing memory. While flushes are failing the events they put back
+     * count against max-pending, and increments beyond it are refused so the caller retries later.
+     */
+    public void submit(CounterIncrementRequest request) {
+        validate(request);
+        boolean full;
+        synchronized (bufferLock) {
+            if (buffer.size() + inFlight >= maxPending) {
+                rejectedEvents.increment();
+                log.warn("AccountCounterService : submit : {} counter events pending, rejecting event - {}",
+                        buffer.size() + inFlight, request.getEventId());
+                throw new ServiceUnavailableException("Counter updates are backed up. Please retry later.");
+            }
+            buffer.add(request);
+            full = buffer.size() >= maxBuffered;
+        }
+        if (full) {
+            log.info("AccountCounterService : submit : Buffer full, flushing inline");
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${account.counters.flush-interval-ms:1000}")
+    @PreDestroy
+    public void flush() {
+        List<CounterIncrementRequest> pending;
+        synchronized (bufferLock) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            pending = buffer;
+            buffer = new ArrayList<>();
+            inFlight += pending.size();
+        }
+        boolean applied = false;
+        try {
+            apply(pending);
+            applied = true;
+        } catch (Exception e) {
+            log.error("AccountCounterService : flush : Error applying {} counter events - {}", pending.size(), e.getMessage());
+        } finally {
+            // Put the events back; the event ids make a later retry safe even if this attempt partly ran.
+            // They were counted in flight, so the buffer stays within max-pending
+            synchronized (bufferLock) {
+                inFlight -= pending.size();
+                if (!applied) {
+                    buffer.addAll(0, pending);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies a batch synchronously and commits before returning, so a consumer can acknowledge the
+     * messages afterwards. Invalid events are dropped with a warning.
+     */
+    public void apply(Collection<CounterIncrementRequest> events) {
+        // Later duplicates of an id inside the batch are dropped up front
+        Map<String, CounterIncrementRequest> byEventId = new LinkedHashMap<>();
+        for (CounterIncrementRequest event : events) {
+            if (isValid(event)) {
+                byEventId.putIfAbsent(event.getEventId(), event);
+            } else {
+                log.warn("AccountCounterService : apply : Dropping invalid counter event - {}", event);
+            }
+        }
+        if (byEventId.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> fresh = accountCounterRepository.recordNewEvents(byEventId.values());
+
+            // Sorted by account id so concurrent flushes on different nodes lock rows in the same order
+            Map<UUID, int[]> totals = new TreeMap<>();
+            for (CounterIncrementRequest event : byEventId.values()) {
+                if (!fresh.contains(event.getEventId())) {
+                    continue;
+                }
+                int[] total = totals.computeIfAbsent(event.getAccountId(), id -> new int[3]);
+                total[0] += event.getRewardPoints();
+                total[1] += event.getTasksAssigned();
+                total[2] += event.getTasksCompleted();
+            }
+
+            duplicateEvents.increment(byEventId.size() - fresh.size());
+            appliedEvents.increment(fresh.size());
+            if (totals.isEmpty()) {
+                return;
+            }
+
+            List<CounterDelta> deltas = new ArrayList<>(totals.size());
+            totals.forEach((accountId, total) -> deltas.add(new CounterDelta(accountId, total[0], total[1], total[2])));
+            int[] updated = accountCounterRepository.applyDeltas(deltas);
+            Map<UUID, Integer> pointDeltas = new LinkedHashMap<>();
+            List<UUID> changed = new ArrayList<>(updated.length);
+            for (int i = 0; i < updated.length; i++) {
+                CounterDelta delta = deltas.get(i);
+                if (updated[i] == 0) {
+                    log.warn("AccountCounterService : apply : No account found for counter delta - {}", delta.accountId());
+                    continue;
+                }
+                changed.add(delta.accountId());
+                if (delta.rewardPoints() != 0) {
+                    pointDeltas.put(delta.accountId(), delta.rewardPoints());
+                }
+            }
+            accountChangeRepository.append(changed, AccountChangeType.COUNTERS);
+            accountsPerFlush.record(deltas.size());
+            // Registered as after-commit evictions, so no node re-caches the pre-update counters
+            deltas.forEach(delta -> accountProfileCache.evict(delta.accountId()));
+            leaderboardService.incrementPoints(pointDeltas);
+        });
+        log.debug("AccountCounterService : apply : Applied counter events - {}", byEventId.size());
+    }
+
+    @Scheduled(cron = "${account.counters.event-purge-cron:0 15 * * * *}")
+    public void purgeProcessedEvents() {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - eventRetentionHours * 3_600_000L);
+        int deleted = accountCounterRepository.deleteEventsProcessedBefore(cutoff);
+        log.info("AccountCounterService : purgeProcessedEvents : Deleted {} processed counter events", deleted);
+    }
+
+    private void validate(CounterIncrementRequest request) {
+        if (!isValid(request)) {
+            throw new BadRequestException("eventId (up to " + MAX_EVENT_ID_LENGTH + " characters), accountId and a non-zero delta are required");
+        }
+    }
+
+    private boolean isValid(CounterIncrementRequest event) {
+        return event != null
+                && event.getAccountId() != null
+                && event.getEventId() != null
+                && !event.getEventId().isBlank()
+                && event.getEventId().length() <= MAX_EVENT_ID_LENGTH
+                && (event.getRewardPoints() != 0 || event.getTasksAssigned() != 0 || event.getTasksCompleted() != 0);
+    }
+}
@@ -0,0 +1,283 @@
+package com.SwitchBoard.AuthService.Service.Account;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeType;
+import com.SwitchBoard.AuthService.DTO.Account.AccountImportError;
+import com.SwitchBoard.AuthService.DTO.Account.AccountImportSummary;
+import com.SwitchBoard.AuthService.DTO.Account.AccountRequestDto;
+import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
+import com.SwitchBoard.AuthService.Messaging.Publisher.NotificationPublisher;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository;
+import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import com.SwitchBoard.AuthService.Service.Leaderboard.LeaderboardService;
+import com.SwitchBoard.AuthService.Util.CsvRecordReader;
+import com.SwitchBoard.AuthService.Util.EmailNormalizer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bulk account creation for cohort onboarding. Records are read one at a time and handled in chunks: each
+ * chunk costs one set-based existence query, one multi-row INSERT (with its change-log rows) in its own
+ * transaction and one onboarding publish for the rows that were created. Rejected records are reported as
+ * they are found.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountImportService {
+
+    // Ids are generated here so no row needs a round trip to learn its key; conflicts are skipped, not raised,
+    // and RETURNING reports which rows were actually created (batch update counts cannot tell once the driver
+    // rewrites batches). Imported accounts have never signed in with Google, so google_account starts false.
+    // user_role is written alongside role_mask until the V9 contract step drops it
+    private static final String INSERT_SQL = "INSERT INTO account (id, name, email, mobile, linkedin_url, github_url, "
+            + "leetcode_url, cv_path, deadline, aim_role, current_role_name, total_reward_points, task_assigned_count, "
+            + "task_completed_count, google_account, totp_enabled, role_mask, user_role, created_at, updated_at, version) "
+            + "SELECT r.id, r.name, r.email, r.mobile, r.linkedin_url, r.github_url, r.leetcode_url, r.cv_path, r.deadline, "
+            + "r.aim_role, r.current_role_name, 0, 0, 0, false, false, " + USER_ROLE.USER.mask() + ", "
+            + "ARRAY['" + USER_ROLE.USER.name() + "'], ?, ?, 0 "
+            + "FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], "
+            + "?::varchar[], ?::timestamp[], ?::varchar[], ?::varchar[]) AS r(id, name, email, mobile, linkedin_url, "
+            + "github_url, leetcode_url, cv_path, deadline, aim_role, current_role_name) "
+            + "ON CONFLICT DO NOTHING "
+            + "RETURNING id";
+
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationPublisher notificationPublisher;
+    private final ObjectMapper objectMapper;
+    private final LeaderboardService leaderboardService;
+    private final AccountChangeRepository accountChangeRepository;
+
+    @Value("${account.import.chunk-size:500}")
+    private int chunkSize;
+
+    public enum Format { CSV, NDJSON }
+
+    private record ImportRow(long record, UUID id, AccountRequestDto account, String error) {
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        // Returns null at end of input
+        ImportRow next() throws IOException;
+    }
+
+    public AccountImportSummary importAccounts(InputStream input, Format format,
+                                               Consumer<AccountImportError> errorReport) throws IOException {
+        log.info("AccountImportService : importAccounts : Starting {} import", format);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowSource source = format == Format.CSV ? csvSource(reader) : ndjsonSource(reader);
+
+        long[] rejected = {0};
+        Consumer<AccountImportError> reject = error -> {
+            rejected[0]++;
+            errorReport.accept(error);
+        };
+
+        Set<String> seenEmails = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long received = 0;
+        long created = 0;
+
+        for (ImportRow row = source.next(); row != null; row = source.next()) {
+            received++;
+            if (row.error() != null) {
+                reject.accept(new AccountImportError(row.record(), null, row.error()));
+                continue;
+            }
+
+            AccountRequestDto account = row.account();
+            account.setEmail(EmailNormalizer.normalize(account.getEmail()));
+            if (account.getEmail() == null) {
+                reject.accept(new AccountImportError(row.record(), null, "email is required"));
+                continue;
+            }
+            if (!seenEmails.add(account.getEmail())) {
+                reject.accept(new AccountImportError(row.record(), account.getEmail(), "Duplicate email in upload"));
+                continue;
+            }
+
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                created += writeChunk(chunk, reject);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += writeChunk(chunk, reject);
+        }
+
+        log.info("AccountImportService : importAccounts : Import finished - received {}, created {}, rejected {}",
+                received, created, rejected[0]);
+        return new AccountImportSummary(received, created, rejected[0]);
+    }
+
+    private int writeChunk(List<ImportRow> chunk, Consumer<AccountImportError> reject) {
+        Set<String> existing = new HashSet<>(accountRepository.findExistingEmails(
+                chunk.stream().map(row -> row.account().getEmail()).toList()));
+
+        List<ImportRow> inserts = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (existing.contains(row.account().getEmail())) {
+                reject.accept(new AccountImportError(row.record(), row.account().getEmail(), "Email already exists"));
+            } else {
+                inserts.add(row);
+            }
+        }
+        if (inserts.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Set<UUID> insertedIds = transactionTemplate.execute(status -> {
+            List<UUID> ids = insertRows(inserts, now);
+            accountChangeRepository.append(ids, AccountChangeType.CREATED);
+            return new HashSet<>(ids);
+        });
+
+        Map<String, String> onboarding = new LinkedHashMap<>();
+        List<UUID> createdIds = new ArrayList<>(inserts.size());
+        for (ImportRow row : inserts) {
+            AccountRequestDto account = row.account();
+            // Not returned means ON CONFLICT skipped the row: the email was registered after the existence check
+            if (insertedIds == null || !insertedIds.contains(row.id())) {
+                reject.accept(new AccountImportError(row.record(), account.getEmail(), "Email already exists"));
+            } else {
+                onboarding.put(account.getEmail(), account.getName());
+                createdIds.add(row.id());
+            }
+        }
+
+        log.debug("AccountImportService : writeChunk : Inserted {} accounts", onboarding.size());
+        if (onboarding.isEmpty()) {
+            return 0;
+        }
+        leaderboardService.addAccounts(createdIds);
+        try {
+            notificationPublisher.sendOnboardingNotifications(onboarding);
+        } catch (Exception e) {
+            // The accounts are committed; a failed publish must not turn them into reported errors
+            log.error("AccountImportService : writeChunk : Error publishing {} onboarding notifications - {}",
+                    onboarding.size(), e.getMessage(), e);
+        }
+        return onboarding.size();
+    }
+
+    private List<UUID> insertRows(List<ImportRow> rows, Timestamp now) {
+        Timestamp[] deadlines = rows.stream()
+                .map(row -> row.account().getDeadline())
+                .map(deadline -> deadline == null ? null : new Timestamp(deadline.getTime()))
+                .toArray(Timestamp[]::new);
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL);
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, now);
+            ps.setArray(3, connection.createArrayOf("uuid", rows.stream().map(ImportRow::id).toArray(UUID[]::new)));
+            ps.setArray(4, varcharArray(connection, rows, AccountRequestDto::getName));
+            ps.setArray(5, varcharArray(connection, rows, AccountRequestDto::getEmail));
+            ps.setArray(6, varcharArray(connection, rows, AccountRequestDto::getMobile));
+            ps.setArray(7, varcharArray(connection, rows, AccountRequestDto::getLinkedinUrl));
+            ps.setArray(8, varcharArray(connection, rows, AccountRequestDto::getGithubUrl));
+            ps.setArray(9, varcharArray(connection, rows, AccountRequestDto::getLeetcodeUrl));
+            ps.setArray(10, varcharArray(connection, rows, AccountRequestDto::getCvPath));
+            ps.setArray(11, connection.createArrayOf("timestamp", deadlines));
+            ps.setArray(12, varcharArray(connection, rows, AccountRequestDto::getAimRole));
+            ps.setArray(13, varcharArray(connection, rows, AccountRequestDto::getCurrentRole));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    private static Array varcharArray(Connection connection, List<ImportRow> rows,
+                                      Function<AccountRequestDto, String> field) throws SQLException {
+        return connection.createArrayOf("varchar", rows.stream().map(row -> field.apply(row.account())).toArray(String[]::new));
+    }
+
+    private RowSource ndjsonSource(BufferedReader reader) {
+        long[] record = {0};
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            record[0]++;
+            try {
+                return new ImportRow(record[0], UUID.randomUUID(), objectMapper.readValue(line, AccountRequestDto.class), null);
+            } catch (JsonProcessingException e) {
+                return new ImportRow(record[0], null, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        };
+    }
+
+    private RowSource csvSource(BufferedReader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return () -> null;
+        }
+        List<String> columns = header.stream().map(String::trim).toList();
+
+        long[] record = {0};
+        return () -> {
+            List<String> fields;
+            try {
+                fields = csv.next();
+            } catch (CsvRecordReader.MalformedRecordException e) {
+                // The reader has consumed the bad record, so the import reports it and carries on
+                record[0]++;
+                return new ImportRow(record[0], null, null, "Malformed CSV: " + e.getMessage());
+            }
+            if (fields == null) {
+                return null;
+            }
+
+            record[0]++;
+            if (fields.size() != columns.size()) {
+                return new ImportRow(record[0], null, null,
+                        "Expected " + columns.size() + " fields but found " + fields.size());
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                if (!fields.get(i).isEmpty()) {
+                    values.put(columns.get(i), fields.get(i));
+                }
+            }
+            try {
+                return new ImportRow(record[0], UUID.randomUUID(), objectMapper.convertValue(values, AccountRequestDto.class), null);
+            } catch (IllegalArgumentException e) {
+                return new ImportRow(record[0], null, null, "Invalid record: " + e.getMessage());
+            }
+        };
+    }
+}
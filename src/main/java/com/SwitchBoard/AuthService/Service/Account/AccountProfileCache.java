@@ -0,0 +1,228 @@
+package com.SwitchBoard.AuthService.Service.Account;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for account profiles. The first tier is a bounded in-process Caffeine cache
+ * (W-TinyLFU eviction, short TTL); the second is Redis, holding the serialized DTO so a hit costs one GET
+ * and a parse. Writers call {@link #evict(UUID)}, which deletes the Redis entry and broadcasts the id on a
+ * pub/sub channel so every node drops its local copy.
+ *
+ * Every eviction also bumps a per-account generation in Redis. A miss reads the generation before loading
+ * and caches the row only if it is unchanged afterwards, so a load that raced an update cannot put the
+ * pre-update row back after the eviction. The local tier applies the same rule with a node-wide count of
+ * invalidations.
+ */
+@Component
+@Slf4j
+public class AccountProfileCache {
+
+    static final String KEY_PREFIX = "account:profile:";
+    static final String GENERATION_PREFIX = "account:profile:generation:";
+    static final String INVALIDATION_CHANNEL = "account:profile:invalidate";
+    private static final byte[] NO_GENERATION = "0".getBytes(StandardCharsets.UTF_8);
+    private static final RedisScript<Long> FILL_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/account-profile-fill.lua"), Long.class);
+
+    private final RedisTemplate<String, byte[]> bytesRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, CachedProfile> localCache;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final DistributionSummary staleness;
+    private final Counter staleFills;
+    // Local invalidations seen by this node; a load that overlaps any of them is not kept locally
+    private final AtomicLong localInvalidations = new AtomicLong();
+
+    @Value("${account.cache.redis.ttl-seconds:300}")
+    private long redisTtlSeconds;
+
+    record CachedProfile(long cachedAt, AccountResponseDto profile) {
+    }
+
+    public AccountProfileCache(RedisTemplate<String, byte[]> bytesRedisTemplate,
+                               RedisMessageListenerContainer redisMessageListenerContainer,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${account.cache.local.max-size:10000}") long localMaxSize,
+                               @Value("${account.cache.local.ttl-seconds:30}") long localTtlSeconds) {
+        this.bytesRedisTemplate = bytesRedisTemplate;
+        this.objectMapper = objectMapper;
+        // The local TTL bounds how long a node can serve a profile whose invalidation message it missed
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "account_profile");
+        this.redisHits = Counter.builder("auth.account_profile.cache.redis")
+                .description("Profile lookups that missed the local cache and were served from Redis")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.redisMisses = Counter.builder("auth.account_profile.cache.redis")
+                .description("Profile lookups that missed the local cache and were served from Redis")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.staleness = DistributionSummary.builder("auth.account_profile.cache.staleness")
+                .description("Age of cached profiles when served")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.staleFills = Counter.builder("auth.account_profile.cache.stale_fills")
+                .description("Loaded profiles not cached because the account was evicted while loading")
+                .register(meterRegistry);
+
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> onInvalidation(message.getBody()),
+                new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    public Optional<AccountResponseDto> get(UUID id, Supplier<Optional<AccountResponseDto>> loader) {
+        CachedProfile cached = localCache.getIfPresent(id);
+        if (cached == null) {
+            cached = readRemote(id);
+            if (cached != null) {
+                localCache.put(id, cached);
+            }
+        }
+        if (cached != null) {
+            staleness.record(System.currentTimeMillis() - cached.cachedAt());
+            return Optional.of(cached.profile());
+        }
+
+        long invalidationsBefore = localInvalidations.get();
+        byte[] generation = readGeneration(id);
+        Optional<AccountResponseDto> loaded = loader.get();
+        loaded.ifPresent(profile -> {
+            CachedProfile fresh = new CachedProfile(System.currentTimeMillis(), profile);
+            if (generation != null && writeRemote(id, fresh, generation)
+                    && localInvalidations.get() == invalidationsBefore) {
+                localCache.put(id, fresh);
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Drops the profile everywhere. Inside a transaction this runs after commit, so no node can reload the
+     * pre-update row between the eviction and the commit.
+     */
+    public void evict(UUID id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(id);
+                }
+            });
+        } else {
+            evictNow(id);
+        }
+    }
+
+    private void evictNow(UUID id) {
+        invalidateLocal(id);
+        try {
+            // The generation moves first, so a load finishing between these two calls is already refused
+            bytesRedisTemplate.opsForValue().increment(generationKey(id));
+            bytesRedisTemplate.expire(generationKey(id), Duration.ofSeconds(redisTtlSeconds));
+            bytesRedisTemplate.delete(profileKey(id));
+            bytesRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, id.toString().getBytes(StandardCharsets.UTF_8));
+            log.debug("AccountProfileCache : evictNow : Broadcast invalidation for account - {}", id);
+        } catch (Exception e) {
+            // Other nodes fall back to their local TTL for this entry
+            log.error("AccountProfileCache : evictNow : Error invalidating profile for account {} - {}", id, e.getMessage());
+        }
+    }
+
+    private void onInvalidation(byte[] body) {
+        try {
+            invalidateLocal(UUID.fromString(new String(body, StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            log.warn("AccountProfileCache : onInvalidation : Ignoring malformed invalidation message");
+        }
+    }
+
+    private void invalidateLocal(UUID id) {
+        localInvalidations.incrementAndGet();
+        localCache.invalidate(id);
+    }
+
+    // Profile and generation share a hash tag, so the fill script can read one and write the other in a cluster
+    static String profileKey(UUID id) {
+        return KEY_PREFIX + "{" + id + "}";
+    }
+
+    static String generationKey(UUID id) {
+        return GENERATION_PREFIX + "{" + id + "}";
+    }
+
+    // Null when Redis cannot be read; the loaded row is then returned without being cached anywhere
+    private byte[] readGeneration(UUID id) {
+        try {
+            byte[] generation = bytesRedisTemplate.opsForValue().get(generationKey(id));
+            return generation == null ? NO_GENERATION : generation;
+        } catch (Exception e) {
+            log.warn("AccountProfileCache : readGeneration : Error reading eviction generation for account {} - {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private CachedProfile readRemote(UUID id) {
+        try {
+            byte[] bytes = bytesRedisTemplate.opsForValue().get(profileKey(id));
+            if (bytes == null) {
+                redisMisses.increment();
+                return null;
+            }
+            redisHits.increment();
+            return objectMapper.readValue(bytes, CachedProfile.class);
+        } catch (Exception e) {
+            // Redis trouble degrades to a database read rather than a failed request
+            log.warn("AccountProfileCache : readRemote : Error reading cached profile for account {} - {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    // True when the profile was cached, false when an eviction overtook the load or Redis failed
+    private boolean writeRemote(UUID id, CachedProfile profile, byte[] generation) {
+        try {
+            Long written = bytesRedisTemplate.execute(FILL_SCRIPT, List.of(profileKey(id), generationKey(id)),
+                    generation, objectMapper.writeValueAsBytes(profile),
+                    String.valueOf(redisTtlSeconds).getBytes(StandardCharsets.UTF_8));
+            if (written == null || written == 0) {
+                staleFills.increment();
+                log.debug("AccountProfileCache : writeRemote : Account evicted during load, not caching - {}", id);
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("AccountProfileCache : writeRemote : Error caching profile for account {} - {}", id, e.getMessage());
+            return false;
+        }
+    }
+}
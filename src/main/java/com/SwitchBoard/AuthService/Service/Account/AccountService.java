@@ -1,16 +1,27 @@
 package com.SwitchBoard.AuthService.Service.Account;
 
+import com.SwitchBoard.AuthService.DTO.Account.AccountBatchRequest;
+import com.SwitchBoard.AuthService.DTO.Account.AccountPageResponse;
 import com.SwitchBoard.AuthService.DTO.Account.AccountRequestDto;
 import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
+import com.SwitchBoard.AuthService.DTO.Account.AccountSearchResponse;
+import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
 import com.SwitchBoard.AuthService.DTO.Authentication.ApiResponse;
 import com.SwitchBoard.AuthService.Model.Account;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface AccountService {
     public ApiResponse createProfile(AccountRequestDto account);
     public ApiResponse updateProfile(UUID accountId, AccountRequestDto updates);
     public List<AccountResponseDto> getAllUsers();
     public AccountResponseDto getUser(UUID id);
+    public Map<String, AccountResponseDto> getUsers(AccountBatchRequest request);
+    public AccountPageResponse listUsers(UUID after, int limit);
+    public AccountPageResponse listUsersByRole(USER_ROLE role, UUID after, int limit);
+    public AccountSearchResponse searchUsers(String query, int page, int size);
+    public void streamAllUsers(Consumer<AccountResponseDto> consumer);
 }
@@ -1,21 +1,44 @@
 package com.SwitchBoard.AuthService.Service.Account.impl;
 
 
+import com.SwitchBoard.AuthService.DTO.Account.AccountBatchRequest;
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeType;
+import com.SwitchBoard.AuthService.DTO.Account.AccountPageResponse;
 import com.SwitchBoard.AuthService.DTO.Account.AccountRequestDto;
 import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
+import com.SwitchBoard.AuthService.DTO.Account.AccountSearchResponse;
 import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
 import com.SwitchBoard.AuthService.DTO.Authentication.ApiResponse;
+import com.SwitchBoard.AuthService.Exception.BadRequestException;
+import com.SwitchBoard.AuthService.Exception.ConflictException;
 import com.SwitchBoard.AuthService.Messaging.Publisher.NotificationPublisher;
 import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository;
 import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import com.SwitchBoard.AuthService.Service.Account.AccountProfileCache;
 import com.SwitchBoard.AuthService.Service.Account.AccountService;
+import com.SwitchBoard.AuthService.Service.Leaderboard.LeaderboardService;
+import com.SwitchBoard.AuthService.Util.EmailNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,17 +47,40 @@ public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
     private final NotificationPublisher notificationPublisher;
+    private final AccountProfileCache accountProfileCache;
+    private final LeaderboardService leaderboardService;
+    private final AccountChangeRepository accountChangeRepository;
 
+    @Value("${account.list.max-limit:500}")
+    private int maxPageSize;
+
+    @Value("${account.batch.max-size:200}")
+    private int maxBatchSize;
+
+    @Value("${account.search.max-limit:50}")
+    private int maxSearchSize;
+
+    @Value("${account.search.max-offset:1000}")
+    private int maxSearchOffset;
+
+    // Below this length trigrams cannot narrow a "contains" match, so only prefixes are searched
+    private static final int MIN_SUBSTRING_QUERY_LENGTH = 3;
+
+    @Transactional
     public ApiResponse createProfile(AccountRequestDto account) {
         log.info("AccountService : createProfile : Creating account for user - {}", account.getName());
+        String email = EmailNormalizer.normalize(account.getEmail());
+        if (email == null) {
+            throw new BadRequestException("email is required");
+        }
         try {
-            if (accountRepository.findByEmail(account.getEmail()).isPresent()) {
-                log.warn("AccountService : createProfile : Email already exists - {}", account.getEmail());
+            if (accountRepository.findByEmail(email).isPresent()) {
+                log.warn("AccountService : createProfile : Email already exists - {}", email);
                 throw new IllegalArgumentException("Account creation failed: Email already exists");
             }
             Account newAccount = Account.builder()
                     .name(account.getName())
-                    .email(account.getEmail().toLowerCase())
+                    .email(email)
                     .mobile(account.getMobile())
                     .linkedinUrl(account.getLinkedinUrl())
                     .githubUrl(account.getGithubUrl())
@@ -46,10 +92,21 @@ public class AccountServiceImpl implements AccountService {
                     .totalRewardPoints(0)
                     .taskAssignedCount(0)
                     .taskCompletedCount(0)
-                    .userRole(Collections.singletonList(USER_ROLE.USER))
+                    .userRole(EnumSet.of(USER_ROLE.USER))
                     .googleAccount(true).build();
             log.debug("AccountService : createProfile : Saving new account to database - {}", newAccount);
-            accountRepository.save(newAccount);
+            Account saved;
+            try {
+                // Flushed here so a unique violation surfaces in this catch rather than at commit
+                saved = accountRepository.saveAndFlush(newAccount);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent registration won the unique lower(email) index between the check and the insert
+                log.warn("AccountService : createProfile : Email registered concurrently - {}", email);
+                throw new IllegalArgumentException("Account creation failed: Email already exists");
+            }
+            accountChangeRepository.append(List.of(saved.getId()), AccountChangeType.CREATED);
+            accountProfileCache.evict(saved.getId());
+            leaderboardService.addAccounts(List.of(saved.getId()));
             log.info("AccountService : createProfile : Account created successfully - {}", account.getEmail());
             notificationPublisher.sendOnboardingNotification(newAccount.getEmail(), newAccount.getName());
             log.info("AccountService : createProfile : Published onboarding notification for - {}", newAccount.getEmail());
@@ -63,50 +120,34 @@ public class AccountServiceImpl implements AccountService {
         }
     }
 
+    /**
+     * Applies the provided fields with a single UPDATE and no pre-read. Only the columns present in the
+     * request are written, so concurrent PATCHes to different fields no longer overwrite each other; a
+     * client that sends {@code version} gets a conflict instead of a lost update.
+     */
+    @Transactional
     public ApiResponse updateProfile(UUID accountId, AccountRequestDto updates) {
         log.info("AccountService : updateProfile : Updating profile for user ID - {}", accountId);
         try {
-            Account user = accountRepository.findById(accountId).orElseThrow(() -> {
-                log.error("AccountService : updateProfile : User not found with ID - {}", accountId);
-                return new RuntimeException("User not found with ID: " + accountId);
-            });
-
-            log.debug("AccountService : updateProfile : Found user profile - {}", user.getName());
+            log.debug("AccountService : updateProfile : Applying profile patch - {}", updates);
+            List<String> updatedNames = accountRepository.applyProfilePatch(accountId, updates);
 
-            if(updates.getAimRole()!= null) {
-                log.debug("AccountService : updateProfile : Updating aimRole from '{}' to '{}'", user.getAimRole(), updates.getAimRole());
-                user.setAimRole(updates.getAimRole());
-            }
-            if(updates.getDeadline() != null) {
-                log.debug("AccountService : updateProfile : Updating deadline from '{}' to '{}'", user.getDeadline(), updates.getDeadline());
-                user.setDeadline(updates.getDeadline());
-            }
-            if(updates.getCurrentRole() != null) {
-                log.debug("AccountService : updateProfile : Updating currentRole from '{}' to '{}'", user.getCurrentRole(), updates.getCurrentRole());
-                user.setCurrentRole(updates.getCurrentRole());
-            }
-            if(updates.getGithubUrl()!=null){
-                log.debug("AccountService : updateProfile : Updating githubUrl from '{}' to '{}'", user.getGithubUrl(), updates.getGithubUrl());
-                user.setGithubUrl(updates.getGithubUrl());
-            }
-            if(updates.getLinkedinUrl()!=null){
-                log.debug("AccountService : updateProfile : Updating linkedinUrl from '{}' to '{}'", user.getLinkedinUrl(), updates.getLinkedinUrl());
-                user.setLinkedinUrl(updates.getLinkedinUrl());
-            }
-            if(updates.getLeetcodeUrl()!=null){
-                log.debug("AccountService : updateProfile : Updating leetcodeUrl from '{}' to '{}'", user.getLeetcodeUrl(), updates.getLeetcodeUrl());
-                user.setLeetcodeUrl(updates.getLeetcodeUrl());
-            }
-            if(updates.getMobile()!= null) {
-                log.debug("AccountService : updateProfile : Updating mobile from '{}' to '{}'", user.getMobile(), updates.getMobile());
-                user.setMobile(updates.getMobile());
+            if (updatedNames.isEmpty()) {
+                // Only the failure path pays for telling a missing account apart from a stale version
+                if (updates.getVersion() != null && accountRepository.existsById(accountId)) {
+                    log.warn("AccountService : updateProfile : Version {} is stale for user ID - {}", updates.getVersion(), accountId);
+                    throw new ConflictException("Account was modified concurrently. Reload and retry.");
+                }
+                log.error("AccountService : updateProfile : User not found with ID - {}", accountId);
+                throw new RuntimeException("User not found with ID: " + accountId);
             }
 
-            log.debug("AccountService : updateProfile : Saving updated profile to database");
-            accountRepository.save(user);
-            log.info("AccountService : updateProfile : User profile updated successfully - {}", user.getName());
+            accountChangeRepository.append(List.of(accountId), AccountChangeType.UPDATED);
+            accountProfileCache.evict(accountId);
+            String name = updatedNames.get(0);
+            log.info("AccountService : updateProfile : User profile updated successfully - {}", accountId);
 
-            return ApiResponse.success("User profile updated successfully for " + user.getName(), true);
+            return ApiResponse.success("User profile updated successfully for " + name, true);
         } catch (RuntimeException e) {
             log.error("AccountService : updateProfile : RuntimeException - {}", e.getMessage());
             throw e;
@@ -116,33 +157,13 @@ public class AccountServiceImpl implements AccountService {
         }
     }
 
+    // Read paths select straight into the DTO; read-only transactions also switch Hibernate's flush mode to MANUAL
+    @Transactional(readOnly = true)
     public List<AccountResponseDto> getAllUsers() {
         log.info("AccountService : getAllUsers : Retrieving all users from database");
         try {
-            List<Account> accounts = accountRepository.findAll();
-            log.info("AccountService : getAllUsers : Retrieved {} user accounts", accounts.size());
-
-            List<AccountResponseDto> accountResponseDtos = accounts.stream()
-                    .map(account -> AccountResponseDto.builder()
-                            .id(account.getId())
-                            .name(account.getName())
-                            .email(account.getEmail())
-                            .mobile(account.getMobile())
-                            .linkedinUrl(account.getLinkedinUrl())
-                            .githubUrl(account.getGithubUrl())
-                            .leetcodeUrl(account.getLeetcodeUrl())
-                            .cvPath(account.getCvPath())
-                            .deadline(account.getDeadline())
-                            .aimRole(account.getAimRole())
-                            .currentRole(account.getCurrentRole())
-                            .totalRewardPoints(account.getTotalRewardPoints())
-                            .taskAssignedCount(account.getTaskAssignedCount())
-                            .taskCompletedCount(account.getTaskCompletedCount())
-                            .userRole(account.getUserRole())
-                            .build())
-                    .toList();
-
-            log.debug("AccountService : getAllUsers : Converted accounts to DTOs");
+            List<AccountResponseDto> accountResponseDtos = accountRepository.findAllResponses();
+            log.info("AccountService : getAllUsers : Retrieved {} user accounts", accountResponseDtos.size());
             return accountResponseDtos;
         } catch (Exception e) {
             log.error("AccountService : getAllUsers : Error retrieving all users - {}", e.getMessage(), e);
@@ -150,32 +171,17 @@ public class AccountServiceImpl implements AccountService {
         }
     }
 
+    // No transaction here: cache hits should not check out a connection, and a miss is a single projection query
     public AccountResponseDto getUser(UUID id) {
         log.info("AccountService : getUser : Retrieving user with ID - {}", id);
         try {
-            Account account = accountRepository.findById(id).orElseThrow(() -> {
+            AccountResponseDto account = accountProfileCache.get(id, () -> accountRepository.findResponseById(id)).orElseThrow(() -> {
                 log.error("AccountService : getUser : User not found with ID - {}", id);
                 return new RuntimeException("User not found with ID: " + id);
             });
 
             log.info("AccountService : getUser : Successfully retrieved user - {}", account.getName());
-            return AccountResponseDto.builder()
-                    .id(account.getId())
-                    .name(account.getName())
-                    .email(account.getEmail())
-                    .mobile(account.getMobile())
-                    .linkedinUrl(account.getLinkedinUrl())
-                    .githubUrl(account.getGithubUrl())
-                    .leetcodeUrl(account.getLeetcodeUrl())
-                    .cvPath(account.getCvPath())
-                    .deadline(account.getDeadline())
-                    .aimRole(account.getAimRole())
-                    .currentRole(account.getCurrentRole())
-                    .totalRewardPoints(account.getTotalRewardPoints())
-                    .taskAssignedCount(account.getTaskAssignedCount())
-                    .taskCompletedCount(account.getTaskCompletedCount())
-                    .userRole(account.getUserRole())
-                    .build();
+            return account;
         } catch (RuntimeException e) {
             log.error("AccountService : getUser : RuntimeException - {}", e.getMessage());
             throw e;
@@ -185,5 +191,169 @@ public class AccountServiceImpl implements AccountService {
         }
     }
 
-}
+    /**
+     * Resolves up to account.batch.max-size ids and emails with at most one query each. The result is keyed
+     * by the id or email exactly as requested; keys that match no account are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, AccountResponseDto> getUsers(AccountBatchRequest request) {
+        Set<UUID> ids = request.getIds() == null ? Set.of() : new LinkedHashSet<>(request.getIds());
+        List<String> requestedEmails = request.getEmails() == null ? List.of() : request.getEmails();
+        log.info("AccountService : getUsers : Resolving {} ids and {} emails", ids.size(), requestedEmails.size());
+
+        if (ids.size() + requestedEmails.size() == 0 || ids.size() + requestedEmails.size() > maxBatchSize) {
+            log.warn("AccountService : getUsers : Invalid batch size - {}", ids.size() + requestedEmails.size());
+            throw new BadRequestException("Between 1 and " + maxBatchSize + " ids and emails may be requested at once");
+        }
 
+        Map<String, AccountResponseDto> result = new LinkedHashMap<>();
+        if (!ids.isEmpty()) {
+            accountRepository.findResponsesByIds(ids)
+                    .forEach(account -> result.put(account.getId().toString(), account));
+        }
+
+        if (!requestedEmails.isEmpty()) {
+            // Emails are stored normalized; remember which requested spellings map to each stored value
+            Map<String, List<String>> requestedByStored = new HashMap<>();
+            for (String email : requestedEmails) {
+                String normalized = EmailNormalizer.normalize(email);
+                if (normalized != null) {
+                    requestedByStored.computeIfAbsent(normalized, key -> new ArrayList<>()).add(email);
+                }
+            }
+            accountRepository.findResponsesByEmails(requestedByStored.keySet())
+                    .forEach(account -> requestedByStored.getOrDefault(account.getEmail(), List.of())
+                            .forEach(requested -> result.put(requested, account)));
+        }
+
+        log.info("AccountService : getUsers : Resolved {} of {} keys", result.size(), ids.size() + requestedEmails.size());
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public AccountPageResponse listUsers(UUID after, int limit) {
+        log.info("AccountService : listUsers : Listing users after - {} with limit - {}", after, limit);
+        if (limit < 1 || limit > maxPageSize) {
+            log.warn("AccountService : listUsers : Invalid page size - {}", limit);
+            throw new BadRequestException("limit must be between 1 and " + maxPageSize);
+        }
+
+        // One extra row tells us whether another page exists without a COUNT query
+        Limit fetch = Limit.of(limit + 1);
+        List<AccountResponseDto> accounts = after == null
+                ? accountRepository.findFirstPage(fetch)
+                : accountRepository.findPageAfter(after, fetch);
+
+        boolean hasMore = accounts.size() > limit;
+        List<AccountResponseDto> items = hasMore ? accounts.subList(0, limit) : accounts;
+        UUID nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+
+        log.info("AccountService : listUsers : Returning {} users, next cursor - {}", items.size(), nextCursor);
+        return AccountPageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Same keyset paging as {@link #listUsers}, restricted to accounts holding the role. The filter is a
+     * bitwise test on role_mask; the page's DTOs are then loaded by primary key.
+     */
+    @Transactional(readOnly = true)
+    public AccountPageResponse listUsersByRole(USER_ROLE role, UUID after, int limit) {
+        log.info("AccountService : listUsersByRole : Listing {} users after - {} with limit - {}", role, after, limit);
+        if (limit < 1 || limit > maxPageSize) {
+            log.warn("AccountService : listUsersByRole : Invalid page size - {}", limit);
+            throw new BadRequestException("limit must be between 1 and " + maxPageSize);
+        }
+
+        // The nil UUID sorts before every generated id, so it stands in for "first page"
+        UUID from = after == null ? new UUID(0L, 0L) : after;
+        List<UUID> ids = accountRepository.findIdsWithAnyRole(role.mask(), from, limit + 1);
+        boolean hasMore = ids.size() > limit;
+        List<UUID> pageIds = hasMore ? ids.subList(0, limit) : ids;
+
+        List<AccountResponseDto> items = loadInOrder(pageIds);
+        UUID nextCursor = hasMore ? pageIds.get(pageIds.size() - 1) : null;
+
+        log.info("AccountService : listUsersByRole : Returning {} users, next cursor - {}", items.size(), nextCursor);
+        return AccountPageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Ranked search by name or email: prefix matches first, then "contains" matches by trigram similarity.
+     * The matching ids come from an index-backed native query; their DTOs are loaded in one IN query by
+     * primary key and put back in rank order.
+     */
+    @Transactional(readOnly = true)
+    public AccountSearchResponse searchUsers(String query, int page, int size) {
+        log.info("AccountService : searchUsers : Searching users for - {} page - {} size - {}", query, page, size);
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || normalized.length() > 100) {
+            throw new BadRequestException("q must be between 1 and 100 characters");
+        }
+        if (size < 1 || size > maxSearchSize) {
+            throw new BadRequestException("size must be between 1 and " + maxSearchSize);
+        }
+        if (page < 0 || (long) page * size > maxSearchOffset) {
+            throw new BadRequestException("page is beyond the searchable range; refine the query instead");
+        }
+
+        String escaped = normalized.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        int offset = page * size;
+        // One extra row tells us whether another page exists without a COUNT query
+        List<UUID> ids = normalized.length() < MIN_SUBSTRING_QUERY_LENGTH
+                ? accountRepository.searchIdsByPrefix(normalized, escaped + "%", size + 1, offset)
+                : accountRepository.searchIdsBySubstring(normalized, escaped + "%", "%" + escaped + "%", size + 1, offset);
+
+        boolean hasMore = ids.size() > size;
+        List<UUID> pageIds = hasMore ? ids.subList(0, size) : ids;
+
+        List<AccountResponseDto> items = loadInOrder(pageIds);
+
+        log.info("AccountService : searchUsers : Returning {} users for - {}", items.size(), query);
+        return AccountSearchResponse.builder()
+                .items(items)
+                .page(page)
+                .size(size)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Hands every account to the consumer in id order while the cursor is still open. Rows are projected
+     * straight into DTOs, so nothing accumulates in the persistence context and memory stays flat.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<AccountResponseDto> consumer) {
+        log.info("AccountService : streamAllUsers : Streaming all users");
+        long count = 0;
+        try (Stream<AccountResponseDto> accounts = accountRepository.streamAllOrderById()) {
+            for (AccountResponseDto account : (Iterable<AccountResponseDto>) accounts::iterator) {
+                consumer.accept(account);
+                count++;
+            }
+        }
+        log.info("AccountService : streamAllUsers : Streamed {} users", count);
+    }
+
+    // Loads DTOs in one IN query and returns them in the order of the given ids (Java and Postgres order UUIDs differently)
+    private List<AccountResponseDto> loadInOrder(List<UUID> ids) {
+        List<AccountResponseDto> items = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return items;
+        }
+        Map<UUID, AccountResponseDto> byId = new HashMap<>();
+        accountRepository.findResponsesByIds(ids).forEach(account -> byId.put(account.getId(), account));
+        for (UUID id : ids) {
+            AccountResponseDto account = byId.get(id);
+            if (account != null) {
+                items.add(account);
+            }
+        }
+        return items;
+    }
+}
@@ -1,21 +1,27 @@
 package com.SwitchBoard.AuthService.Service.GoogleAuth.impl;
 
-import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeType;
 import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
 import com.SwitchBoard.AuthService.DTO.GoogleAuth.GoogleAuthResponse;
 import com.SwitchBoard.AuthService.Model.Account;
 import com.SwitchBoard.AuthService.Model.RefreshToken;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository;
 import com.SwitchBoard.AuthService.Repository.AccountRepository;
 import com.SwitchBoard.AuthService.Service.GoogleAuth.GoogleAuthService;
+import com.SwitchBoard.AuthService.Service.Leaderboard.LeaderboardService;
 import com.SwitchBoard.AuthService.Service.RefreshTokenService;
+import com.SwitchBoard.AuthService.Util.AccountMapper;
+import com.SwitchBoard.AuthService.Util.EmailNormalizer;
 import com.SwitchBoard.AuthService.Util.GoogleTokenVerifier;
 import com.SwitchBoard.AuthService.Util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +32,9 @@ public class GoogleAuthServiceImpl implements GoogleAuthService {
     private final AccountRepository accountRepository;
     private final JwtUtil jwtUtil;
     private final RefreshTokenService refreshTokenService;
+    private final LeaderboardService leaderboardService;
+    private final AccountChangeRepository accountChangeRepository;
+    private final TransactionTemplate transactionTemplate;
     
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
@@ -46,28 +55,36 @@ public class GoogleAuthServiceImpl implements GoogleAuthService {
             }
 
             // 2. Extract user data from Google token
-            String email = payload.getEmail();
+            String email = EmailNormalizer.normalize(payload.getEmail());
             String name = (String) payload.get("name");
             log.info("GoogleAuthServiceImpl : loginWithGoogle : Google token verified for email - {}", email);
 
-            // 3. Check if user exists in database
-            Account account = accountRepository.findByEmail(email).orElse(null);
+            // 3. Check if user exists in database; a miss may be replica lag, so it is confirmed on the primary
+            Account account = accountRepository.findByEmail(email)
+                    .or(() -> transactionTemplate.execute(status -> accountRepository.findByEmail(email)))
+                    .orElse(null);
             boolean newUser = false;
 
             // 4. Create new account if user doesn't exist
             if (account == null) {
                 log.info("GoogleAuthServiceImpl : loginWithGoogle : Creating new account for email - {}", email);
-                account = Account.builder()
+                Account newAccount = Account.builder()
                         .name(name)
                         .email(email)
-                        .userRole(Collections.singletonList(USER_ROLE.USER))
+                        .userRole(EnumSet.of(USER_ROLE.USER))
                         .totalRewardPoints(0)
                         .taskAssignedCount(0)
                         .taskCompletedCount(0)
                         .googleAccount(true)
                         .build();
 
-                accountRepository.save(account);
+                // The account and its change-log row commit together
+                account = transactionTemplate.execute(status -> {
+                    Account saved = accountRepository.save(newAccount);
+                    accountChangeRepository.append(List.of(saved.getId()), AccountChangeType.CREATED);
+                    return saved;
+                });
+                leaderboardService.addAccounts(List.of(account.getId()));
                 newUser = true;
                 log.info("GoogleAuthServiceImpl : loginWithGoogle : New account created successfully");
             } else {
@@ -92,24 +109,7 @@ public class GoogleAuthServiceImpl implements GoogleAuthService {
                     .accessToken(accessToken)
                     .refreshToken(refreshToken.getToken())
                     .newUser(newUser)
-                    .user(AccountResponseDto.builder()
-                            .id(account.getId())
-                            .name(account.getName())
-                            .email(account.getEmail())
-                            .mobile(account.getMobile())
-                            .linkedinUrl(account.getLinkedinUrl())
-                            .githubUrl(account.getGithubUrl())
-                            .leetcodeUrl(account.getLeetcodeUrl())
-                            .cvPath(account.getCvPath())
-                            .deadline(account.getDeadline())
-                            .aimRole(account.getAimRole())
-                            .currentRole(account.getCurrentRole())
-                            .totalRewardPoints(account.getTotalRewardPoints())
-                            .taskAssignedCount(account.getTaskAssignedCount())
-                            .taskCompletedCount(account.getTaskCompletedCount())
-                            .userRole(account.getUserRole())
-                            .build()
-                    )
+                    .user(AccountMapper.toResponseDto(account))
                     .build();
 
             log.info("GoogleAuthServiceImpl : loginWithGoogle : Google login successful for email - {}", email);
@@ -0,0 +1,247 @@
+package com.SwitchBoard.AuthService.Service.Leaderboard;
+
+import com.SwitchBoard.AuthService.DTO.Leaderboard.LeaderboardEntry;
+import com.SwitchBoard.AuthService.Exception.BadRequestException;
+import com.SwitchBoard.AuthService.Exception.ResourceNotFoundException;
+import com.SwitchBoard.AuthService.Repository.AccountCounterRepository;
+import com.SwitchBoard.AuthService.Util.RedisLease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reward point rankings kept in a Redis sorted set (member = account id, score = totalRewardPoints), so
+ * top-N, rank and around-me reads are O(log n) and never query the account table. Writers push changes
+ * after their transaction commits; a rebuild reloads the set from Postgres into a staging key and swaps
+ * it in with RENAME. An increment that commits while a rebuild is scanning can be lost in the swap, and a
+ * failed push leaves the set behind the table, so the scheduled rebuild also serves as drift repair.
+ */
+@Service
+@Slf4j
+public class LeaderboardService {
+
+    // The hash tag keeps both keys in one cluster slot, which RENAME requires
+    static final String KEY = "{leaderboard}:reward-points";
+    static final String STAGING_KEY = "{leaderboard}:reward-points:rebuild";
+    private static final String LEASE_KEY = "lease:leaderboard-rebuild";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final AccountCounterRepository accountCounterRepository;
+    private final RedisLease redisLease;
+    private final Counter updateErrors;
+    private final Timer rebuildTimer;
+
+    @Value("${leaderboard.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${leaderboard.rebuild.chunk-size:1000}")
+    private int rebuildChunkSize;
+
+    @Value("${leaderboard.rebuild.lease-seconds:600}")
+    private long leaseSeconds;
+
+    public LeaderboardService(RedisTemplate<String, Object> redisTemplate,
+                              AccountCounterRepository accountCounterRepository,
+                              RedisLease redisLease,
+                              MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.accountCounterRepository = accountCounterRepository;
+        this.redisLease = redisLease;
+        this.updateErrors = Counter.builder("auth.leaderboard.update.errors")
+                .description("Leaderboard writes that failed and are left for the next rebuild")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("auth.leaderboard.rebuild")
+                .description("Duration of a full leaderboard rebuild from Postgres")
+                .register(meterRegistry);
+    }
+
+    public List<LeaderboardEntry> top(int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new BadRequestException("limit must be between 1 and " + maxPageSize);
+        }
+        return range(0, limit - 1L);
+    }
+
+    public LeaderboardEntry rankOf(UUID accountId) {
+        String member = accountId.toString();
+        Long rank = redisTemplate.opsForZSet().reverseRank(KEY, member);
+        Double score = redisTemplate.opsForZSet().score(KEY, member);
+        if (rank == null || score == null) {
+            throw new ResourceNotFoundException("No leaderboard entry for account " + accountId);
+        }
+        return new LeaderboardEntry(rank + 1, accountId, score.longValue());
+    }
+
+    /**
+     * Returns up to {@code radius} entries either side of the account, including the account itself.
+     */
+    public List<LeaderboardEntry> around(UUID accountId, int radius) {
+        if (radius < 0 || radius > maxPageSize / 2) {
+            throw new BadRequestException("radius must be between 0 and " + maxPageSize / 2);
+        }
+        Long rank = redisTemplate.opsForZSet().reverseRank(KEY, accountId.toString());
+        if (rank == null) {
+            throw new ResourceNotFoundException("No leaderboard entry for account " + accountId);
+        }
+        return range(Math.max(0, rank - radius), rank + radius);
+    }
+
+    /**
+     * Adds new accounts with zero points. Existing members are left alone, so replays are harmless.
+     */
+    public void addAccounts(Collection<UUID> accountIds) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        Set<TypedTuple<Object>> members = new HashSet<>();
+        accountIds.forEach(id -> members.add(new DefaultTypedTuple<>(id.toString(), 0.0)));
+        afterCommit("addAccounts", () -> redisTemplate.opsForZSet().addIfAbsent(KEY, members));
+    }
+
+    /**
+     * Applies reward point deltas with ZINCRBY, sent as one pipeline once the caller's transaction commits.
+     */
+    public void incrementPoints(Map<UUID, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        afterCommit("incrementPoints", () -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                ZSetOperations<String, Object> zSet = (ZSetOperations<String, Object>) operations.opsForZSet();
+                deltas.forEach((accountId, delta) -> zSet.incrementScore(KEY, accountId.toString(), delta));
+                return null;
+            }
+        }));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(KEY))) {
+                log.info("LeaderboardService : rebuildIfMissing : No leaderboard in Redis, rebuilding");
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("LeaderboardService : rebuildIfMissing : Error rebuilding leaderboard - {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${leaderboard.rebuild.cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("LeaderboardService : scheduledRebuild : Error rebuilding leaderboard - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the leaderboard from Postgres. Readers keep seeing the old set until the RENAME, which swaps
+     * in the new one atomically. Returns false when another node is already rebuilding.
+     */
+    public boolean rebuild() {
+        Optional<String> owner = redisLease.tryAcquire(LEASE_KEY, Duration.ofSeconds(leaseSeconds));
+        if (owner.isEmpty()) {
+            log.info("LeaderboardService : rebuild : Lease held by another node, skipping rebuild");
+            return false;
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            // Leftovers from a crashed rebuild would otherwise be merged into this one
+            redisTemplate.delete(STAGING_KEY);
+
+            List<TypedTuple<Object>> chunk = new ArrayList<>(rebuildChunkSize);
+            long[] staged = {0};
+            accountCounterRepository.scanRewardPoints((accountId, points) -> {
+                chunk.add(new DefaultTypedTuple<>(accountId.toString(), (double) points));
+                if (chunk.size() == rebuildChunkSize) {
+                    staged[0] += stage(chunk);
+                }
+            });
+            if (!chunk.isEmpty()) {
+                staged[0] += stage(chunk);
+            }
+
+            if (staged[0] == 0) {
+                redisTemplate.delete(KEY);
+            } else {
+                redisTemplate.rename(STAGING_KEY, KEY);
+            }
+            log.info("LeaderboardService : rebuild : Rebuilt leaderboard with {} accounts", staged[0]);
+            return true;
+        } finally {
+            sample.stop(rebuildTimer);
+            redisLease.release(LEASE_KEY, owner.get());
+        }
+    }
+
+    private int stage(List<TypedTuple<Object>> chunk) {
+        int size = chunk.size();
+        redisTemplate.opsForZSet().add(STAGING_KEY, new HashSet<>(chunk));
+        chunk.clear();
+        return size;
+    }
+
+    private List<LeaderboardEntry> range(long start, long end) {
+        Set<TypedTuple<Object>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(KEY, start, end);
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        if (tuples == null) {
+            return entries;
+        }
+        long rank = start + 1;
+        for (TypedTuple<Object> tuple : tuples) {
+            double score = tuple.getScore() == null ? 0 : tuple.getScore();
+            entries.add(new LeaderboardEntry(rank++, UUID.fromString(String.valueOf(tuple.getValue())), (long) score));
+        }
+        return entries;
+    }
+
+    // Runs the write once the surrounding transaction commits; a Redis failure never fails the caller
+    private void afterCommit(String operation, Runnable write) {
+        Runnable guarded = () -> {
+            try {
+                write.run();
+            } catch (Exception e) {
+                updateErrors.increment();
+                log.error("LeaderboardService : {} : Error updating leaderboard - {}", operation, e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.SwitchBoard.AuthService.Service;
 
 import com.SwitchBoard.AuthService.DTO.Authentication.ApiResponse;
 import com.SwitchBoard.AuthService.DTO.Authentication.AuthResponse;
+import com.SwitchBoard.AuthService.DTO.Authentication.OtpChallengeResponse;
+import com.SwitchBoard.AuthService.Exception.BadRequestException;
 import com.SwitchBoard.AuthService.Exception.ResourceNotFoundException;
 import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
 import com.SwitchBoard.AuthService.Exception.UnexpectedException;
@@ -9,15 +11,21 @@ import com.SwitchBoard.AuthService.Messaging.Publisher.NotificationPublisher;
 import com.SwitchBoard.AuthService.Model.Account;
 import com.SwitchBoard.AuthService.Model.RefreshToken;
 import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import com.SwitchBoard.AuthService.Util.EmailNormalizer;
 import com.SwitchBoard.AuthService.Util.JwtUtil;
+import com.SwitchBoard.AuthService.Util.OtpChallengeCodec;
 import com.SwitchBoard.AuthService.Util.OtpUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -26,11 +34,16 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class OtpService {
 
+    private static final RedisScript<Long> CHALLENGE_ATTEMPT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/otp-challenge-attempt.lua"), Long.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, Object> replicaRedisTemplate;
     private final JwtUtil jwtUtil;
     private final AccountRepository accountRepository;
     private final NotificationPublisher notificationPublisher;
     private final RefreshTokenService refreshTokenService;
+    private final OtpChallengeCodec otpChallengeCodec;
 
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
@@ -50,29 +63,53 @@ public class OtpService {
     @Value("${otp.max.attempts}")
     private int MAX_ATTEMPTS;
 
-    public ApiResponse generateOtp(String email) {
-        log.info("OtpService : generateOtp : Generating OTP for email - {}", email);
-        
+    // When enabled, pending OTPs live in a signed client-held challenge instead of a Redis hash
+    @Value("${otp.challenge.enabled:false}")
+    private boolean challengeEnabled;
+
+    public ApiResponse generateOtp(String rawEmail) {
+        log.info("OtpService : generateOtp : Generating OTP for email - {}", rawEmail);
+        String email = requireEmail(rawEmail);
+
         Optional<Account> account=accountRepository.findByEmail(email);
         if (account.isEmpty()) {
             log.warn("OtpService : generateOtp : User with email {} not found", email);
             throw new ResourceNotFoundException("User with email " + email + " not found.");
         }
 
-        String key = OTP_PREFIX + email.toLowerCase();
-        String cooldownKey = COOLDOWN_PREFIX + email.toLowerCase();
+        String key = otpKey(email);
+        String cooldownKey = cooldownKey(email);
 
-        if (redisTemplate.hasKey(cooldownKey)) {
+        if (replicaRedisTemplate.hasKey(cooldownKey)) {
             log.warn("OtpService : generateOtp : Cooldown period active for email - {}", email);
             throw new UnexpectedException("Please wait before requesting a new OTP.");
         }
 
+        String otp = OtpUtils.generateOtp();
+        log.debug("OtpService : generateOtp : OTP generated for email - {}", email);
+
+        if (challengeEnabled) {
+            long expiresAt = Instant.now().plus(Duration.ofMinutes(OTP_TTL_MINUTES)).getEpochSecond();
+            String challengeId = otpChallengeCodec.newChallengeId();
+            String challenge = otpChallengeCodec.seal(email, otp, expiresAt, challengeId);
+
+            // Only the newest challenge is redeemable, so a resend does not add to the guess budget
+            log.debug("OtpService : generateOtp : Recording current challenge for email - {}", email);
+            redisTemplate.opsForValue().set(currentChallengeKey(email), challengeId, Duration.ofMinutes(OTP_TTL_MINUTES));
+
+            log.debug("OtpService : generateOtp : Setting cooldown for email - {}", email);
+            redisTemplate.opsForValue().set(cooldownKey, "1", Duration.ofSeconds(COOLDOWN_SECONDS));
+
+            notificationPublisher.sendOtpNotification(email, otp);
+            log.info("OtpService : generateOtp : OTP challenge issued to email - {}", email);
+            return ApiResponse.success("OTP sent successfully to " + email,
+                    new OtpChallengeResponse(challenge, OTP_TTL_MINUTES * 60L), null);
+        }
+
         log.debug("OtpService : generateOtp : Deleting any existing OTP for email - {}", email);
         redisTemplate.delete(key);
 
-        String otp = OtpUtils.generateOtp();
         String hashedOtp = OtpUtils.hashOtp(otp);
-        log.debug("OtpService : generateOtp : OTP generated for email - {}", email);
 
         log.debug("OtpService : generateOtp : Storing OTP in Redis");
         redisTemplate.opsForHash().put(key, "hash", hashedOtp);
@@ -89,12 +126,56 @@ public class OtpService {
     }
 
     public AuthResponse validateOtp(String email, String otp) throws Exception {
-        log.info("OtpService : validateOtp : Validating OTP for email - {}", email);
+        return validateOtp(email, otp, null);
+    }
 
-        String key = OTP_PREFIX + email.toLowerCase();
+    public AuthResponse validateOtp(String rawEmail, String otp, String challenge) throws Exception {
+        log.info("OtpService : validateOtp : Validating OTP for email - {}", rawEmail);
+        String email = requireEmail(rawEmail);
+
+        verifyOtpCode(email, otp, challenge);
+
+        log.debug("OtpService : validateOtp : Retrieving user information");
+        Account account = accountRepository.findByEmail(email).orElse(null);
+        if (account == null) {
+            log.error("OtpService : validateOtp : User with email {} not found after OTP validation", email);
+            throw new ResourceNotFoundException("User with email " + email + " not found.");
+        }
+
+        log.debug("OtpService : validateOtp : Generating JWT token");
+        String jwtString = jwtUtil.generateToken(email, account.getName(), account.getId(), account.getUserRole());
+
+        log.debug("OtpService : validateOtp : Creating refresh token");
+        RefreshToken refreshToken = refreshTokenService.createRefreshToken(account);
+
+        log.info("OtpService : validateOtp : Tokens generated successfully");
+
+        return AuthResponse.builder()
+                .accessToken(jwtString)
+                .refreshToken(refreshToken.getToken())
+                .expiresIn(jwtExpiration)
+                .build();
+    }
+
+    /**
+     * Checks the emailed OTP and consumes it on success, without issuing tokens. Used directly when
+     * the OTP only proves mailbox ownership, e.g. before enrolling a TOTP authenticator.
+     */
+    public void verifyOtpCode(String email, String otp) {
+        verifyOtpCode(email, otp, null);
+    }
+
+    public void verifyOtpCode(String rawEmail, String otp, String challenge) {
+        String email = requireEmail(rawEmail);
+        if (challenge != null) {
+            verifyChallenge(email, otp, challenge);
+            return;
+        }
+
+        String key = otpKey(email);
 
         if (!redisTemplate.hasKey(key)) {
-            log.warn("OtpService : validateOtp : OTP expired or not found for email - {}", email);
+            log.warn("OtpService : verifyOtpCode : OTP expired or not found for email - {}", email);
             throw new ResourceNotFoundException("OTP expired or not found. Please request a new one.");
         }
 
@@ -102,42 +183,98 @@ public class OtpService {
         Integer attempts = (Integer) redisTemplate.opsForHash().get(key, "attempts");
 
         if (attempts == null) attempts = 0;
-        log.debug("OtpService : validateOtp : Current attempt count - {}", attempts);
+        log.debug("OtpService : verifyOtpCode : Current attempt count - {}", attempts);
 
         if (attempts >= MAX_ATTEMPTS) {
-            log.warn("OtpService : validateOtp : Maximum attempts exceeded for email - {}", email);
+            log.warn("OtpService : verifyOtpCode : Maximum attempts exceeded for email - {}", email);
             redisTemplate.delete(key);
             throw new UnauthorizedException("Maximum attempts exceeded. OTP invalidated. Please request a new one.");
         }
 
-        if (hashedOtp != null && hashedOtp.equals(OtpUtils.hashOtp(otp))) {
-            log.info("OtpService : validateOtp : OTP verified successfully for email - {}", email);
-            redisTemplate.delete(key);
-            
-            log.debug("OtpService : validateOtp : Retrieving user information");
-            Account account = accountRepository.findByEmail(email).orElse(null);
-            if (account == null) {
-                log.error("OtpService : validateOtp : User with email {} not found after OTP validation", email);
-                throw new ResourceNotFoundException("User with email " + email + " not found.");
-            }
-            
-            log.debug("OtpService : validateOtp : Generating JWT token");
-            String jwtString = jwtUtil.generateToken(email, account.getName(), account.getId(), account.getUserRole());
-            
-            log.debug("OtpService : validateOtp : Creating refresh token");
-            RefreshToken refreshToken = refreshTokenService.createRefreshToken(account);
-            
-            log.info("OtpService : validateOtp : Tokens generated successfully");
-            
-            return AuthResponse.builder()
-                    .accessToken(jwtString)
-                    .refreshToken(refreshToken.getToken())
-                    .expiresIn(jwtExpiration)
-                    .build();
-        } else {
-            log.warn("OtpService : validateOtp : Invalid OTP provided for email - {}", email);
+        if (hashedOtp == null || !hashedOtp.equals(OtpUtils.hashOtp(otp))) {
+            log.warn("OtpService : verifyOtpCode : Invalid OTP provided for email - {}", email);
             redisTemplate.opsForHash().put(key, "attempts", attempts + 1);
             throw new UnauthorizedException("Invalid OTP. Please try again.");
         }
+
+        log.info("OtpService : verifyOtpCode : OTP verified successfully for email - {}", email);
+        redisTemplate.delete(key);
+    }
+
+    /**
+     * Verifies an OTP against a sealed challenge. Redis only holds the id of the newest challenge per
+     * email and a small per-challenge attempt counter, which the script flips to "used" on success so each
+     * challenge is single-use. Challenges superseded by a resend are rejected outright.
+     */
+    private void verifyChallenge(String email, String otp, String challengeToken) {
+        OtpChallengeCodec.OtpChallenge challenge = otpChallengeCodec.open(challengeToken);
+
+        if (!challenge.email().equalsIgnoreCase(email)) {
+            log.warn("OtpService : verifyChallenge : Challenge does not belong to email - {}", email);
+            throw new UnauthorizedException("Invalid OTP challenge.");
+        }
+
+        long secondsLeft = challenge.expiresAt() - Instant.now().getEpochSecond();
+        if (secondsLeft <= 0) {
+            log.warn("OtpService : verifyChallenge : OTP challenge expired for email - {}", email);
+            throw new ResourceNotFoundException("OTP expired or not found. Please request a new one.");
+        }
+
+        boolean matched = otpChallengeCodec.matches(challenge, otp);
+        Long result = redisTemplate.execute(CHALLENGE_ATTEMPT_SCRIPT,
+                List.of(challengeKey(email, challenge.challengeId()), currentChallengeKey(email)),
+                matched ? "1" : "0", String.valueOf(MAX_ATTEMPTS), String.valueOf(secondsLeft), challenge.challengeId());
+
+        if (result == null) {
+            log.error("OtpService : verifyChallenge : No result from challenge attempt script");
+            throw new UnexpectedException("Unable to verify OTP. Please try again.");
+        }
+        if (result == -2) {
+            log.warn("OtpService : verifyChallenge : OTP challenge already used for email - {}", email);
+            throw new UnauthorizedException("OTP already used. Please request a new one.");
+        }
+        if (result == -3) {
+            log.warn("OtpService : verifyChallenge : OTP challenge superseded by a newer one for email - {}", email);
+            throw new UnauthorizedException("OTP challenge is no longer valid. Please use the latest OTP.");
+        }
+        if (result == -1) {
+            log.warn("OtpService : verifyChallenge : Maximum attempts exceeded for email - {}", email);
+            throw new UnauthorizedException("Maximum attempts exceeded. OTP invalidated. Please request a new one.");
+        }
+        if (!matched) {
+            log.warn("OtpService : verifyChallenge : Invalid OTP provided for email - {}", email);
+            throw new UnauthorizedException("Invalid OTP. Please try again.");
+        }
+
+        log.info("OtpService : verifyChallenge : OTP verified successfully for email - {}", email);
+    }
+
+    private String requireEmail(String rawEmail) {
+        String email = EmailNormalizer.normalize(rawEmail);
+        if (email == null) {
+            throw new BadRequestException("email is required");
+        }
+        return email;
+    }
+
+    // All per-email keys carry the same {email} hash tag so they share one Redis Cluster slot
+    private String otpKey(String email) {
+        return OTP_PREFIX + hashTag(email);
+    }
+
+    private String cooldownKey(String email) {
+        return COOLDOWN_PREFIX + hashTag(email);
+    }
+
+    private String challengeKey(String email, String challengeId) {
+        return OTP_PREFIX + hashTag(email) + ":challenge:" + challengeId;
+    }
+
+    private String currentChallengeKey(String email) {
+        return OTP_PREFIX + hashTag(email) + ":challenge:current";
+    }
+
+    private String hashTag(String email) {
+        return "{" + email + "}";
     }
 }
@@ -0,0 +1,78 @@
+package com.SwitchBoard.AuthService.Service;
+
+import com.SwitchBoard.AuthService.Exception.UnexpectedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Current version of every stateless refresh-token family, kept in Redis so a sealed token rotates at most
+ * once. Presenting a version that is no longer current means the token was copied; the family is revoked,
+ * which also cuts off whoever rotated it first. A family key lives one refresh lifetime past its last rotation.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenFamilyRegistry {
+
+    static final String FAMILY_PREFIX = "refresh:family:";
+    private static final String REVOKED = "revoked";
+    private static final RedisScript<Long> ADVANCE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh-token-family-advance.lua"), Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${jwt.refresh-expiration}")
+    private Long refreshTokenExpiration;
+
+    // Epoch millis of the release that started recording family versions; tokens issued before it have no
+    // family key and are adopted once. 0 adopts nothing. Adoption ends one refresh lifetime after this
+    // instant, so remove the property and the script's adopt branch then.
+    @Value("${refresh-token.stateless.adopt-untracked-issued-before:0}")
+    private long adoptUntrackedIssuedBefore;
+
+    public void start(UUID familyId, int version) {
+        redisTemplate.opsForValue().set(familyKey(familyId), String.valueOf(version), Duration.ofSeconds(refreshTokenExpiration));
+    }
+
+    // True when the presented version was current (or the token predates tracking) and has been advanced
+    public boolean advance(UUID familyId, int presentedVersion, long issuedAt) {
+        boolean adoptable = issuedAt < adoptUntrackedIssuedBefore;
+        Long result = redisTemplate.execute(ADVANCE_SCRIPT, Collections.singletonList(familyKey(familyId)),
+                String.valueOf(presentedVersion), String.valueOf(refreshTokenExpiration), adoptable ? "1" : "0");
+
+        if (result == null) {
+            log.error("RefreshTokenFamilyRegistry : advance : No result from family advance script");
+            throw new UnexpectedException("Unable to refresh token. Please try again.");
+        }
+        if (result == -1) {
+            log.warn("RefreshTokenFamilyRegistry : advance : Stale version {} presented, family revoked - {}", presentedVersion, familyId);
+            return false;
+        }
+        if (result == -2) {
+            log.warn("RefreshTokenFamilyRegistry : advance : Untracked family rejected - {}", familyId);
+            return false;
+        }
+        if (result == 0) {
+            log.info("RefreshTokenFamilyRegistry : advance : Adopted untracked family - {}", familyId);
+        }
+        return true;
+    }
+
+    public void revoke(UUID familyId) {
+        log.info("RefreshTokenFamilyRegistry : revoke : Revoking refresh token family - {}", familyId);
+        redisTemplate.opsForValue().set(familyKey(familyId), REVOKED, Duration.ofSeconds(refreshTokenExpiration));
+    }
+
+    private String familyKey(UUID familyId) {
+        return FAMILY_PREFIX + familyId;
+    }
+}
@@ -0,0 +1,112 @@
+package com.SwitchBoard.AuthService.Service;
+
+import com.SwitchBoard.AuthService.Util.RedisLease;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains the monthly partitions of refresh_tokens (ranged by expiry_date, see
+ * db/optional/refresh_token_partitioning.sql). Partitions are created ahead of time, and a partition whose
+ * whole range expired more than the retention period ago is detached and dropped, so expired tokens leave
+ * the table without a DELETE.
+ */
+@Service
+@ConditionalOnProperty(name = "refresh-token.partitioning.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenPartitionManager {
+
+    static final String PARENT_TABLE = "refresh_tokens";
+    static final String PARTITION_PREFIX = PARENT_TABLE + "_p";
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String LEASE_KEY = "lease:refresh-token-partitions";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisLease redisLease;
+
+    @Value("${refresh-token.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${refresh-token.partitioning.retention-days:7}")
+    private int retentionDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${refresh-token.partitioning.cron:0 15 3 * * *}")
+    public void maintain() {
+        Optional<String> owner = redisLease.tryAcquire(LEASE_KEY, Duration.ofMinutes(10));
+        if (owner.isEmpty()) {
+            return;
+        }
+
+        try {
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= monthsAhead; i++) {
+                createPartition(current.plusMonths(i));
+            }
+
+            LocalDate dropBefore = LocalDate.now().minusDays(retentionDays);
+            for (String partition : listPartitions()) {
+                YearMonth month = parseMonth(partition);
+                if (month != null && !month.plusMonths(1).atDay(1).isAfter(dropBefore)) {
+                    dropPartition(partition);
+                }
+            }
+        } catch (Exception e) {
+            log.error("RefreshTokenPartitionManager : maintain : Error maintaining partitions - {}", e.getMessage());
+        } finally {
+            redisLease.release(LEASE_KEY, owner.get());
+        }
+    }
+
+    void createPartition(YearMonth month) {
+        String name = PARTITION_PREFIX + month.format(SUFFIX_FORMAT);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + PARENT_TABLE
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        log.debug("RefreshTokenPartitionManager : createPartition : Ensured partition - {}", name);
+    }
+
+    void dropPartition(String name) {
+        log.info("RefreshTokenPartitionManager : dropPartition : Dropping expired partition - {}", name);
+        // CONCURRENTLY takes only a SHARE UPDATE EXCLUSIVE lock on the parent, so logins keep running
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + name + " CONCURRENTLY");
+        jdbcTemplate.execute("DROP TABLE " + name);
+    }
+
+    List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ?", String.class, PARENT_TABLE);
+    }
+
+    // Returns the month a partition covers, or null for partitions this job does not manage
+    static YearMonth parseMonth(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX_FORMAT);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
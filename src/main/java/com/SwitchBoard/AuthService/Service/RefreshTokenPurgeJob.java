@@ -0,0 +1,110 @@
+package com.SwitchBoard.AuthService.Service;
+
+import com.SwitchBoard.AuthService.Repository.RefreshTokenRepository;
+import com.SwitchBoard.AuthService.Util.RedisLease;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes expired and long-revoked refresh tokens from Postgres in small batches. Only one node runs a
+ * purge at a time: the job takes a Redis lease (SET NX PX) and skips the run when another node holds it.
+ */
+@Service
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+@Slf4j
+public class RefreshTokenPurgeJob {
+
+    private static final String LEASE_KEY = "lease:refresh-token-purge";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RedisLease redisLease;
+    private final Counter purgedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong tableSizeBytes = new AtomicLong();
+
+    @Value("${refresh-token.purge.enabled:true}")
+    private boolean enabled;
+
+    @Value("${refresh-token.purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${refresh-token.purge.max-batches:100}")
+    private int maxBatches;
+
+    @Value("${refresh-token.purge.revoked-retention-hours:24}")
+    private long revokedRetentionHours;
+
+    @Value("${refresh-token.purge.lease-seconds:600}")
+    private long leaseSeconds;
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository,
+                                RedisLease redisLease,
+                                MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.redisLease = redisLease;
+        this.purgedCounter = Counter.builder("auth.refresh_tokens.purged")
+                .description("Refresh token rows deleted by the purge job")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("auth.refresh_tokens.purge.batch")
+                .description("Latency of one refresh token purge batch")
+                .register(meterRegistry);
+        Gauge.builder("auth.refresh_tokens.table.size", tableSizeBytes, AtomicLong::get)
+                .description("Total size of the refresh_tokens table including indexes, as of the last purge")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${refresh-token.purge.interval-ms:300000}",
+            initialDelayString = "${refresh-token.purge.initial-delay-ms:60000}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+
+        Optional<String> owner = redisLease.tryAcquire(LEASE_KEY, Duration.ofSeconds(leaseSeconds));
+        if (owner.isEmpty()) {
+            log.debug("RefreshTokenPurgeJob : purge : Lease held by another node, skipping run");
+            return;
+        }
+
+        try {
+            long purged = purgeBatches();
+            tableSizeBytes.set(refreshTokenRepository.totalRelationSize());
+            log.info("RefreshTokenPurgeJob : purge : Purged refresh tokens - {}", purged);
+        } catch (Exception e) {
+            log.error("RefreshTokenPurgeJob : purge : Error purging refresh tokens - {}", e.getMessage());
+        } finally {
+            redisLease.release(LEASE_KEY, owner.get());
+        }
+    }
+
+    long purgeBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime revokedBefore = now.minusHours(revokedRetentionHours);
+        long total = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Timer.Sample sample = Timer.start();
+            int deleted = refreshTokenRepository.deletePurgeableBatch(now, revokedBefore, batchSize);
+            sample.stop(batchTimer);
+            purgedCounter.increment(deleted);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -1,15 +1,27 @@
 package com.SwitchBoard.AuthService.Service;
 
+import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
 import com.SwitchBoard.AuthService.Model.Account;
 import com.SwitchBoard.AuthService.Model.RefreshToken;
-import com.SwitchBoard.AuthService.Repository.RefreshTokenRepository;
+import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import com.SwitchBoard.AuthService.Repository.RefreshTokenStore;
+import com.SwitchBoard.AuthService.Util.RefreshTokenCodec;
+import com.SwitchBoard.AuthService.Util.RefreshTokenCodec.StatelessRefreshToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Date;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,47 +30,211 @@ import java.util.UUID;
 @Slf4j
 @Transactional
 public class RefreshTokenService {
-    
-    private final RefreshTokenRepository refreshTokenRepository;
-    
+
+    private static final SecureRandom random = new SecureRandom();
+    private static final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private static final int SELECTOR_BYTES = 16;
+    private static final int VERIFIER_BYTES = 32;
+    private static final char SEPARATOR = '.';
+    // Pre-migration tokens are "<uuid>-<uuid>"; the first UUID became the selector, the second the verifier
+    private static final int LEGACY_TOKEN_LENGTH = 73;
+    private static final int LEGACY_SELECTOR_LENGTH = 36;
+
+    private final RefreshTokenStore refreshTokenStore;
+    private final RefreshTokenCodec refreshTokenCodec;
+    private final RevokedAccountFilter revokedAccountFilter;
+    private final RefreshTokenFamilyRegistry refreshTokenFamilyRegistry;
+    private final AccountRepository accountRepository;
+
     @Value("${jwt.refresh-expiration}")
     private Long refreshTokenExpiration;
-    
+
+    // Issue self-contained tokens; stored tokens issued earlier keep rotating through the store until they expire
+    @Value("${refresh-token.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
     public RefreshToken createRefreshToken(Account account) {
         log.info("RefreshTokenService : createRefreshToken : Creating refresh token for account - {}", account.getEmail());
-        
-        // Revoke existing tokens for this account
-        revokeAllTokensByAccount(account);
-        
+
+        if (statelessEnabled) {
+            UUID familyId = UUID.randomUUID();
+            refreshTokenFamilyRegistry.start(familyId, 1);
+            return issueStateless(account, familyId, 1);
+        }
+
+        String selector = randomValue(SELECTOR_BYTES);
+        String verifier = randomValue(VERIFIER_BYTES);
+
         RefreshToken refreshToken = RefreshToken.builder()
-                .token(generateRefreshTokenValue())
+                .selector(selector)
+                .verifierHash(hashVerifier(verifier))
                 .account(account)
                 .expiryDate(LocalDateTime.now().plusSeconds(refreshTokenExpiration))
                 .build();
-        
-        RefreshToken saved = refreshTokenRepository.save(refreshToken);
+
+        // Existing tokens for this account are revoked as part of issuing the new one
+        RefreshToken saved = refreshTokenStore.issue(refreshToken);
+        saved.setToken(selector + SEPARATOR + verifier);
         log.info("RefreshTokenService : createRefreshToken : Refresh token created successfully for account - {}", account.getEmail());
         return saved;
     }
-    
+
     public Optional<RefreshToken> findByToken(String token) {
         log.debug("RefreshTokenService : findByToken : Looking for refresh token");
-        return refreshTokenRepository.findValidToken(token, LocalDateTime.now());
+        String[] parts = splitToken(token);
+        if (parts == null) {
+            log.debug("RefreshTokenService : findByToken : Malformed refresh token");
+            return Optional.empty();
+        }
+
+        byte[] presentedHash = hashVerifier(parts[1]);
+        return refreshTokenStore.findValidBySelector(parts[0], LocalDateTime.now())
+                .filter(stored -> MessageDigest.isEqual(stored.getVerifierHash(), presentedHash));
     }
-    
+
+    /**
+     * Exchanges a presented refresh token for a new one with one store lookup (the token join-fetched with its
+     * account) and one store issue, which the JPA store sends as a single revoke-and-insert statement.
+     */
+    public RefreshToken rotateRefreshToken(String token) {
+        log.info("RefreshTokenService : rotateRefreshToken : Rotating refresh token");
+        if (RefreshTokenCodec.isStateless(token)) {
+            return rotateStateless(token);
+        }
+
+        RefreshToken current = findByToken(token).orElseThrow(() -> {
+            log.warn("RefreshTokenService : rotateRefreshToken : Refresh token not found");
+            return new UnauthorizedException("Invalid refresh token");
+        });
+
+        if (!isTokenValid(current)) {
+            log.warn("RefreshTokenService : rotateRefreshToken : Invalid or expired refresh token");
+            throw new UnauthorizedException("Refresh token expired or invalid");
+        }
+
+        return createRefreshToken(current.getAccount());
+    }
+
     public boolean isTokenValid(RefreshToken token) {
         log.debug("RefreshTokenService : isTokenValid : Validating refresh token");
         return !token.getIsRevoked() && token.getExpiryDate().isAfter(LocalDateTime.now());
     }
 
-    
+
     public void revokeAllTokensByAccount(Account account) {
         log.info("RefreshTokenService : revokeAllTokensByAccount : Revoking all tokens for account - {}", account.getEmail());
-        refreshTokenRepository.revokeAllTokensByAccount(account);
+        refreshTokenStore.revokeAllByAccount(account);
+
+        if (statelessEnabled) {
+            Date revokedAt = new Date();
+            accountRepository.markRefreshRevoked(account.getId(), revokedAt);
+            revokedAccountFilter.revoke(account.getId(), revokedAt.getTime());
+        }
+    }
+
+    /**
+     * Ends the session behind a refresh token. The account's tokens are revoked, which also reaches the
+     * stateless revocation filter, and a sealed token's family is revoked at once. Tokens that no longer
+     * resolve to an account have nothing left to revoke, so logging out with them succeeds quietly.
+     */
+    public void logout(String token) {
+        log.info("RefreshTokenService : logout : Logging out refresh token");
+        Optional<Account> account;
+        if (RefreshTokenCodec.isStateless(token)) {
+            StatelessRefreshToken claims = refreshTokenCodec.open(token);
+            refreshTokenFamilyRegistry.revoke(claims.familyId());
+            account = accountRepository.findById(claims.accountId());
+        } else {
+            account = findByToken(token).map(RefreshToken::getAccount);
+        }
+
+        account.ifPresentOrElse(this::revokeAllTokensByAccount,
+                () -> log.info("RefreshTokenService : logout : No live session for the presented token"));
+    }
+
+    /**
+     * Rotates a sealed token. The common case reads nothing: the account comes from the token's snapshot.
+     * Only when the revocation filter reports the account is its row loaded, to compare revocation time
+     * against the token's issue time, and then the fresh row is used for the new token. Any future path that
+     * changes roles must revoke the account, or snapshots keep the old roles. Each version of a family
+     * rotates once; presenting an older one revokes the family.
+     */
+    private RefreshToken rotateStateless(String token) {
+        if (!statelessEnabled) {
+            log.warn("RefreshTokenService : rotateStateless : Stateless refresh tokens are disabled");
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        StatelessRefreshToken claims = refreshTokenCodec.open(token);
+        if (claims.expiresAt() <= System.currentTimeMillis()) {
+            log.warn("RefreshTokenService : rotateStateless : Expired refresh token for account - {}", claims.accountId());
+            throw new UnauthorizedException("Refresh token expired or invalid");
+        }
+
+        Account account;
+        if (revokedAccountFilter.mightBeRevoked(claims.accountId())) {
+            account = accountRepository.findById(claims.accountId())
+                    .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+            Date revokedAt = account.getRefreshRevokedAt();
+            if (revokedAt != null && claims.issuedAt() <= revokedAt.getTime()) {
+                log.warn("RefreshTokenService : rotateStateless : Revoked refresh token for account - {}", claims.accountId());
+                throw new UnauthorizedException("Refresh token expired or invalid");
+            }
+        } else {
+            account = Account.builder()
+                    .id(claims.accountId())
+                    .email(claims.email())
+                    .name(claims.name())
+                    .userRole(claims.roles())
+                    .build();
+        }
+
+        if (!refreshTokenFamilyRegistry.advance(claims.familyId(), claims.version(), claims.issuedAt())) {
+            log.warn("RefreshTokenService : rotateStateless : Reused refresh token for account - {}", claims.accountId());
+            throw new UnauthorizedException("Refresh token expired or invalid");
+        }
+
+        return issueStateless(account, claims.familyId(), claims.version() + 1);
+    }
+
+    private RefreshToken issueStateless(Account account, UUID familyId, int version) {
+        long issuedAt = System.currentTimeMillis();
+        long expiresAt = issuedAt + refreshTokenExpiration * 1000;
+        String token = refreshTokenCodec.seal(new StatelessRefreshToken(account.getId(), familyId, version,
+                issuedAt, expiresAt, account.getEmail(), account.getName(), account.getUserRole()));
+
+        return RefreshToken.builder()
+                .token(token)
+                .account(account)
+                .expiryDate(LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()))
+                .createdAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(issuedAt), ZoneId.systemDefault()))
+                .isRevoked(false)
+                .build();
+    }
+
+    // Returns {selector, verifier}, or null when the value is not a refresh token
+    private String[] splitToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        int separator = token.indexOf(SEPARATOR);
+        if (separator > 0 && separator < token.length() - 1) {
+            return new String[]{token.substring(0, separator), token.substring(separator + 1)};
+        }
+        if (token.length() == LEGACY_TOKEN_LENGTH) {
+            return new String[]{token.substring(0, LEGACY_SELECTOR_LENGTH), token.substring(LEGACY_SELECTOR_LENGTH + 1)};
+        }
+        return null;
+    }
+
+    private byte[] hashVerifier(String verifier) {
+        return DigestUtils.sha256(verifier.getBytes(StandardCharsets.UTF_8));
     }
 
-    private String generateRefreshTokenValue() {
-        // Generate a secure random token
-        return UUID.randomUUID().toString() + "-" + UUID.randomUUID().toString();
+    private String randomValue(int bytes) {
+        // Generate a secure random token part
+        byte[] value = new byte[bytes];
+        random.nextBytes(value);
+        return encoder.encodeToString(value);
     }
-}
\ No newline at end of file
+}
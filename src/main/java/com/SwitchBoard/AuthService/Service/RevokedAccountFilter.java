@@ -0,0 +1,107 @@
+package com.SwitchBoard.AuthService.Service;
+
+import com.SwitchBoard.AuthService.Util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-memory Bloom filter of accounts whose stateless refresh tokens were revoked. Revocations are shared
+ * through a Redis sorted set (account id scored by revocation time, trimmed after one refresh lifetime) and
+ * each node rebuilds its filter from it periodically. A revocation made on this node is added to a copy of
+ * the local filter at once, without reading the set back. A miss means the token can be trusted without a
+ * database read; a hit only means the account row has to be checked.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevokedAccountFilter {
+
+    static final String REVOKED_KEY = "refresh:revoked-accounts";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private volatile BloomFilter filter;
+    private final Object filterLock = new Object();
+    // Revoked on this node and not yet known to be in a rebuilt filter; guarded by filterLock
+    private final Set<String> localRevocations = new HashSet<>();
+
+    @Value("${refresh-token.stateless.enabled:false}")
+    private boolean enabled;
+
+    @Value("${jwt.refresh-expiration}")
+    private Long refreshTokenExpiration;
+
+    @Value("${refresh-token.stateless.filter.expected-revocations:100000}")
+    private int expectedRevocations;
+
+    @Value("${refresh-token.stateless.filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    public boolean mightBeRevoked(UUID accountId) {
+        BloomFilter current = filter;
+        // Until the first sync completes, every token is checked against the database
+        return current == null || current.mightContain(accountId.toString());
+    }
+
+    public void revoke(UUID accountId, long revokedAtMillis) {
+        redisTemplate.opsForZSet().add(REVOKED_KEY, accountId.toString(), revokedAtMillis);
+        if (!enabled) {
+            return;
+        }
+        // Visible on this node at once; other nodes pick it up on their next sync, which also trims the set
+        synchronized (filterLock) {
+            localRevocations.add(accountId.toString());
+            BloomFilter current = filter;
+            if (current != null) {
+                BloomFilter updated = current.copy();
+                updated.put(accountId.toString());
+                filter = updated;
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${refresh-token.stateless.filter.sync-interval-ms:15000}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // Taken before the read: these are already in the set, so the rebuilt filter contains them
+            Set<String> alreadyStored;
+            synchronized (filterLock) {
+                alreadyStored = new HashSet<>(localRevocations);
+            }
+            // Tokens issued before this cutoff have expired, so their revocations no longer matter
+            long cutoff = System.currentTimeMillis() - refreshTokenExpiration * 1000;
+            redisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, Double.NEGATIVE_INFINITY, cutoff);
+            Set<Object> revoked = redisTemplate.opsForZSet().range(REVOKED_KEY, 0, -1);
+
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked == null ? 0 : revoked.size()),
+                    falsePositiveRate);
+            if (revoked != null) {
+                revoked.forEach(accountId -> rebuilt.put(accountId.toString()));
+            }
+            synchronized (filterLock) {
+                // Revocations made on this node while the set was being read are carried over
+                localRevocations.removeAll(alreadyStored);
+                localRevocations.forEach(rebuilt::put);
+                filter = rebuilt;
+            }
+            log.debug("RevokedAccountFilter : sync : Filter rebuilt with revoked accounts - {}", revoked == null ? 0 : revoked.size());
+        } catch (Exception e) {
+            // Keep the previous filter; a stale filter only delays revocations until the next sync
+            log.error("RevokedAccountFilter : sync : Error syncing revoked accounts - {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.SwitchBoard.AuthService.Service;
+
+import com.SwitchBoard.AuthService.DTO.Authentication.AuthResponse;
+import com.SwitchBoard.AuthService.Exception.ConflictException;
+import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
+import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Model.RefreshToken;
+import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import com.SwitchBoard.AuthService.Util.JwtUtil;
+import com.SwitchBoard.AuthService.Util.RedisLease;
+import com.SwitchBoard.AuthService.Util.SecretCipher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Entry point for /refresh and /logout. Concurrent refreshes of the same token (several tabs, retries) collapse
+ * into one rotation: the first caller takes a short Redis lock and rotates, the rest wait briefly for the
+ * successor pair it caches, and every caller inside the grace window gets that same pair. A caller that
+ * cannot get the pair in time gets a retryable 409. A rotated token presented after the window is treated
+ * as stolen and all of the account's tokens are revoked.
+ *
+ * The grace and rotated markers are read together in one MGET (they share a hash tag, so one cluster slot):
+ * a tab that reads them while the rotation is finishing either sees the pair or neither marker, and is never
+ * mistaken for a replay.
+ *
+ * The cached pair is encrypted under a key derived from the presented token. Redis only holds the token's
+ * lookup hash, so the pair cannot be read back without the token that was rotated.
+ *
+ * Not transactional on purpose: the rotation commits before its result is shared, and waiting callers do
+ * not hold a database connection.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRefreshService {
+
+    private static final String GRACE_PREFIX = "refresh:grace:";
+    private static final String LOCK_PREFIX = "refresh:lock:";
+    private static final String ROTATED_PREFIX = "refresh:rotated:";
+    private static final String PAIR_SEPARATOR = " ";
+    // Domain-separates the pair's encryption key from the lookup hash used in key names
+    private static final String PAIR_KEY_CONTEXT = "refresh-grace-pair:";
+
+    private final RefreshTokenService refreshTokenService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisLease redisLease;
+    private final AccountRepository accountRepository;
+    private final JwtUtil jwtUtil;
+    private final SecretCipher secretCipher;
+
+    @Value("${jwt.expiration}")
+    private Long jwtExpiration;
+
+    @Value("${jwt.refresh-expiration}")
+    private Long refreshTokenExpiration;
+
+    // 0 disables the grace window and single-flight
+    @Value("${refresh-token.grace.seconds:10}")
+    private long graceSeconds;
+
+    // How long a concurrent caller may hold its request thread waiting for the pair before it is told to retry
+    @Value("${refresh-token.grace.wait-ms:300}")
+    private long waitMillis;
+
+    // Lease on the rotation itself, so a slow rotation is not run twice
+    @Value("${refresh-token.grace.lock-ms:5000}")
+    private long lockMillis;
+
+    @Value("${refresh-token.grace.poll-ms:50}")
+    private long pollMillis;
+
+    public AuthResponse refresh(String token) throws Exception {
+        // Sealed tokens go through the window too: each family version rotates once, so a second tab must share the pair
+        if (graceSeconds <= 0 || token == null) {
+            return buildResponse(refreshTokenService.rotateRefreshToken(token));
+        }
+
+        String tokenHash = DigestUtils.sha256Hex(token);
+        byte[] pairKey = DigestUtils.sha256(PAIR_KEY_CONTEXT + token);
+        List<Object> markers = redisTemplate.opsForValue().multiGet(List.of(graceKey(tokenHash), rotatedKey(tokenHash)));
+        Object pair = markers == null ? null : markers.get(0);
+        if (pair != null) {
+            log.info("TokenRefreshService : refresh : Served successor pair from grace window");
+            return decodePair(pair, pairKey);
+        }
+        // Only a rotated marker without a pair is a replay: the rotation writes the pair first
+        if (markers != null && markers.get(1) != null) {
+            revokeReused(tokenHash, markers.get(1));
+        }
+
+        String lockKey = LOCK_PREFIX + tokenHash;
+        long deadline = System.currentTimeMillis() + waitMillis;
+        Optional<String> owner = redisLease.tryAcquire(lockKey, Duration.ofMillis(lockMillis));
+        while (owner.isEmpty()) {
+            boolean timedOut = System.currentTimeMillis() >= deadline;
+            if (!timedOut) {
+                Thread.sleep(pollMillis);
+            }
+            // Checked once more before giving up: the holder may have cached the pair since the last poll
+            Optional<AuthResponse> cached = cachedPair(tokenHash, pairKey);
+            if (cached.isPresent()) {
+                log.info("TokenRefreshService : refresh : Served successor pair after concurrent rotation");
+                return cached.get();
+            }
+            if (timedOut) {
+                log.warn("TokenRefreshService : refresh : Timed out waiting for concurrent rotation");
+                throw new ConflictException("Token refresh already in progress. Please retry.");
+            }
+            // The holder failed without rotating, e.g. the token was invalid; rotate (and fail) ourselves
+            owner = redisLease.tryAcquire(lockKey, Duration.ofMillis(lockMillis));
+        }
+
+        try {
+            // A rotation may have finished between the first read and taking the lock; rotating again would look like a replay
+            Optional<AuthResponse> cached = cachedPair(tokenHash, pairKey);
+            if (cached.isPresent()) {
+                log.info("TokenRefreshService : refresh : Served successor pair after concurrent rotation");
+                return cached.get();
+            }
+            RefreshToken next = refreshTokenService.rotateRefreshToken(token);
+            AuthResponse response = buildResponse(next);
+            redisTemplate.opsForValue().set(graceKey(tokenHash),
+                    secretCipher.encrypt(response.getAccessToken() + PAIR_SEPARATOR + response.getRefreshToken(), pairKey),
+                    Duration.ofSeconds(graceSeconds));
+            redisTemplate.opsForValue().set(rotatedKey(tokenHash), next.getAccount().getId().toString(),
+                    Duration.ofSeconds(refreshTokenExpiration));
+            return response;
+        } finally {
+            redisLease.release(lockKey, owner.get());
+        }
+    }
+
+    public void logout(String token) {
+        if (token != null) {
+            // A pair cached for a concurrent refresh must not outlive the session
+            redisTemplate.delete(graceKey(DigestUtils.sha256Hex(token)));
+        }
+        refreshTokenService.logout(token);
+    }
+
+    // Hash-tagged on the token hash so both markers of one token live in the same cluster slot
+    static String graceKey(String tokenHash) {
+        return GRACE_PREFIX + "{" + tokenHash + "}";
+    }
+
+    static String rotatedKey(String tokenHash) {
+        return ROTATED_PREFIX + "{" + tokenHash + "}";
+    }
+
+    private Optional<AuthResponse> cachedPair(String tokenHash, byte[] pairKey) {
+        Object pair = redisTemplate.opsForValue().get(graceKey(tokenHash));
+        return pair == null ? Optional.empty() : Optional.of(decodePair(pair, pairKey));
+    }
+
+    private AuthResponse decodePair(Object pair, byte[] pairKey) {
+        String[] tokens = secretCipher.decrypt(pair.toString(), pairKey).split(PAIR_SEPARATOR, 2);
+        return AuthResponse.builder()
+                .accessToken(tokens[0])
+                .refreshToken(tokens[1])
+                .expiresIn(jwtExpiration)
+                .build();
+    }
+
+    private void revokeReused(String tokenHash, Object accountId) {
+        log.warn("TokenRefreshService : revokeReused : Rotated refresh token reused after grace window, revoking account - {}", accountId);
+        accountRepository.findById(UUID.fromString(accountId.toString()))
+                .ifPresent(refreshTokenService::revokeAllTokensByAccount);
+        redisTemplate.delete(rotatedKey(tokenHash));
+        throw new UnauthorizedException("Refresh token expired or invalid");
+    }
+
+    private AuthResponse buildResponse(RefreshToken refreshToken) throws Exception {
+        Account account = refreshToken.getAccount();
+        String accessToken = jwtUtil.generateToken(
+                account.getEmail(),
+                account.getName(),
+                account.getId(),
+                account.getUserRole()
+        );
+
+        return AuthResponse.builder()
+                .accessToken(accessToken)
+                .refreshToken(refreshToken.getToken())
+                .expiresIn(jwtExpiration)
+                .build();
+    }
+}
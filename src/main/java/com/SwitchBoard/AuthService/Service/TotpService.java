@@ -0,0 +1,188 @@
+package com.SwitchBoard.AuthService.Service;
+
+import com.SwitchBoard.AuthService.DTO.Authentication.ApiResponse;
+import com.SwitchBoard.AuthService.DTO.Authentication.AuthResponse;
+import com.SwitchBoard.AuthService.DTO.Totp.TotpEnrollResponse;
+import com.SwitchBoard.AuthService.Exception.BadRequestException;
+import com.SwitchBoard.AuthService.Exception.ResourceNotFoundException;
+import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
+import com.SwitchBoard.AuthService.Exception.UnexpectedException;
+import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Model.RefreshToken;
+import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import com.SwitchBoard.AuthService.Util.EmailNormalizer;
+import com.SwitchBoard.AuthService.Util.JwtUtil;
+import com.SwitchBoard.AuthService.Util.SecretCipher;
+import com.SwitchBoard.AuthService.Util.TotpUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Authenticator-app (TOTP) login. Verification is a local HMAC check plus one conditional UPDATE
+ * for replay protection, so it needs no notification publish per login. Redis only holds a per-account
+ * attempt counter: every attempt is counted before its code is checked, a valid code clears it, and once
+ * it passes the limit codes are rejected until the lockout expires.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TotpService {
+
+    private static final RedisScript<Long> ATTEMPT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/totp-attempt.lua"), Long.class);
+
+    private final AccountRepository accountRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final OtpService otpService;
+    private final SecretCipher secretCipher;
+    private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+
+    @Value("${jwt.expiration}")
+    private Long jwtExpiration;
+
+    @Value("${totp.issuer:SwitchBoard}")
+    private String issuer;
+
+    @Value("${totp.period.seconds:30}")
+    private int periodSeconds;
+
+    @Value("${totp.window:1}")
+    private int window;
+
+    @Value("${totp.prefix:totp:}")
+    private String TOTP_PREFIX;
+
+    @Value("${totp.max.attempts:5}")
+    private int MAX_ATTEMPTS;
+
+    @Value("${totp.lockout.minutes:15}")
+    private int LOCKOUT_MINUTES;
+
+    @Transactional
+    public TotpEnrollResponse enroll(String email, String otp, String challenge) {
+        log.info("TotpService : enroll : Starting TOTP enrollment for email - {}", email);
+
+        // The emailed OTP proves mailbox ownership before a new second factor is bound
+        otpService.verifyOtpCode(email, otp, challenge);
+        Account account = findAccount(email);
+
+        String secret = TotpUtils.generateSecret();
+        account.setTotpSecret(secretCipher.encrypt(secret));
+        account.setTotpEnabled(false);
+        account.setTotpLastStep(null);
+        accountRepository.save(account);
+
+        log.info("TotpService : enroll : TOTP secret issued, awaiting activation for email - {}", email);
+        return TotpEnrollResponse.builder()
+                .secret(secret)
+                .otpauthUri(buildOtpAuthUri(account.getEmail(), secret))
+                .build();
+    }
+
+    @Transactional
+    public ApiResponse activate(String email, String code) {
+        log.info("TotpService : activate : Activating TOTP for email - {}", email);
+        Account account = findAccount(email);
+
+        if (account.getTotpSecret() == null) {
+            log.warn("TotpService : activate : No pending TOTP enrollment for email - {}", email);
+            throw new BadRequestException("TOTP enrollment has not been started for this account.");
+        }
+
+        long step = verifyAndConsume(account, code);
+        account.setTotpLastStep(step);
+        account.setTotpEnabled(true);
+        accountRepository.save(account);
+
+        log.info("TotpService : activate : TOTP activated for email - {}", email);
+        return ApiResponse.success("TOTP login enabled for " + account.getEmail(), true);
+    }
+
+    @Transactional
+    public AuthResponse login(String email, String code) throws Exception {
+        log.info("TotpService : login : Validating TOTP for email - {}", email);
+        Account account = findAccount(email);
+
+        if (!account.isTotpEnabled() || account.getTotpSecret() == null) {
+            log.warn("TotpService : login : TOTP not enabled for email - {}", email);
+            throw new UnauthorizedException("TOTP login is not enabled for this account.");
+        }
+
+        verifyAndConsume(account, code);
+
+        log.debug("TotpService : login : Generating JWT token");
+        String jwtString = jwtUtil.generateToken(account.getEmail(), account.getName(), account.getId(), account.getUserRole());
+
+        log.debug("TotpService : login : Creating refresh token");
+        RefreshToken refreshToken = refreshTokenService.createRefreshToken(account);
+
+        log.info("TotpService : login : Tokens generated successfully for email - {}", email);
+        return AuthResponse.builder()
+                .accessToken(jwtString)
+                .refreshToken(refreshToken.getToken())
+                .expiresIn(jwtExpiration)
+                .build();
+    }
+
+    private long verifyAndConsume(Account account, String code) {
+        String failuresKey = failuresKey(account);
+        // Counted and given its TTL in one step before the code is checked, so concurrent guesses cannot all
+        // pass the limit check ahead of the first increment
+        Long attempts = redisTemplate.execute(ATTEMPT_SCRIPT, List.of(failuresKey), String.valueOf(LOCKOUT_MINUTES * 60L));
+        if (attempts == null) {
+            log.error("TotpService : verifyAndConsume : No result from TOTP attempt script");
+            throw new UnexpectedException("Unable to verify TOTP code. Please try again.");
+        }
+        if (attempts > MAX_ATTEMPTS) {
+            log.warn("TotpService : verifyAndConsume : Account locked after too many failed TOTP attempts - {}", account.getId());
+            throw new UnauthorizedException("Too many failed attempts. Please try again later.");
+        }
+
+        String secret = secretCipher.decrypt(account.getTotpSecret());
+        long currentStep = TotpUtils.timeStep(Instant.now().getEpochSecond(), periodSeconds);
+
+        long step = TotpUtils.verifyCode(secret, code, currentStep, window);
+        if (step < 0) {
+            log.warn("TotpService : verifyAndConsume : Invalid TOTP code for account - {}", account.getId());
+            throw new UnauthorizedException("Invalid TOTP code. Please try again.");
+        }
+
+        if (accountRepository.markTotpStepUsed(account.getId(), step) == 0) {
+            log.warn("TotpService : verifyAndConsume : Replayed TOTP code for account - {}", account.getId());
+            throw new UnauthorizedException("TOTP code already used. Please wait for the next code.");
+        }
+        redisTemplate.delete(failuresKey);
+        return step;
+    }
+
+    private String failuresKey(Account account) {
+        return TOTP_PREFIX + "failures:" + account.getId();
+    }
+
+    private Account findAccount(String email) {
+        return accountRepository.findByEmail(EmailNormalizer.normalize(email)).orElseThrow(() -> {
+            log.warn("TotpService : findAccount : User with email {} not found", email);
+            return new ResourceNotFoundException("User with email " + email + " not found.");
+        });
+    }
+
+    private String buildOtpAuthUri(String email, String secret) {
+        String label = URLEncoder.encode(issuer + ":" + email, StandardCharsets.UTF_8);
+        return "otpauth://totp/" + label
+                + "?secret=" + secret
+                + "&issuer=" + URLEncoder.encode(issuer, StandardCharsets.UTF_8)
+                + "&algorithm=SHA1&digits=6&period=" + periodSeconds;
+    }
+}
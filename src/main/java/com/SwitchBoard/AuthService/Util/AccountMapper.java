@@ -0,0 +1,42 @@
+package com.SwitchBoard.AuthService.Util;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
+import com.SwitchBoard.AuthService.Model.Account;
+
+/**
+ * Single definition of how an account is exposed. Reads that only need the DTO select it directly with
+ * {@link #RESPONSE_PROJECTION}, which skips entity hydration and dirty-check snapshots; callers that
+ * already hold an entity (e.g. Google login) use {@link #toResponseDto(Account)}.
+ */
+public final class AccountMapper {
+
+    // JPQL constructor expression; argument order follows AccountResponseDto's all-args constructor
+    public static final String RESPONSE_PROJECTION = "new com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto("
+            + "a.id, a.name, a.email, a.mobile, a.linkedinUrl, a.githubUrl, a.leetcodeUrl, a.cvPath, "
+            + "a.deadline, a.aimRole, a.currentRole, a.totalRewardPoints, a.taskAssignedCount, "
+            + "a.taskCompletedCount, a.userRole, a.version)";
+
+    private AccountMapper() {
+    }
+
+    public static AccountResponseDto toResponseDto(Account account) {
+        return AccountResponseDto.builder()
+                .id(account.getId())
+                .name(account.getName())
+                .email(account.getEmail())
+                .mobile(account.getMobile())
+                .linkedinUrl(account.getLinkedinUrl())
+                .githubUrl(account.getGithubUrl())
+                .leetcodeUrl(account.getLeetcodeUrl())
+                .cvPath(account.getCvPath())
+                .deadline(account.getDeadline())
+                .aimRole(account.getAimRole())
+                .currentRole(account.getCurrentRole())
+                .totalRewardPoints(account.getTotalRewardPoints())
+                .taskAssignedCount(account.getTaskAssignedCount())
+                .taskCompletedCount(account.getTaskCompletedCount())
+                .userRole(account.getUserRole())
+                .version(account.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.SwitchBoard.AuthService.Util;
+
+import org.apache.commons.codec.digest.MurmurHash3;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+
+/**
+ * Minimal Bloom filter over strings. {@link #mightContain} never returns false for an added value and returns
+ * true for an absent one with roughly the configured false-positive rate. Instances are not thread-safe for
+ * concurrent {@link #put}; callers publish a fully built filter and replace it rather than share writes.
+ */
+public class BloomFilter {
+
+    private final BitSet bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        this.bitCount = (int) Math.max(64, Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new BitSet(bitCount);
+    }
+
+    private BloomFilter(BitSet bits, int bitCount, int hashCount) {
+        this.bits = bits;
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    // Independent copy with the same sizing, for adding a value without touching a published filter
+    public BloomFilter copy() {
+        return new BloomFilter((BitSet) bits.clone(), bitCount, hashCount);
+    }
+
+    public void put(String value) {
+        long[] hash = hash(value);
+        for (int i = 0; i < hashCount; i++) {
+            bits.set(index(hash, i));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long[] hash = hash(value);
+        for (int i = 0; i < hashCount; i++) {
+            if (!bits.get(index(hash, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Kirsch-Mitzenmacher double hashing: the i-th index is h1 + i * h2
+    private int index(long[] hash, int i) {
+        return (int) Math.floorMod(hash[0] + i * hash[1], (long) bitCount);
+    }
+
+    private static long[] hash(String value) {
+        return MurmurHash3.hash128x64(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
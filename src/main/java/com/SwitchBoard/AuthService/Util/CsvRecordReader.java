@@ -0,0 +1,91 @@
+package com.SwitchBoard.AuthService.Util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, fields optionally double-quoted, "" escapes a quote inside a
+ * quoted field, and quoted fields may span lines. Reads one record at a time so large uploads are never
+ * held in memory.
+ */
+public class CsvRecordReader {
+
+    /**
+     * A record that cannot be parsed. The reader has already consumed it, so the caller may report it and
+     * keep reading; an unterminated quote runs to end of input, so the next call returns null.
+     */
+    public static class MalformedRecordException extends IOException {
+        public MalformedRecordException(String message) {
+            super(message);
+        }
+    }
+
+    private final Reader reader;
+    private int pushedBack = -2;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Returns the next record's fields, or null at end of input
+    public List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedRecordException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,25 @@
+package com.SwitchBoard.AuthService.Util;
+
+import java.util.Locale;
+
+/**
+ * The one definition of an account's email key: trimmed and lower-cased with a locale-independent rule.
+ * Every entry point that stores or looks up an email runs it through here, and the account table enforces
+ * the same form with a unique index on lower(email), so "Ann@x.com" and "ann@x.com" are one account.
+ * Provider-specific rewrites (dots, plus tags) are deliberately not applied; they are separate mailboxes
+ * on most domains.
+ */
+public final class EmailNormalizer {
+
+    private EmailNormalizer() {
+    }
+
+    // Returns null for null or blank input so callers can reject missing emails in one place
+    public static String normalize(String email) {
+        if (email == null) {
+            return null;
+        }
+        String trimmed = email.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,6 +1,7 @@
 package com.SwitchBoard.AuthService.Util;
 
 import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import lombok.extern.slf4j.Slf4j;
@@ -13,10 +14,12 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.KeyFactory;
 import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
-import java.util.List;
 import java.util.UUID;
 
 @Component
@@ -26,6 +29,9 @@ public class JwtUtil {
     @Value("${jwt.private-key}")
     private String privateKeyPath;
 
+    @Value("${jwt.public-key}")
+    private String publicKeyPath;
+
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
@@ -43,9 +49,32 @@ public class JwtUtil {
         }
     }
 
+    private PublicKey getPublicKey() throws Exception {
+        log.debug("JwtUtil : getPublicKey : Decoding public key from Base64 ENV");
+
+        try {
+            byte[] decoded = Base64.getDecoder().decode(publicKeyPath);
+            X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decoded);
+            return KeyFactory.getInstance("RSA").generatePublic(keySpec);
+
+        } catch (Exception e) {
+            log.error("JwtUtil : getPublicKey : Error decoding public key - {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /** Verify the signature and expiry of a token issued by this service and return its claims */
+    public Claims parseToken(String token) throws Exception {
+        log.debug("JwtUtil : parseToken : Verifying JWT token");
+        return Jwts.parserBuilder()
+                .setSigningKey(getPublicKey())
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
 
     /** Generate JWT with userId, username, role */
-    public String generateToken(String email, String username, UUID userId, List<USER_ROLE> role) throws Exception {
+    public String generateToken(String email, String username, UUID userId, Collection<USER_ROLE> role) throws Exception {
         log.info("JwtUtil : generateToken : Generating JWT token for user - {}", email);
         try {
             Date now = new Date();
@@ -0,0 +1,107 @@
+package com.SwitchBoard.AuthService.Util;
+
+import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
+import com.SwitchBoard.AuthService.Exception.UnexpectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.HmacAlgorithms;
+import org.apache.commons.codec.digest.HmacUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Seals pending-login state into a client-held challenge token so Redis does not have to keep it.
+ * Token layout: base64url(email) . expiresAt . challengeId . otpDigest . mac, where otpDigest is a keyed
+ * HMAC of the OTP (not brute-forceable offline) and mac covers everything before it.
+ */
+@Component
+@Slf4j
+public class OtpChallengeCodec {
+
+    private static final SecureRandom random = new SecureRandom();
+    private static final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder decoder = Base64.getUrlDecoder();
+    private static final int CHALLENGE_ID_BYTES = 12;
+
+    @Value("${otp.challenge.secret:}")
+    private String challengeSecret;
+
+    public record OtpChallenge(String email, long expiresAt, String challengeId, String otpDigest) {
+    }
+
+    public String seal(String email, String otp, long expiresAt) {
+        return seal(email, otp, expiresAt, newChallengeId());
+    }
+
+    // Callers that track the current challenge per email pick the id first, so they can record it before sealing
+    public String seal(String email, String otp, long expiresAt, String challengeId) {
+        log.debug("OtpChallengeCodec : seal : Sealing OTP challenge");
+        String body = encoder.encodeToString(email.getBytes(StandardCharsets.UTF_8))
+                + "." + expiresAt
+                + "." + challengeId
+                + "." + otpDigest(challengeId, otp);
+        return body + "." + mac(body);
+    }
+
+    public String newChallengeId() {
+        byte[] id = new byte[CHALLENGE_ID_BYTES];
+        random.nextBytes(id);
+        return encoder.encodeToString(id);
+    }
+
+    public OtpChallenge open(String token) {
+        int macStart = token == null ? -1 : token.lastIndexOf('.');
+        if (macStart < 0) {
+            throw new UnauthorizedException("Invalid OTP challenge.");
+        }
+        String body = token.substring(0, macStart);
+        byte[] presentedMac = token.substring(macStart + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(mac(body).getBytes(StandardCharsets.US_ASCII), presentedMac)) {
+            log.warn("OtpChallengeCodec : open : Challenge MAC mismatch");
+            throw new UnauthorizedException("Invalid OTP challenge.");
+        }
+
+        String[] parts = body.split("\\.");
+        if (parts.length != 4) {
+            throw new UnauthorizedException("Invalid OTP challenge.");
+        }
+        try {
+            return new OtpChallenge(
+                    new String(decoder.decode(parts[0]), StandardCharsets.UTF_8),
+                    Long.parseLong(parts[1]),
+                    parts[2],
+                    parts[3]);
+        } catch (IllegalArgumentException e) {
+            throw new UnauthorizedException("Invalid OTP challenge.");
+        }
+    }
+
+    public boolean matches(OtpChallenge challenge, String otp) {
+        if (otp == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                otpDigest(challenge.challengeId(), otp).getBytes(StandardCharsets.US_ASCII),
+                challenge.otpDigest().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String otpDigest(String challengeId, String otp) {
+        return encoder.encodeToString(hmac().hmac("otp:" + challengeId + ":" + otp));
+    }
+
+    private String mac(String body) {
+        return encoder.encodeToString(hmac().hmac("challenge:" + body));
+    }
+
+    private HmacUtils hmac() {
+        if (challengeSecret == null || challengeSecret.isBlank()) {
+            log.error("OtpChallengeCodec : hmac : otp.challenge.secret is not configured");
+            throw new UnexpectedException("OTP challenge secret is not configured");
+        }
+        return new HmacUtils(HmacAlgorithms.HMAC_SHA_256, Base64.getDecoder().decode(challengeSecret));
+    }
+}
@@ -0,0 +1,45 @@
+package com.SwitchBoard.AuthService.Util;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cluster-wide mutual exclusion for background jobs: a Redis key set with NX and a TTL, released only by
+ * the node that acquired it. The TTL bounds how long a crashed node can block the others.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisLease {
+
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/lease-release.lua"), Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * Returns the owner token to pass to {@link #release}, or empty when another node holds the lease.
+     */
+    public Optional<String> tryAcquire(String key, Duration ttl) {
+        String owner = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, owner, ttl);
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.debug("RedisLease : tryAcquire : Lease {} held by another node", key);
+            return Optional.empty();
+        }
+        return Optional.of(owner);
+    }
+
+    public void release(String key, String owner) {
+        redisTemplate.execute(RELEASE_SCRIPT, Collections.singletonList(key), owner);
+    }
+}
@@ -0,0 +1,116 @@
+package com.SwitchBoard.AuthService.Util;
+
+import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
+import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
+import com.SwitchBoard.AuthService.Exception.UnexpectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.HmacAlgorithms;
+import org.apache.commons.codec.digest.HmacUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seals self-contained refresh tokens so a refresh needs no database read. Token layout:
+ * v1 . accountId . familyId . version . issuedAt . expiresAt . base64url(email) . base64url(name) . roles . mac,
+ * where the timestamps are epoch millis and mac is an HMAC-SHA256 over everything before it. The payload is
+ * signed, not encrypted; it carries nothing the access token does not already expose.
+ */
+@Component
+@Slf4j
+public class RefreshTokenCodec {
+
+    public static final String PREFIX = "v1.";
+    private static final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder decoder = Base64.getUrlDecoder();
+    private static final int FIELD_COUNT = 8;
+
+    @Value("${refresh-token.stateless.secret:}")
+    private String tokenSecret;
+
+    public record StatelessRefreshToken(UUID accountId, UUID familyId, int version, long issuedAt, long expiresAt,
+                                        String email, String name, EnumSet<USER_ROLE> roles) {
+    }
+
+    public static boolean isStateless(String token) {
+        return token != null && token.startsWith(PREFIX);
+    }
+
+    public String seal(StatelessRefreshToken token) {
+        List<String> roles = new ArrayList<>();
+        if (token.roles() != null) {
+            token.roles().forEach(role -> roles.add(role.name()));
+        }
+
+        String body = PREFIX + token.accountId()
+                + "." + token.familyId()
+                + "." + token.version()
+                + "." + token.issuedAt()
+                + "." + token.expiresAt()
+                + "." + encode(token.email())
+                + "." + encode(token.name())
+                + "." + String.join(",", roles);
+        return body + "." + mac(body);
+    }
+
+    public StatelessRefreshToken open(String token) {
+        int macStart = isStateless(token) ? token.lastIndexOf('.') : -1;
+        if (macStart < PREFIX.length()) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+        String body = token.substring(0, macStart);
+        byte[] presentedMac = token.substring(macStart + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(mac(body).getBytes(StandardCharsets.US_ASCII), presentedMac)) {
+            log.warn("RefreshTokenCodec : open : Refresh token MAC mismatch");
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        String[] parts = body.substring(PREFIX.length()).split("\\.", -1);
+        if (parts.length != FIELD_COUNT) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+        try {
+            EnumSet<USER_ROLE> roles = EnumSet.noneOf(USER_ROLE.class);
+            for (String role : parts[7].split(",")) {
+                if (!role.isEmpty()) {
+                    roles.add(USER_ROLE.valueOf(role));
+                }
+            }
+            return new StatelessRefreshToken(
+                    UUID.fromString(parts[0]),
+                    UUID.fromString(parts[1]),
+                    Integer.parseInt(parts[2]),
+                    Long.parseLong(parts[3]),
+                    Long.parseLong(parts[4]),
+                    decode(parts[5]),
+                    decode(parts[6]),
+                    roles);
+        } catch (IllegalArgumentException e) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+    }
+
+    private static String encode(String value) {
+        return value == null ? "" : encoder.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return value.isEmpty() ? null : new String(decoder.decode(value), StandardCharsets.UTF_8);
+    }
+
+    private String mac(String body) {
+        if (tokenSecret == null || tokenSecret.isBlank()) {
+            log.error("RefreshTokenCodec : mac : refresh-token.stateless.secret is not configured");
+            throw new UnexpectedException("Refresh token secret is not configured");
+        }
+        HmacUtils hmac = new HmacUtils(HmacAlgorithms.HMAC_SHA_256, Base64.getDecoder().decode(tokenSecret));
+        return encoder.encodeToString(hmac.hmac("refresh:" + body));
+    }
+}
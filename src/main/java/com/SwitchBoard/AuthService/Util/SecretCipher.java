@@ -0,0 +1,96 @@
+package com.SwitchBoard.AuthService.Util;
+
+import com.SwitchBoard.AuthService.Exception.UnexpectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * AES-GCM encryption for secrets stored at rest (e.g. TOTP seeds). Output is Base64 of IV || ciphertext.
+ * Values that only their presenter may read (e.g. the refresh grace pair) are encrypted under a key the
+ * caller derives from what was presented.
+ */
+@Component
+@Slf4j
+public class SecretCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom random = new SecureRandom();
+
+    @Value("${totp.encryption-key:}")
+    private String encryptionKey;
+
+    public String encrypt(String plaintext) {
+        return encrypt(plaintext, secretKey());
+    }
+
+    public String encrypt(String plaintext, byte[] key) {
+        return encrypt(plaintext, new SecretKeySpec(key, "AES"));
+    }
+
+    public String decrypt(String ciphertext) {
+        return decrypt(ciphertext, secretKey());
+    }
+
+    public String decrypt(String ciphertext, byte[] key) {
+        return decrypt(ciphertext, new SecretKeySpec(key, "AES"));
+    }
+
+    private String encrypt(String plaintext, SecretKeySpec key) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length)
+                    .put(iv)
+                    .put(encrypted)
+                    .array());
+        } catch (UnexpectedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("SecretCipher : encrypt : Error encrypting secret - {}", e.getMessage());
+            throw new UnexpectedException("Unable to encrypt secret");
+        }
+    }
+
+    private String decrypt(String ciphertext, SecretKeySpec key) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(ciphertext));
+            byte[] iv = new byte[IV_BYTES];
+            buffer.get(iv);
+            byte[] encrypted = new byte[buffer.remaining()];
+            buffer.get(encrypted);
+
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            return new String(cipher.doFinal(encrypted), StandardCharsets.UTF_8);
+        } catch (UnexpectedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("SecretCipher : decrypt : Error decrypting secret - {}", e.getMessage());
+            throw new UnexpectedException("Unable to decrypt secret");
+        }
+    }
+
+    private SecretKeySpec secretKey() {
+        if (encryptionKey == null || encryptionKey.isBlank()) {
+            log.error("SecretCipher : secretKey : totp.encryption-key is not configured");
+            throw new UnexpectedException("Secret encryption key is not configured");
+        }
+        return new SecretKeySpec(Base64.getDecoder().decode(encryptionKey), "AES");
+    }
+}
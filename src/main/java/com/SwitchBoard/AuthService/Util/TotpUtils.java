@@ -0,0 +1,73 @@
+package com.SwitchBoard.AuthService.Util;
+
+import org.apache.commons.codec.binary.Base32;
+import org.apache.commons.codec.digest.HmacAlgorithms;
+import org.apache.commons.codec.digest.HmacUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+/**
+ * RFC 6238 time-based one-time passwords (HMAC-SHA1, 6 digits), compatible with common authenticator apps.
+ */
+public class TotpUtils {
+
+    private static final Logger log = LoggerFactory.getLogger(TotpUtils.class);
+    private static final SecureRandom random = new SecureRandom();
+    private static final Base32 base32 = new Base32();
+
+    private static final int SECRET_BYTES = 20;
+    private static final int DIGITS = 6;
+    private static final int MODULUS = 1_000_000;
+
+    // Generate a 160-bit shared secret, Base32 encoded without padding
+    public static String generateSecret() {
+        log.debug("TotpUtils : generateSecret : Generating TOTP shared secret");
+        byte[] bytes = new byte[SECRET_BYTES];
+        random.nextBytes(bytes);
+        return base32.encodeToString(bytes).replace("=", "");
+    }
+
+    public static long timeStep(long epochSeconds, int periodSeconds) {
+        return epochSeconds / periodSeconds;
+    }
+
+    // Compute the code for a single time step
+    public static String generateCode(String base32Secret, long step) {
+        byte[] key = base32.decode(base32Secret.toUpperCase());
+        byte[] counter = ByteBuffer.allocate(Long.BYTES).putLong(step).array();
+        byte[] hash = new HmacUtils(HmacAlgorithms.HMAC_SHA_1, key).hmac(counter);
+
+        int offset = hash[hash.length - 1] & 0x0f;
+        int binary = ((hash[offset] & 0x7f) << 24)
+                | ((hash[offset + 1] & 0xff) << 16)
+                | ((hash[offset + 2] & 0xff) << 8)
+                | (hash[offset + 3] & 0xff);
+
+        return String.format("%0" + DIGITS + "d", binary % MODULUS);
+    }
+
+    /**
+     * Checks the code against the current step and {@code window} steps either side.
+     *
+     * @return the matching time step, or -1 when the code does not match
+     */
+    public static long verifyCode(String base32Secret, String code, long currentStep, int window) {
+        if (code == null || !code.matches("\\d{" + DIGITS + "}")) {
+            log.debug("TotpUtils : verifyCode : Code is not a {}-digit number", DIGITS);
+            return -1;
+        }
+        byte[] presented = code.getBytes(StandardCharsets.US_ASCII);
+        for (long step = currentStep - window; step <= currentStep + window; step++) {
+            byte[] expected = generateCode(base32Secret, step).getBytes(StandardCharsets.US_ASCII);
+            if (MessageDigest.isEqual(expected, presented)) {
+                return step;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,6 @@
+-- Authenticator-app (TOTP) login state. totp_secret holds the AES-GCM encrypted seed; totp_last_step is
+-- the last accepted time step, advanced by a conditional UPDATE so a code cannot be replayed.
+
+ALTER TABLE account ADD COLUMN IF NOT EXISTS totp_secret varchar(512);
+ALTER TABLE account ADD COLUMN IF NOT EXISTS totp_enabled boolean NOT NULL DEFAULT false;
+ALTER TABLE account ADD COLUMN IF NOT EXISTS totp_last_step bigint;
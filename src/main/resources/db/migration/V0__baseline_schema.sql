@@ -0,0 +1,36 @@
+-- Schema as Hibernate created it before migrations were managed by Flyway. Existing databases are
+-- baselined at version 0 (spring.flyway.baseline-on-migrate), so this only runs on an empty database.
+
+CREATE TABLE IF NOT EXISTS account (
+    id                   uuid         NOT NULL PRIMARY KEY,
+    name                 varchar(255),
+    email                varchar(255) NOT NULL,
+    mobile               varchar(255),
+    linkedin_url         varchar(255),
+    github_url           varchar(255),
+    leetcode_url         varchar(255),
+    cv_path              varchar(255),
+    deadline             timestamp(6),
+    aim_role             varchar(255),
+    current_role_name    varchar(255),
+    total_reward_points  integer      NOT NULL,
+    task_assigned_count  integer      NOT NULL,
+    task_completed_count integer      NOT NULL,
+    google_id            varchar(255),
+    profile_image_url    varchar(255),
+    google_account       boolean      NOT NULL,
+    user_role            varchar(255)[],
+    created_at           timestamp(6),
+    updated_at           timestamp(6)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_account_email ON account (email);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          uuid         NOT NULL PRIMARY KEY,
+    token       varchar(512) NOT NULL UNIQUE,
+    expiry_date timestamp(6) NOT NULL,
+    account_id  uuid         NOT NULL REFERENCES account (id),
+    created_at  timestamp(6) NOT NULL,
+    is_revoked  boolean      NOT NULL
+);
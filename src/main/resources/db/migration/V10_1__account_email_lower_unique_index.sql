@@ -0,0 +1,5 @@
+-- Unique on the normalized key, so even a writer that bypasses EmailNormalizer cannot create a case
+-- duplicate. text_pattern_ops serves both the equality finders and the search's prefix LIKE, so the
+-- V8_1 prefix index on the same expression is dropped in V10_2.
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_account_email_lower ON account (lower(email) text_pattern_ops);
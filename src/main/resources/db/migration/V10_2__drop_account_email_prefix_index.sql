@@ -0,0 +1,3 @@
+-- Superseded by idx_account_email_lower (V10_1).
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_account_email_prefix;
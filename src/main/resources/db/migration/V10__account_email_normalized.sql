@@ -0,0 +1,6 @@
+-- Email is the login key, so it is stored in one canonical form: trimmed and lower-cased (EmailNormalizer).
+-- Rows written before every entry point normalized (e.g. Google sign-ups) are rewritten here. If two
+-- accounts differ only by case the UPDATE fails on idx_account_email; merge them first. To find them:
+--   SELECT lower(trim(email)), array_agg(id) FROM account GROUP BY 1 HAVING count(*) > 1;
+
+UPDATE account SET email = lower(trim(email)) WHERE email <> lower(trim(email));
@@ -0,0 +1,14 @@
+-- Append-only log of account writes, read by downstream services as a "changes since seq N" feed.
+-- Rows are appended in the writing transaction under an advisory lock (see AccountChangeRepository), so
+-- seq order is commit order and a reader never sees seq N+1 before seq N has committed.
+-- Rows older than account.changes.retention-hours are purged, except the newest one.
+
+CREATE TABLE IF NOT EXISTS account_change (
+    seq         bigint       GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    account_id  uuid         NOT NULL,
+    change_type varchar(16)  NOT NULL,
+    changed_at  timestamp(6) NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_account_change_changed_at
+    ON account_change (changed_at);
@@ -0,0 +1,20 @@
+-- Replaces the plaintext refresh_tokens.token column with a short indexed selector and a
+-- SHA-256 verifier hash (bytea).
+--
+-- Legacy tokens have the form "<uuid>-<uuid>": the first UUID becomes the selector and the
+-- second UUID the verifier, so sessions issued before the migration keep working.
+
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS selector varchar(36);
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS verifier_hash bytea;
+
+UPDATE refresh_tokens
+SET selector      = left(token, 36),
+    verifier_hash = sha256(convert_to(substr(token, 38), 'UTF8'))
+WHERE selector IS NULL;
+
+ALTER TABLE refresh_tokens ALTER COLUMN selector SET NOT NULL;
+ALTER TABLE refresh_tokens ALTER COLUMN verifier_hash SET NOT NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_refresh_tokens_selector ON refresh_tokens (selector);
+
+ALTER TABLE refresh_tokens DROP COLUMN token;
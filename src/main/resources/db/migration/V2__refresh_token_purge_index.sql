@@ -0,0 +1,5 @@
+-- Supports the scheduled purge of expired refresh tokens, which scans by expiry_date in small batches.
+-- CONCURRENTLY avoids blocking logins while the index builds. A migration made only of CONCURRENTLY
+-- statements is run by Flyway outside a transaction, so each one gets its own file.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_expiry_date ON refresh_tokens (expiry_date);
@@ -0,0 +1,7 @@
+-- Partial index for revoking an account's live refresh tokens on login and rotation. Revoked rows are
+-- excluded, so the index stays small no matter how much token history an account has.
+-- Runs before the optional partitioning script (db/optional), which builds the same index on the new table.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_tokens_account_live
+    ON refresh_tokens (account_id)
+    WHERE is_revoked = false;
@@ -0,0 +1,4 @@
+-- Revocation cut-off for stateless refresh tokens (refresh-token.stateless.enabled=true).
+-- Only read when the in-memory revocation filter reports the account.
+
+ALTER TABLE account ADD COLUMN IF NOT EXISTS refresh_revoked_at timestamp(6);
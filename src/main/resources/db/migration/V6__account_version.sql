@@ -0,0 +1,4 @@
+-- Optimistic lock counter for account writes. Existing rows start at 0; entity saves and
+-- the PATCH statement both bump it, and a PATCH carrying a stale version matches no row.
+
+ALTER TABLE account ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
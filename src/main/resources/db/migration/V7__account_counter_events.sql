@@ -0,0 +1,12 @@
+-- Event ids already applied to account counters (rewards, task counts). A redelivered event
+-- conflicts on the primary key and is skipped, so counter increments are applied at most once.
+-- Rows older than account.counters.event-retention-hours are purged.
+
+CREATE TABLE IF NOT EXISTS account_counter_event (
+    event_id     varchar(64)  PRIMARY KEY,
+    account_id   uuid         NOT NULL,
+    processed_at timestamp(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_account_counter_event_processed_at
+    ON account_counter_event (processed_at);
@@ -0,0 +1,3 @@
+-- "Starts with" search on email. See V8 for the search index layout.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_account_email_prefix ON account (lower(email) text_pattern_ops);
@@ -0,0 +1,3 @@
+-- "Starts with" search on name. See V8 for the search index layout.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_account_name_prefix ON account (lower(name) text_pattern_ops);
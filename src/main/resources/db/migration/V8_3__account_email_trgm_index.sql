@@ -0,0 +1,3 @@
+-- "Contains" search and similarity ranking on email. See V8 for the search index layout.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_account_email_trgm ON account USING gin (lower(email) gin_trgm_ops);
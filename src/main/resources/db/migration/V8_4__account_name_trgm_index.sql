@@ -0,0 +1,3 @@
+-- "Contains" search and similarity ranking on name. See V8 for the search index layout.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_account_name_trgm ON account USING gin (lower(name) gin_trgm_ops);
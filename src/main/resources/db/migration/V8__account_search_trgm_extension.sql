@@ -0,0 +1,6 @@
+-- Indexes for the admin account search. text_pattern_ops btrees answer "starts with" lookups (including
+-- one- and two-character prefixes, which trigrams cannot narrow); the trigram GIN indexes answer
+-- "contains" lookups and let similarity() rank the matches. All are on lower(...) to match the queries.
+-- The indexes are built CONCURRENTLY, one per migration (V8_1 to V8_4), so account writes keep flowing.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,35 @@
+-- Roles move from the user_role varchar array to an integer bitmask. Bits follow USER_ROLE:
+-- ADMIN = 1, USER = 2, SUPER_ADMIN = 4. A row with no roles array gets 0 (no roles).
+-- Expand step only: user_role stays, and this build writes both columns. Older nodes still read and write
+-- user_role alone, so the trigger below recomputes role_mask whenever they do. The column and trigger are
+-- dropped by db/optional/account_drop_user_role.sql in a later release.
+
+ALTER TABLE account ADD COLUMN IF NOT EXISTS role_mask integer NOT NULL DEFAULT 2;
+
+CREATE OR REPLACE FUNCTION account_role_mask_of(roles varchar[]) RETURNS integer
+    LANGUAGE sql IMMUTABLE AS $$
+    SELECT CASE
+        WHEN roles IS NULL THEN 0
+        ELSE (CASE WHEN 'ADMIN' = ANY (roles) THEN 1 ELSE 0 END)
+           | (CASE WHEN 'USER' = ANY (roles) THEN 2 ELSE 0 END)
+           | (CASE WHEN 'SUPER_ADMIN' = ANY (roles) THEN 4 ELSE 0 END)
+    END
+$$;
+
+UPDATE account SET role_mask = account_role_mask_of(user_role);
+
+-- A write that changes user_role but not role_mask came from an older node; this build changes both together
+CREATE OR REPLACE FUNCTION account_sync_role_mask() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' OR NEW.role_mask IS NOT DISTINCT FROM OLD.role_mask THEN
+        NEW.role_mask := account_role_mask_of(NEW.user_role);
+    END IF;
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS account_sync_role_mask ON account;
+CREATE TRIGGER account_sync_role_mask
+    BEFORE INSERT OR UPDATE OF user_role ON account
+    FOR EACH ROW EXECUTE FUNCTION account_sync_role_mask();
@@ -0,0 +1,10 @@
+-- Contract step for V9__account_role_mask.sql. Not a Flyway migration yet: user_role must outlive every node
+-- that still reads it. Once all nodes run a build that writes role_mask, remove Account.legacyUserRole and the
+-- user_role column from AccountImportService.INSERT_SQL, and ship this file as the next free db/migration
+-- version in that same release.
+
+DROP TRIGGER IF EXISTS account_sync_role_mask ON account;
+DROP FUNCTION IF EXISTS account_sync_role_mask();
+DROP FUNCTION IF EXISTS account_role_mask_of(varchar[]);
+
+ALTER TABLE account DROP COLUMN IF EXISTS user_role;
@@ -0,0 +1,56 @@
+-- Converts refresh_tokens into a table partitioned by month of expiry_date. Not a Flyway migration: it is
+-- only needed when refresh-token.partitioning.enabled=true and is run by hand, after the service has
+-- applied the db/migration series. RefreshTokenPartitionManager then keeps future partitions created and
+-- drops partitions that have fully expired.
+--
+-- Partitioned tables require the partition key in every unique constraint, so the primary key becomes
+-- (id, expiry_date) and the selector index becomes (selector, expiry_date). Selectors are 128-bit random
+-- values, so uniqueness per selector still holds in practice.
+--
+-- Only live rows are copied. The table is locked against writes for the whole conversion, so token issuance
+-- and rotation wait until it commits.
+
+BEGIN;
+
+LOCK TABLE refresh_tokens IN SHARE ROW EXCLUSIVE MODE;
+
+CREATE TABLE refresh_tokens_partitioned (
+    id            uuid         NOT NULL,
+    selector      varchar(36)  NOT NULL,
+    verifier_hash bytea        NOT NULL,
+    expiry_date   timestamp(6) NOT NULL,
+    account_id    uuid         NOT NULL REFERENCES account (id),
+    created_at    timestamp(6) NOT NULL,
+    is_revoked    boolean      NOT NULL,
+    PRIMARY KEY (id, expiry_date)
+) PARTITION BY RANGE (expiry_date);
+
+-- No DEFAULT partition: it would block DETACH PARTITION ... CONCURRENTLY. Months are created
+-- refresh-token.partitioning.months-ahead in advance, far beyond the refresh token lifetime.
+DO $$
+DECLARE
+    month date := date_trunc('month', now())::date;
+BEGIN
+    FOR i IN 0..3 LOOP
+        EXECUTE format(
+            'CREATE TABLE refresh_tokens_p%s PARTITION OF refresh_tokens_partitioned FOR VALUES FROM (%L) TO (%L)',
+            to_char(month + make_interval(months => i), 'YYYYMM'),
+            month + make_interval(months => i),
+            month + make_interval(months => i + 1));
+    END LOOP;
+END $$;
+
+INSERT INTO refresh_tokens_partitioned (id, selector, verifier_hash, expiry_date, account_id, created_at, is_revoked)
+SELECT id, selector, verifier_hash, expiry_date, account_id, created_at, is_revoked
+FROM refresh_tokens
+WHERE expiry_date > now() AND is_revoked = false;
+
+DROP TABLE refresh_tokens;
+ALTER TABLE refresh_tokens_partitioned RENAME TO refresh_tokens;
+
+CREATE UNIQUE INDEX idx_refresh_tokens_selector ON refresh_tokens (selector, expiry_date);
+CREATE INDEX idx_refresh_tokens_expiry_date ON refresh_tokens (expiry_date);
+CREATE INDEX idx_refresh_tokens_account_id ON refresh_tokens (account_id);
+CREATE INDEX idx_refresh_tokens_account_live ON refresh_tokens (account_id) WHERE is_revoked = false;
+
+COMMIT;
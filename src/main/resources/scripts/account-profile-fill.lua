@@ -0,0 +1,14 @@
+-- Caches a profile loaded from the database unless it was evicted while the load ran.
+-- KEYS[1] = cached profile key
+-- KEYS[2] = per-account eviction generation, incremented by every eviction
+-- ARGV[1] = generation read before the load ('0' when there was none)
+-- ARGV[2] = serialized profile
+-- ARGV[3] = cache TTL in seconds
+-- Returns 1 when the profile was cached, 0 when an eviction made the loaded row stale.
+local generation = redis.call('GET', KEYS[2]) or '0'
+if generation ~= ARGV[1] then
+    return 0
+end
+
+redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+return 1
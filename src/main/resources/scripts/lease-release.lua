@@ -0,0 +1,8 @@
+-- Releases a lease only if it is still held by the caller.
+-- KEYS[1] = lease key
+-- ARGV[1] = owner token written when the lease was acquired
+-- Returns 1 when released, 0 when the lease had expired or belongs to another node.
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
@@ -0,0 +1,35 @@
+-- Records one verification attempt against a stateless OTP challenge.
+-- KEYS[1] = per-challenge state key
+-- KEYS[2] = per-email key holding the id of the most recently issued challenge
+-- ARGV[1] = '1' when the presented OTP matched, '0' otherwise
+-- ARGV[2] = max attempts
+-- ARGV[3] = seconds until the challenge expires
+-- ARGV[4] = id of the presented challenge
+-- Returns 0 on success, the new attempt count on a miss, -1 when attempts are exhausted, -2 when already used,
+-- -3 when a newer challenge has been issued for the email (or the last one was already redeemed).
+if redis.call('GET', KEYS[2]) ~= ARGV[4] then
+    local superseded = redis.call('GET', KEYS[1])
+    if superseded == 'used' then
+        return -2
+    end
+    return -3
+end
+
+local state = redis.call('GET', KEYS[1])
+if state == 'used' then
+    return -2
+end
+
+local attempts = tonumber(state) or 0
+if attempts >= tonumber(ARGV[2]) then
+    return -1
+end
+
+if ARGV[1] == '1' then
+    redis.call('SET', KEYS[1], 'used', 'EX', ARGV[3])
+    redis.call('DEL', KEYS[2])
+    return 0
+end
+
+redis.call('SET', KEYS[1], attempts + 1, 'EX', ARGV[3])
+return attempts + 1
@@ -0,0 +1,25 @@
+-- Rotates a stateless refresh-token family from the presented version to the next one.
+-- KEYS[1] = per-family key holding the current version, or 'revoked'
+-- ARGV[1] = version of the presented token
+-- ARGV[2] = seconds the family key lives after this rotation
+-- ARGV[3] = '1' when an untracked family may be adopted (token issued before versions were recorded)
+-- Returns 1 when the presented version was current, 0 when an untracked family was adopted at the next
+-- version, -1 when the presented version is stale or the family was revoked, -2 when the family is not
+-- tracked and may not be adopted. A stale version means the token was copied, so the whole family is revoked.
+-- Remove the adopt branch together with refresh-token.stateless.adopt-untracked-issued-before.
+local current = redis.call('GET', KEYS[1])
+if current == false then
+    if ARGV[3] ~= '1' then
+        return -2
+    end
+    redis.call('SET', KEYS[1], tonumber(ARGV[1]) + 1, 'EX', ARGV[2])
+    return 0
+end
+
+if current ~= ARGV[1] then
+    redis.call('SET', KEYS[1], 'revoked', 'EX', ARGV[2])
+    return -1
+end
+
+redis.call('SET', KEYS[1], tonumber(ARGV[1]) + 1, 'EX', ARGV[2])
+return 1
@@ -0,0 +1,11 @@
+-- Replaces an account's refresh-token family with a single new token.
+-- KEYS[1] = per-account token family hash
+-- ARGV[1] = selector of the new token
+-- ARGV[2] = hex SHA-256 of the new token's verifier
+-- ARGV[3] = expiry as epoch milliseconds
+-- Revoking the old tokens and storing the new one happen in one step, so a concurrent
+-- lookup never sees both or neither.
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[1], ARGV[1], ARGV[2] .. ':' .. ARGV[3])
+redis.call('PEXPIREAT', KEYS[1], ARGV[3])
+return 1
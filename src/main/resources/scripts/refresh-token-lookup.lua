@@ -0,0 +1,5 @@
+-- Reads one token of an account's refresh-token family.
+-- KEYS[1] = per-account token family hash
+-- ARGV[1] = selector
+-- Returns "verifierHashHex:expiryEpochMillis", or nil when the token was revoked or has expired.
+return redis.call('HGET', KEYS[1], ARGV[1])
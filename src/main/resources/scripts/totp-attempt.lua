@@ -0,0 +1,11 @@
+-- Takes one TOTP verification attempt from an account's budget before the code is checked.
+-- KEYS[1] = per-account failure counter
+-- ARGV[1] = lockout window in seconds
+-- Returns the attempt count in the current window; the caller rejects counts above its limit.
+-- The window starts at the first attempt. A counter left without a TTL is given one here, so it can never
+-- lock the account out for good.
+local attempts = redis.call('INCR', KEYS[1])
+if attempts == 1 or redis.call('TTL', KEYS[1]) < 0 then
+    redis.call('EXPIRE', KEYS[1], ARGV[1])
+end
+return attempts
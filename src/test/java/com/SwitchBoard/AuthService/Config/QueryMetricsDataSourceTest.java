@@ -0,0 +1,148 @@
+package com.SwitchBoard.AuthService.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Query Metrics DataSource Test")
+class QueryMetricsDataSourceTest {
+
+    @Mock
+    private HikariDataSource hikariDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private Statement statement;
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryMetricsDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new QueryMetricsDataSource(hikariDataSource, "primary", meterRegistry, 250);
+        lenient().when(hikariDataSource.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    @DisplayName("Should close the wrapped pool when the application context closes")
+    void testContextCloseClosesPool() {
+        // Arrange
+        HikariDataSource pool = mock(HikariDataSource.class);
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(PropertySourcesPlaceholderConfigurer.class);
+        context.register(DataSourceMetricsConfig.class);
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean("primaryDataSource", HikariDataSource.class, () -> pool);
+        context.refresh();
+        assertInstanceOf(QueryMetricsDataSource.class, context.getBean("primaryDataSource"));
+
+        // Act
+        context.close();
+
+        // Assert
+        verify(pool).close();
+    }
+
+    @Test
+    @DisplayName("Should time statements and record rows written under the calling repository method")
+    void testTaggedByRepositoryMethod() throws Exception {
+        // Arrange
+        when(connection.prepareStatement("UPDATE account SET name = ? WHERE id = ?")).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate()).thenReturn(3);
+        AccountWriter writer = (AccountWriter) new RepositoryMethodTaggingPostProcessor()
+                .postProcessAfterInitialization(new AccountWriter(dataSource), "accountWriter");
+
+        // Act
+        int updated = writer.rename();
+
+        // Assert
+        assertEquals(3, updated);
+        assertEquals(1, meterRegistry.get(QueryMetricsDataSource.QUERY_TIMER)
+                .tags("pool", "primary", "caller", "AccountWriter.rename", "operation", "update").timer().count());
+        assertEquals(3.0, meterRegistry.get(QueryMetricsDataSource.ROWS_SUMMARY)
+                .tag("caller", "AccountWriter.rename").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should time reads issued outside a repository without a rows sample")
+    void testUntaggedRead() throws Exception {
+        // Arrange
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.execute("SELECT 1")).thenReturn(true);
+
+        // Act
+        try (Connection wrapped = dataSource.getConnection(); Statement wrappedStatement = wrapped.createStatement()) {
+            wrappedStatement.execute("SELECT 1");
+        }
+
+        // Assert
+        assertEquals(1, meterRegistry.get(QueryMetricsDataSource.QUERY_TIMER)
+                .tags("caller", "none", "operation", "select").timer().count());
+        assertNull(meterRegistry.find(QueryMetricsDataSource.ROWS_SUMMARY).summary());
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("Should time a statement that fails and rethrow the driver's exception")
+    void testFailedStatement() throws Exception {
+        // Arrange
+        when(connection.prepareStatement("DELETE FROM account")).thenReturn(preparedStatement);
+        when(preparedStatement.executeUpdate()).thenThrow(new SQLException("canceling statement due to timeout"));
+
+        // Act & Assert
+        Connection wrapped = dataSource.getConnection();
+        PreparedStatement wrappedStatement = wrapped.prepareStatement("DELETE FROM account");
+        assertThrows(SQLException.class, wrappedStatement::executeUpdate);
+        assertEquals(1, meterRegistry.get(QueryMetricsDataSource.QUERY_TIMER).tag("operation", "delete").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should mask string literals and collapse whitespace in logged SQL")
+    void testRedact() {
+        // Act & Assert
+        assertEquals("SELECT * FROM account WHERE email = '?' AND name = '?' LIMIT 10",
+                QueryMetricsDataSource.redact("SELECT *\n  FROM account WHERE email = 'ann@example.com' AND name = 'O''Brien' LIMIT 10"));
+        assertEquals("other", QueryMetricsDataSource.operation("  WITH x AS (SELECT 1) SELECT * FROM x"));
+        assertEquals("insert", QueryMetricsDataSource.operation("insert into account_change values (?)"));
+    }
+
+    @Repository
+    static class AccountWriter {
+
+        private final DataSource dataSource;
+
+        AccountWriter(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        public int rename() throws SQLException {
+            Connection wrapped = dataSource.getConnection();
+            return wrapped.prepareStatement("UPDATE account SET name = ? WHERE id = ?").executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.SwitchBoard.AuthService.Config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Replica Lag Monitor Test")
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private JdbcTemplate replicaJdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor lagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lagMonitor = new ReplicaLagMonitor(replica, 500, meterRegistry);
+        ReflectionTestUtils.setField(lagMonitor, "replicaJdbcTemplate", replicaJdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should use the replica while it streams within the lag bound")
+    void testUsableWithinBound() {
+        // Arrange
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(120.0);
+
+        // Act
+        lagMonitor.check();
+
+        // Assert
+        assertTrue(lagMonitor.isUsable());
+        assertEquals(120.0, meterRegistry.get("auth.datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should stop using the replica once it lags beyond the bound")
+    void testUnusableWhenLagging() {
+        // Arrange
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(0.0, 2000.0);
+
+        // Act
+        lagMonitor.check();
+        lagMonitor.check();
+
+        // Assert
+        assertFalse(lagMonitor.isUsable());
+    }
+
+    @Test
+    @DisplayName("Should stop using a replica that is not streaming even though it has replayed all it received")
+    void testUnusableWhenNotStreaming() {
+        // Arrange
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(0.0, (Double) null);
+
+        // Act
+        lagMonitor.check();
+        lagMonitor.check();
+
+        // Assert
+        assertFalse(lagMonitor.isUsable());
+        assertTrue(Double.isNaN(meterRegistry.get("auth.datasource.replica.lag").gauge().value()));
+        assertEquals(0.0, meterRegistry.get("auth.datasource.replica.usable").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should stop using the replica when the probe fails")
+    void testUnusableWhenProbeFails() {
+        // Arrange
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class)))
+                .thenReturn(0.0)
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        // Act
+        lagMonitor.check();
+        lagMonitor.check();
+
+        // Assert
+        assertFalse(lagMonitor.isUsable());
+    }
+}
@@ -0,0 +1,90 @@
+package com.SwitchBoard.AuthService.Config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Replica Routing DataSource Test")
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        routingDataSource = new ReplicaRoutingDataSource(primary, replica, lagMonitor, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica")
+    void testReadOnlyUsesReplica() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.isUsable()).thenReturn(true);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        // Act & Assert
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("Should keep read-write work on the primary without probing the replica")
+    void testReadWriteUsesPrimary() throws Exception {
+        // Arrange
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // Act & Assert
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(replica, lagMonitor);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica is lagging or down")
+    void testLaggingReplicaFallsBack() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(lagMonitor.isUsable()).thenReturn(false);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // Act & Assert
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(replica);
+        assertEquals(1.0, meterRegistry.get("auth.datasource.replica.fallbacks").counter().count());
+    }
+}
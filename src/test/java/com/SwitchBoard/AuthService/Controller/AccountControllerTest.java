@@ -1,24 +1,40 @@
 package com.SwitchBoard.AuthService.Controller;
 
+import com.SwitchBoard.AuthService.DTO.Account.AccountChange;
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeFeed;
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeType;
+import com.SwitchBoard.AuthService.DTO.Account.AccountPageResponse;
 import com.SwitchBoard.AuthService.DTO.Account.AccountRequestDto;
 import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
+import com.SwitchBoard.AuthService.DTO.Account.AccountSearchResponse;
+import com.SwitchBoard.AuthService.DTO.Account.CounterIncrementRequest;
 import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
 import com.SwitchBoard.AuthService.DTO.Authentication.ApiResponse;
+import com.SwitchBoard.AuthService.Service.Account.AccountChangeFeedService;
+import com.SwitchBoard.AuthService.Service.Account.AccountCounterService;
+import com.SwitchBoard.AuthService.Service.Account.AccountImportService;
 import com.SwitchBoard.AuthService.Service.Account.AccountService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +44,18 @@ class AccountControllerTest {
     @Mock
     private AccountService accountService;
 
+    @Mock
+    private AccountImportService accountImportService;
+
+    @Mock
+    private AccountCounterService accountCounterService;
+
+    @Mock
+    private AccountChangeFeedService accountChangeFeedService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private AccountController accountController;
 
@@ -65,7 +93,7 @@ class AccountControllerTest {
                 .totalRewardPoints(100)
                 .taskAssignedCount(10)
                 .taskCompletedCount(8)
-                .userRole(Collections.singletonList(USER_ROLE.USER))
+                .userRole(EnumSet.of(USER_ROLE.USER))
                 .build();
     }
 
@@ -136,7 +164,7 @@ class AccountControllerTest {
                 .totalRewardPoints(50)
                 .taskAssignedCount(5)
                 .taskCompletedCount(3)
-                .userRole(Collections.singletonList(USER_ROLE.USER))
+                .userRole(EnumSet.of(USER_ROLE.USER))
                 .build();
 
         List<AccountResponseDto> expectedUsers = Arrays.asList(testAccountResponse, user2);
@@ -294,4 +322,122 @@ class AccountControllerTest {
         assertTrue(exception.getMessage().contains("User not found"));
         verify(accountService).updateProfile(testAccountId, updates);
     }
+
+    @Test
+    @DisplayName("Should return a page of users with its cursor")
+    void testListUsers() {
+        // Arrange
+        AccountPageResponse page = AccountPageResponse.builder()
+                .items(List.of(testAccountResponse))
+                .nextCursor(testAccountId)
+                .build();
+        when(accountService.listUsers(null, 50)).thenReturn(page);
+
+        // Act
+        ResponseEntity<AccountPageResponse> response = accountController.listUsers(null, 50, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should list only users holding the requested role")
+    void testListUsersByRole() {
+        // Arrange
+        AccountPageResponse page = AccountPageResponse.builder()
+                .items(List.of(testAccountResponse))
+                .build();
+        when(accountService.listUsersByRole(USER_ROLE.ADMIN, null, 50)).thenReturn(page);
+
+        // Act
+        ResponseEntity<AccountPageResponse> response = accountController.listUsers(null, 50, USER_ROLE.ADMIN);
+
+        // Assert
+        assertEquals(page, response.getBody());
+        verify(accountService, never()).listUsers(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should return the account change feed after a sequence")
+    void testGetChanges() {
+        // Arrange
+        AccountChangeFeed feed = AccountChangeFeed.builder()
+                .items(List.of(new AccountChange(42L, testAccountId, AccountChangeType.UPDATED, null, testAccountResponse)))
+                .nextSince(42L)
+                .latestSequence(42L)
+                .hasMore(false)
+                .build();
+        when(accountChangeFeedService.changesSince(41L, 100)).thenReturn(feed);
+
+        // Act
+        ResponseEntity<AccountChangeFeed> response = accountController.getChanges(41L, 100);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(feed, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should return ranked search results")
+    void testSearchUsers() {
+        // Arrange
+        AccountSearchResponse result = AccountSearchResponse.builder()
+                .items(List.of(testAccountResponse))
+                .page(0)
+                .size(20)
+                .hasMore(false)
+                .build();
+        when(accountService.searchUsers("test", 0, 20)).thenReturn(result);
+
+        // Act
+        ResponseEntity<AccountSearchResponse> response = accountController.searchUsers("test", 0, 20);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(result, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should stream users as a JSON array")
+    @SuppressWarnings("unchecked")
+    void testStreamUsers() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<AccountResponseDto> consumer = invocation.getArgument(0);
+            consumer.accept(testAccountResponse);
+            consumer.accept(testAccountResponse);
+            return null;
+        }).when(accountService).streamAllUsers(any(Consumer.class));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = accountController.streamUsers();
+        response.getBody().writeTo(output);
+
+        // Assert
+        JsonNode json = new ObjectMapper().readTree(output.toByteArray());
+        assertTrue(json.isArray());
+        assertEquals(2, json.size());
+        assertEquals(testAccountId.toString(), json.get(0).get("id").asText());
+    }
+
+    @Test
+    @DisplayName("Should accept a counter increment for the account in the path")
+    void testIncrementCounters() {
+        // Arrange
+        CounterIncrementRequest request = CounterIncrementRequest.builder()
+                .eventId("task-42-completed")
+                .rewardPoints(10)
+                .tasksCompleted(1)
+                .build();
+
+        // Act
+        ResponseEntity<ApiResponse> response = accountController.incrementCounters(testAccountId, request);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(testAccountId, request.getAccountId());
+        verify(accountCounterService).submit(request);
+    }
 }
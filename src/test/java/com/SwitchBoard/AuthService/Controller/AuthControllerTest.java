@@ -5,13 +5,14 @@ import com.SwitchBoard.AuthService.DTO.Authentication.AuthRequest;
 import com.SwitchBoard.AuthService.DTO.Authentication.AuthResponse;
 import com.SwitchBoard.AuthService.DTO.Authentication.AuthValidateRequest;
 import com.SwitchBoard.AuthService.DTO.Authentication.RefreshTokenRequest;
+import com.SwitchBoard.AuthService.DTO.Totp.TotpVerifyRequest;
 import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
 import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
 import com.SwitchBoard.AuthService.Model.Account;
 import com.SwitchBoard.AuthService.Model.RefreshToken;
 import com.SwitchBoard.AuthService.Service.OtpService;
-import com.SwitchBoard.AuthService.Service.RefreshTokenService;
-import com.SwitchBoard.AuthService.Util.JwtUtil;
+import com.SwitchBoard.AuthService.Service.TokenRefreshService;
+import com.SwitchBoard.AuthService.Service.TotpService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,11 +22,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.Optional;
+import java.util.EnumSet;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,10 +39,10 @@ class AuthControllerTest {
     private OtpService otpService;
 
     @Mock
-    private RefreshTokenService refreshTokenService;
+    private TokenRefreshService tokenRefreshService;
 
     @Mock
-    private JwtUtil jwtUtil;
+    private TotpService totpService;
 
     @InjectMocks
     private AuthController authController;
@@ -54,13 +53,11 @@ class AuthControllerTest {
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(authController, "jwtExpiration", JWT_EXPIRATION);
-
         testAccount = Account.builder()
                 .id(UUID.randomUUID())
                 .email("test@example.com")
                 .name("Test User")
-                .userRole(Collections.singletonList(USER_ROLE.USER))
+                .userRole(EnumSet.of(USER_ROLE.USER))
                 .build();
 
         testRefreshToken = RefreshToken.builder()
@@ -109,7 +106,7 @@ class AuthControllerTest {
                 .expiresIn(JWT_EXPIRATION)
                 .build();
 
-        when(otpService.validateOtp(request.getEmail(), request.getOtp())).thenReturn(expectedResponse);
+        when(otpService.validateOtp(request.getEmail(), request.getOtp(), null)).thenReturn(expectedResponse);
 
         // Act
         ResponseEntity<AuthResponse> response = authController.verifyOtp(request);
@@ -122,7 +119,7 @@ class AuthControllerTest {
         assertEquals(expectedResponse.getRefreshToken(), response.getBody().getRefreshToken());
         assertEquals(expectedResponse.getExpiresIn(), response.getBody().getExpiresIn());
 
-        verify(otpService).validateOtp(request.getEmail(), request.getOtp());
+        verify(otpService).validateOtp(request.getEmail(), request.getOtp(), null);
     }
 
     @Test
@@ -132,22 +129,12 @@ class AuthControllerTest {
         RefreshTokenRequest request = new RefreshTokenRequest();
         request.setRefreshToken("valid-refresh-token");
 
-        String newAccessToken = "new-jwt-token";
-        RefreshToken newRefreshToken = RefreshToken.builder()
-                .token("new-refresh-token")
-                .expiryDate(LocalDateTime.now().plusDays(7))
+        AuthResponse expectedResponse = AuthResponse.builder()
+                .accessToken("new-jwt-token")
+                .refreshToken("new-refresh-token")
+                .expiresIn(JWT_EXPIRATION)
                 .build();
-
-        when(refreshTokenService.findByToken(request.getRefreshToken()))
-                .thenReturn(Optional.of(testRefreshToken));
-        when(refreshTokenService.isTokenValid(testRefreshToken)).thenReturn(true);
-        when(jwtUtil.generateToken(
-                testAccount.getEmail(),
-                testAccount.getName(),
-                testAccount.getId(),
-                testAccount.getUserRole()
-        )).thenReturn(newAccessToken);
-        when(refreshTokenService.createRefreshToken(testAccount)).thenReturn(newRefreshToken);
+        when(tokenRefreshService.refresh(request.getRefreshToken())).thenReturn(expectedResponse);
 
         // Act
         ResponseEntity<AuthResponse> response = authController.refreshToken(request);
@@ -156,19 +143,27 @@ class AuthControllerTest {
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(newAccessToken, response.getBody().getAccessToken());
-        assertEquals(newRefreshToken.getToken(), response.getBody().getRefreshToken());
+        assertEquals("new-jwt-token", response.getBody().getAccessToken());
+        assertEquals("new-refresh-token", response.getBody().getRefreshToken());
         assertEquals(JWT_EXPIRATION, response.getBody().getExpiresIn());
+        verify(tokenRefreshService).refresh(request.getRefreshToken());
+    }
 
-        verify(refreshTokenService).findByToken(request.getRefreshToken());
-        verify(refreshTokenService).isTokenValid(testRefreshToken);
-        verify(jwtUtil).generateToken(
-                testAccount.getEmail(),
-                testAccount.getName(),
-                testAccount.getId(),
-                testAccount.getUserRole()
-        );
-        verify(refreshTokenService).createRefreshToken(testAccount);
+    @Test
+    @DisplayName("Should logout through the token refresh service")
+    void testLogout() {
+        // Arrange
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken("valid-refresh-token");
+
+        // Act
+        ResponseEntity<ApiResponse> response = authController.logout(request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().isSuccess());
+        verify(tokenRefreshService).logout("valid-refresh-token");
     }
 
     @Test
@@ -178,7 +173,8 @@ class AuthControllerTest {
         RefreshTokenRequest request = new RefreshTokenRequest();
         request.setRefreshToken("invalid-token");
 
-        when(refreshTokenService.findByToken(request.getRefreshToken())).thenReturn(Optional.empty());
+        when(tokenRefreshService.refresh(request.getRefreshToken()))
+                .thenThrow(new UnauthorizedException("Invalid refresh token"));
 
         // Act & Assert
         UnauthorizedException exception = assertThrows(UnauthorizedException.class, () -> {
@@ -186,8 +182,7 @@ class AuthControllerTest {
         });
 
         assertTrue(exception.getMessage().contains("Invalid refresh token"));
-        verify(refreshTokenService).findByToken(request.getRefreshToken());
-        verify(refreshTokenService, never()).isTokenValid(any());
+        verify(tokenRefreshService).refresh(request.getRefreshToken());
     }
 
     @Test
@@ -197,9 +192,8 @@ class AuthControllerTest {
         RefreshTokenRequest request = new RefreshTokenRequest();
         request.setRefreshToken("expired-token");
 
-        when(refreshTokenService.findByToken(request.getRefreshToken()))
-                .thenReturn(Optional.of(testRefreshToken));
-        when(refreshTokenService.isTokenValid(testRefreshToken)).thenReturn(false);
+        when(tokenRefreshService.refresh(request.getRefreshToken()))
+                .thenThrow(new UnauthorizedException("Refresh token expired or invalid"));
 
         // Act & Assert
         UnauthorizedException exception = assertThrows(UnauthorizedException.class, () -> {
@@ -207,9 +201,6 @@ class AuthControllerTest {
         });
 
         assertTrue(exception.getMessage().contains("Refresh token expired or invalid"));
-        verify(refreshTokenService).findByToken(request.getRefreshToken());
-        verify(refreshTokenService).isTokenValid(testRefreshToken);
-        verify(refreshTokenService, never()).createRefreshToken(any());
     }
 
     @Test
@@ -245,7 +236,7 @@ class AuthControllerTest {
                 .expiresIn(JWT_EXPIRATION)
                 .build();
 
-        when(otpService.validateOtp(request.getEmail(), request.getOtp())).thenReturn(expectedResponse);
+        when(otpService.validateOtp(request.getEmail(), request.getOtp(), null)).thenReturn(expectedResponse);
 
         // Act
         ResponseEntity<AuthResponse> response = authController.verifyOtp(request);
@@ -253,7 +244,7 @@ class AuthControllerTest {
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(otpService).validateOtp(request.getEmail(), request.getOtp());
+        verify(otpService).validateOtp(request.getEmail(), request.getOtp(), null);
     }
 
     @Test
@@ -263,17 +254,11 @@ class AuthControllerTest {
         RefreshTokenRequest request = new RefreshTokenRequest();
         request.setRefreshToken("old-refresh-token");
 
-        String newAccessToken = "new-jwt-token";
-        RefreshToken newRefreshToken = RefreshToken.builder()
-                .token("completely-new-refresh-token")
-                .expiryDate(LocalDateTime.now().plusDays(7))
-                .build();
-
-        when(refreshTokenService.findByToken(request.getRefreshToken()))
-                .thenReturn(Optional.of(testRefreshToken));
-        when(refreshTokenService.isTokenValid(testRefreshToken)).thenReturn(true);
-        when(jwtUtil.generateToken(any(), any(), any(), any())).thenReturn(newAccessToken);
-        when(refreshTokenService.createRefreshToken(testAccount)).thenReturn(newRefreshToken);
+        when(tokenRefreshService.refresh(request.getRefreshToken())).thenReturn(AuthResponse.builder()
+                .accessToken("new-jwt-token")
+                .refreshToken("completely-new-refresh-token")
+                .expiresIn(JWT_EXPIRATION)
+                .build());
 
         // Act
         ResponseEntity<AuthResponse> response = authController.refreshToken(request);
@@ -283,4 +268,29 @@ class AuthControllerTest {
         assertNotEquals(request.getRefreshToken(), response.getBody().getRefreshToken());
         assertEquals("completely-new-refresh-token", response.getBody().getRefreshToken());
     }
+
+    @Test
+    @DisplayName("Should login with TOTP and return auth tokens")
+    void testVerifyTotpSuccess() throws Exception {
+        // Arrange
+        TotpVerifyRequest request = new TotpVerifyRequest();
+        request.setEmail("test@example.com");
+        request.setCode("123456");
+
+        AuthResponse expectedResponse = AuthResponse.builder()
+                .accessToken("jwt-token")
+                .refreshToken("refresh-token")
+                .expiresIn(JWT_EXPIRATION)
+                .build();
+        when(totpService.login(request.getEmail(), request.getCode())).thenReturn(expectedResponse);
+
+        // Act
+        ResponseEntity<AuthResponse> response = authController.verifyTotp(request);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedResponse, response.getBody());
+        verify(totpService).login(request.getEmail(), request.getCode());
+        verifyNoInteractions(otpService);
+    }
 }
@@ -101,6 +101,42 @@ class GlobalExceptionHandlerTest {
         assertEquals(TEST_URI, response.getBody().getPath());
     }
 
+    @Test
+    @DisplayName("Should handle ConflictException")
+    void testHandleConflictException() {
+        // Arrange
+        ConflictException exception = new ConflictException("Account was modified concurrently");
+
+        // Act
+        ResponseEntity<ApiResponse> response = globalExceptionHandler.handleConflict(exception, request);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertFalse(response.getBody().isSuccess());
+        assertEquals("CONFLICT", response.getBody().getErrorCode());
+        assertEquals(TEST_URI, response.getBody().getPath());
+    }
+
+    @Test
+    @DisplayName("Should handle ServiceUnavailableException")
+    void testHandleServiceUnavailableException() {
+        // Arrange
+        ServiceUnavailableException exception = new ServiceUnavailableException("Counter updates are backed up. Please retry later.");
+
+        // Act
+        ResponseEntity<ApiResponse> response = globalExceptionHandler.handleServiceUnavailable(exception, request);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertFalse(response.getBody().isSuccess());
+        assertEquals("SERVICE_UNAVAILABLE", response.getBody().getErrorCode());
+        assertEquals(TEST_URI, response.getBody().getPath());
+    }
+
     @Test
     @DisplayName("Should handle UnexpectedException")
     void testHandleUnexpectedException() {
@@ -3,9 +3,11 @@ package com.SwitchBoard.AuthService.Model;
 import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,7 +44,7 @@ class AccountTest {
                 .googleId("google-id-123")
                 .profileImageUrl("https://example.com/image.jpg")
                 .googleAccount(true)
-                .userRole(Collections.singletonList(USER_ROLE.USER))
+                .userRole(EnumSet.of(USER_ROLE.USER))
                 .build();
 
         // Assert
@@ -64,7 +66,7 @@ class AccountTest {
         assertEquals("google-id-123", account.getGoogleId());
         assertEquals("https://example.com/image.jpg", account.getProfileImageUrl());
         assertTrue(account.isGoogleAccount());
-        assertEquals(Collections.singletonList(USER_ROLE.USER), account.getUserRole());
+        assertEquals(EnumSet.of(USER_ROLE.USER), account.getUserRole());
     }
 
     @Test
@@ -117,13 +119,13 @@ class AccountTest {
         Account account = Account.builder()
                 .name("Admin User")
                 .email("admin@example.com")
-                .userRole(Collections.singletonList(USER_ROLE.ADMIN))
+                .userRole(EnumSet.of(USER_ROLE.ADMIN))
                 .build();
 
         // Assert
         assertNotNull(account.getUserRole());
         assertEquals(1, account.getUserRole().size());
-        assertEquals(USER_ROLE.ADMIN, account.getUserRole().get(0));
+        assertTrue(account.getUserRole().contains(USER_ROLE.ADMIN));
     }
 
     @Test
@@ -207,8 +209,9 @@ class AccountTest {
                 "https://linkedin.com/in/test", "https://github.com/test",
                 "https://leetcode.com/test", "/cv.pdf", now, "Engineer", 
                 "Developer", 100, 10, 5, "google-id", "image-url", 
-                true, Collections.singletonList(USER_ROLE.USER), 
-                now, now
+                true, null, false, null, null,
+                EnumSet.of(USER_ROLE.USER), null,
+                now, now, 0L
         );
 
         // Assert
@@ -218,6 +221,20 @@ class AccountTest {
         assertEquals("test@example.com", account.getEmail());
     }
 
+    @Test
+    @DisplayName("Should copy roles into the legacy user_role column before writes")
+    void testSyncLegacyUserRole() {
+        // Arrange
+        Account account = new Account();
+        account.setUserRole(EnumSet.of(USER_ROLE.ADMIN, USER_ROLE.USER));
+
+        // Act
+        account.syncLegacyUserRole();
+
+        // Assert
+        assertEquals(List.of(USER_ROLE.ADMIN, USER_ROLE.USER), ReflectionTestUtils.getField(account, "legacyUserRole"));
+    }
+
     @Test
     @DisplayName("Should support no-args constructor")
     void testNoArgsConstructor() {
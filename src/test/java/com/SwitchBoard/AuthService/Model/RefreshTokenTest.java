@@ -36,6 +36,8 @@ class RefreshTokenTest {
         // Assert
         assertNotNull(refreshToken);
         assertEquals(id, refreshToken.getId());
+        assertEquals("selector", refreshToken.getSelector());
+        assertArrayEquals(verifierHash, refreshToken.getVerifierHash());
         assertEquals(token, refreshToken.getToken());
         assertEquals(expiryDate, refreshToken.getExpiryDate());
         assertEquals(account, refreshToken.getAccount());
@@ -78,6 +80,8 @@ class RefreshTokenTest {
 
         // Assert
         assertEquals(id, refreshToken.getId());
+        assertEquals("selector", refreshToken.getSelector());
+        assertArrayEquals(verifierHash, refreshToken.getVerifierHash());
         assertEquals(token, refreshToken.getToken());
         assertEquals(expiryDate, refreshToken.getExpiryDate());
         assertEquals(createdAt, refreshToken.getCreatedAt());
@@ -168,13 +172,16 @@ class RefreshTokenTest {
         LocalDateTime expiryDate = LocalDateTime.now().plusDays(7);
         LocalDateTime createdAt = LocalDateTime.now();
         Account account = Account.builder().email("test@example.com").build();
+        byte[] verifierHash = new byte[32];
 
         // Act
-        RefreshToken refreshToken = new RefreshToken(id, token, expiryDate, account, createdAt, false);
+        RefreshToken refreshToken = new RefreshToken(id, "selector", verifierHash, token, expiryDate, account, createdAt, false);
 
         // Assert
         assertNotNull(refreshToken);
         assertEquals(id, refreshToken.getId());
+        assertEquals("selector", refreshToken.getSelector());
+        assertArrayEquals(verifierHash, refreshToken.getVerifierHash());
         assertEquals(token, refreshToken.getToken());
         assertEquals(expiryDate, refreshToken.getExpiryDate());
         assertEquals(account, refreshToken.getAccount());
@@ -0,0 +1,45 @@
+package com.SwitchBoard.AuthService.Model;
+
+import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("User Role Mask Converter Test")
+class UserRoleMaskConverterTest {
+
+    private final UserRoleMaskConverter converter = new UserRoleMaskConverter();
+
+    @Test
+    @DisplayName("Should keep the bit assigned to each role")
+    void testRoleBits() {
+        // Rows already store these values, so changing one is a data migration, not a refactor
+        assertEquals(1, USER_ROLE.ADMIN.mask());
+        assertEquals(2, USER_ROLE.USER.mask());
+        assertEquals(4, USER_ROLE.SUPER_ADMIN.mask());
+    }
+
+    @Test
+    @DisplayName("Should round-trip every combination of roles")
+    void testRoundTrip() {
+        for (int mask = 0; mask < 8; mask++) {
+            // Act
+            EnumSet<USER_ROLE> roles = converter.convertToEntityAttribute(mask);
+
+            // Assert
+            assertEquals(mask, converter.convertToDatabaseColumn(roles));
+        }
+        assertEquals(EnumSet.of(USER_ROLE.ADMIN, USER_ROLE.USER), converter.convertToEntityAttribute(3));
+    }
+
+    @Test
+    @DisplayName("Should treat null as no roles")
+    void testNulls() {
+        // Act & Assert
+        assertEquals(0, converter.convertToDatabaseColumn(null));
+        assertTrue(converter.convertToEntityAttribute(null).isEmpty());
+    }
+}
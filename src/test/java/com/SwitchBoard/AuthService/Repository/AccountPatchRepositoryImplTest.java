@@ -0,0 +1,77 @@
+package com.SwitchBoard.AuthService.Repository;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountRequestDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Account Patch Repository Test")
+class AccountPatchRepositoryImplTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Query query;
+
+    private AccountPatchRepositoryImpl patchRepository;
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        patchRepository = new AccountPatchRepositoryImpl(entityManager);
+    }
+
+    @Test
+    @DisplayName("Should write only present fields and return the name from the same statement")
+    void testPatchReturnsNameInOneStatement() {
+        // Arrange
+        AccountRequestDto updates = AccountRequestDto.builder()
+                .aimRole("Senior Developer")
+                .mobile("9876543210")
+                .version(3L)
+                .build();
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(entityManager.createNativeQuery(sql.capture(), eq(String.class))).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of("Test User"));
+
+        // Act
+        List<String> names = patchRepository.applyProfilePatch(accountId, updates);
+
+        // Assert
+        assertEquals(List.of("Test User"), names);
+        assertEquals("UPDATE account SET version = version + 1, updated_at = :updatedAt, aim_role = :aim_role, "
+                + "mobile = :mobile WHERE id = :id AND version = :version RETURNING name", sql.getValue());
+        verify(query).setParameter("aim_role", "Senior Developer");
+        verify(query).setParameter("mobile", "9876543210");
+        verify(query).setParameter("id", accountId);
+        verify(query).setParameter("version", 3L);
+        verify(query, never()).setParameter(eq("github_url"), any());
+    }
+
+    @Test
+    @DisplayName("Should return no names when the account or version does not match")
+    void testPatchNoMatch() {
+        // Arrange
+        AccountRequestDto updates = AccountRequestDto.builder().aimRole("Senior Developer").build();
+        when(entityManager.createNativeQuery(anyString(), eq(String.class))).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of());
+
+        // Act & Assert
+        assertTrue(patchRepository.applyProfilePatch(accountId, updates).isEmpty());
+    }
+}
@@ -0,0 +1,98 @@
+package com.SwitchBoard.AuthService.Repository;
+
+import com.SwitchBoard.AuthService.Exception.UnexpectedException;
+import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Model.RefreshToken;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JPA Refresh Token Store Test")
+class JpaRefreshTokenStoreTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private RefreshTokenInsertBatcher insertBatcher;
+
+    private JpaRefreshTokenStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new JpaRefreshTokenStore(refreshTokenRepository, Optional.empty());
+    }
+
+    @Test
+    @DisplayName("Should revoke and insert through a single repository call")
+    void testIssueIsOneRepositoryCall() {
+        // Arrange
+        Account account = Account.builder().id(UUID.randomUUID()).email("test@example.com").build();
+        byte[] verifierHash = DigestUtils.sha256("verifier");
+        LocalDateTime expiryDate = LocalDateTime.now().plusDays(7);
+        RefreshToken token = RefreshToken.builder()
+                .selector("selector")
+                .verifierHash(verifierHash)
+                .account(account)
+                .expiryDate(expiryDate)
+                .build();
+
+        // Act
+        RefreshToken result = store.issue(token);
+
+        // Assert
+        assertNotNull(result.getId());
+        assertNotNull(result.getCreatedAt());
+        verify(refreshTokenRepository).revokeLiveAndInsert(eq(result.getId()), eq("selector"), eq(verifierHash),
+                eq(expiryDate), eq(account.getId()), any(LocalDateTime.class));
+        verifyNoMoreInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    @DisplayName("Should hand the row to the batcher and return once it is committed")
+    void testIssueBatched() {
+        // Arrange
+        store = new JpaRefreshTokenStore(refreshTokenRepository, Optional.of(insertBatcher));
+        ReflectionTestUtils.setField(store, "batchWaitMillis", 1000L);
+        RefreshToken token = RefreshToken.builder()
+                .selector("selector")
+                .account(Account.builder().id(UUID.randomUUID()).build())
+                .build();
+        when(insertBatcher.enqueue(token)).thenReturn(CompletableFuture.completedFuture(token));
+
+        // Act
+        RefreshToken result = store.issue(token);
+
+        // Assert
+        assertSame(token, result);
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    @Test
+    @DisplayName("Should fail the login when the batch could not be written")
+    void testIssueBatchedFailure() {
+        // Arrange
+        store = new JpaRefreshTokenStore(refreshTokenRepository, Optional.of(insertBatcher));
+        ReflectionTestUtils.setField(store, "batchWaitMillis", 1000L);
+        RefreshToken token = RefreshToken.builder().selector("selector").build();
+        when(insertBatcher.enqueue(token)).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("db down")));
+
+        // Act & Assert
+        assertThrows(UnexpectedException.class, () -> store.issue(token));
+    }
+}
@@ -0,0 +1,151 @@
+package com.SwitchBoard.AuthService.Repository;
+
+import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Model.RefreshToken;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Redis Refresh Token Store Test")
+class RedisRefreshTokenStoreTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private RedisRefreshTokenStore store;
+
+    private Account testAccount;
+    private String familyKey;
+
+    @BeforeEach
+    void setUp() {
+        testAccount = Account.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .name("Test User")
+                .build();
+        familyKey = "refresh:{" + testAccount.getId() + "}";
+    }
+
+    @Test
+    @DisplayName("Should write the selector pointer and replace the family atomically")
+    @SuppressWarnings("unchecked")
+    void testIssue() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        byte[] verifierHash = DigestUtils.sha256("verifier");
+        LocalDateTime expiryDate = LocalDateTime.now().plusDays(7);
+        RefreshToken token = RefreshToken.builder()
+                .selector("selector")
+                .verifierHash(verifierHash)
+                .account(testAccount)
+                .expiryDate(expiryDate)
+                .build();
+
+        // Act
+        RefreshToken result = store.issue(token);
+
+        // Assert
+        assertNotNull(result.getCreatedAt());
+        verify(valueOperations).set(eq("refresh:sel:selector"), eq(testAccount.getId().toString()), any(Duration.class));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(Collections.singletonList(familyKey)),
+                eq("selector"),
+                eq(Hex.encodeHexString(verifierHash)),
+                eq(String.valueOf(expiryDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())));
+    }
+
+    @Test
+    @DisplayName("Should rebuild a live token from its family entry")
+    @SuppressWarnings("unchecked")
+    void testFindValidBySelector() {
+        // Arrange
+        byte[] verifierHash = DigestUtils.sha256("verifier");
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("refresh:sel:selector")).thenReturn(testAccount.getId().toString());
+        when(redisTemplate.execute(any(RedisScript.class), eq(Collections.singletonList(familyKey)), eq("selector")))
+                .thenReturn(Hex.encodeHexString(verifierHash) + ":" + expiresAt);
+        when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
+
+        // Act
+        Optional<RefreshToken> result = store.findValidBySelector("selector", LocalDateTime.now());
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertArrayEquals(verifierHash, result.get().getVerifierHash());
+        assertEquals(testAccount, result.get().getAccount());
+        assertFalse(result.get().getIsRevoked());
+    }
+
+    @Test
+    @DisplayName("Should return empty when the selector was revoked from its family")
+    @SuppressWarnings("unchecked")
+    void testFindValidBySelectorRevoked() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("refresh:sel:selector")).thenReturn(testAccount.getId().toString());
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), eq("selector"))).thenReturn(null);
+
+        // Act
+        Optional<RefreshToken> result = store.findValidBySelector("selector", LocalDateTime.now());
+
+        // Assert
+        assertFalse(result.isPresent());
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should return empty when the selector is unknown")
+    void testFindValidBySelectorUnknown() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("refresh:sel:missing")).thenReturn(null);
+
+        // Act
+        Optional<RefreshToken> result = store.findValidBySelector("missing", LocalDateTime.now());
+
+        // Assert
+        assertFalse(result.isPresent());
+        verify(redisTemplate).opsForValue();
+        verifyNoMoreInteractions(redisTemplate);
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should drop the whole family when revoking an account")
+    void testRevokeAllByAccount() {
+        // Act
+        store.revokeAllByAccount(testAccount);
+
+        // Assert
+        verify(redisTemplate).delete(familyKey);
+    }
+}
@@ -0,0 +1,133 @@
+package com.SwitchBoard.AuthService.Repository;
+
+import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Model.RefreshToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Refresh Token Insert Batcher Test")
+class RefreshTokenInsertBatcherTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenInsertBatcher batcher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        batcher = new RefreshTokenInsertBatcher(jdbcTemplate, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(batcher, "maxRows", 3);
+        ReflectionTestUtils.setField(batcher, "maxDelayMillis", 200L);
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        batcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        batcher.stop();
+    }
+
+    @Test
+    @DisplayName("Should write a full group as one statement and one commit")
+    void testGroupCommit() throws Exception {
+        // Arrange
+        Account first = Account.builder().id(UUID.randomUUID()).build();
+        Account second = Account.builder().id(UUID.randomUUID()).build();
+        RefreshToken earlier = token(first);
+        RefreshToken later = token(first);
+        RefreshToken other = token(second);
+
+        // Act
+        CompletableFuture<RefreshToken> f1 = batcher.enqueue(earlier);
+        CompletableFuture<RefreshToken> f2 = batcher.enqueue(later);
+        CompletableFuture<RefreshToken> f3 = batcher.enqueue(other);
+
+        // Assert
+        assertSame(earlier, f1.get(2, TimeUnit.SECONDS));
+        assertSame(later, f2.get(2, TimeUnit.SECONDS));
+        assertSame(other, f3.get(2, TimeUnit.SECONDS));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).update(sql.capture(), any(Object[].class));
+        assertTrue(sql.getValue().startsWith("WITH revoked AS (UPDATE refresh_tokens"));
+        assertTrue(sql.getValue().endsWith("VALUES (?, ?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?, ?)"));
+        assertEquals(1.0, meterRegistry.get("auth.refresh_tokens.batch.commits").counter().count());
+
+        // Only the account's last token in the group stays live
+        assertTrue(earlier.getIsRevoked());
+        assertFalse(later.getIsRevoked());
+        assertFalse(other.getIsRevoked());
+        assertNotNull(later.getId());
+    }
+
+    @Test
+    @DisplayName("Should fail every future in a group whose write fails")
+    void testGroupFailure() {
+        // Arrange
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenThrow(new IllegalStateException("db down"));
+
+        // Act
+        CompletableFuture<RefreshToken> future = batcher.enqueue(token(Account.builder().id(UUID.randomUUID()).build()));
+
+        // Assert
+        assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        assertEquals(0.0, meterRegistry.get("auth.refresh_tokens.batch.commits").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep flushing after a stray interrupt while running")
+    void testSurvivesInterrupt() throws Exception {
+        // Arrange
+        Thread flusher = (Thread) ReflectionTestUtils.getField(batcher, "flusher");
+        flusher.interrupt();
+        Thread.sleep(50);
+
+        // Act
+        CompletableFuture<RefreshToken> future = batcher.enqueue(token(Account.builder().id(UUID.randomUUID()).build()));
+
+        // Assert
+        assertNotNull(future.get(2, TimeUnit.SECONDS));
+        assertTrue(flusher.isAlive());
+    }
+
+    private static RefreshToken token(Account account) {
+        return RefreshToken.builder()
+                .selector(UUID.randomUUID().toString())
+                .verifierHash(new byte[32])
+                .account(account)
+                .expiryDate(LocalDateTime.now().plusDays(7))
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.SwitchBoard.AuthService.Service.Account;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountChange;
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeFeed;
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeType;
+import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
+import com.SwitchBoard.AuthService.Exception.BadRequestException;
+import com.SwitchBoard.AuthService.Exception.ConflictException;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository.ChangeRecord;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository.SequenceBounds;
+import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Account Change Feed Service Test")
+class AccountChangeFeedServiceTest {
+
+    @Mock
+    private AccountChangeRepository accountChangeRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private AccountChangeFeedService feedService;
+
+    private final UUID firstAccount = new UUID(0, 1);
+    private final UUID secondAccount = new UUID(0, 2);
+    private final Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(feedService, "maxLimit", 500);
+    }
+
+    @Test
+    @DisplayName("Should return changes in sequence order with the current profile of each account")
+    void testChangesSince() {
+        // Arrange
+        AccountResponseDto first = AccountResponseDto.builder().id(firstAccount).name("Ann").build();
+        when(accountChangeRepository.sequenceBounds()).thenReturn(new SequenceBounds(1, 12));
+        when(accountChangeRepository.findSince(10, 3)).thenReturn(List.of(
+                new ChangeRecord(11, firstAccount, AccountChangeType.CREATED, now),
+                new ChangeRecord(12, firstAccount, AccountChangeType.UPDATED, now)));
+        when(accountRepository.findResponsesByIds(Set.of(firstAccount))).thenReturn(List.of(first));
+
+        // Act
+        AccountChangeFeed feed = feedService.changesSince(10, 2);
+
+        // Assert
+        assertEquals(List.of(11L, 12L), feed.getItems().stream().map(AccountChange::getSequence).toList());
+        assertEquals(first, feed.getItems().get(1).getAccount());
+        assertEquals(12, feed.getNextSince());
+        assertEquals(12, feed.getLatestSequence());
+        assertFalse(feed.isHasMore());
+    }
+
+    @Test
+    @DisplayName("Should report another page when the log holds more than the limit")
+    void testChangesSinceHasMore() {
+        // Arrange
+        when(accountChangeRepository.sequenceBounds()).thenReturn(new SequenceBounds(1, 3));
+        when(accountChangeRepository.findSince(0, 2)).thenReturn(List.of(
+                new ChangeRecord(1, firstAccount, AccountChangeType.CREATED, now),
+                new ChangeRecord(2, secondAccount, AccountChangeType.CREATED, now)));
+        when(accountRepository.findResponsesByIds(anyCollection())).thenReturn(List.of());
+
+        // Act
+        AccountChangeFeed feed = feedService.changesSince(0, 1);
+
+        // Assert
+        assertEquals(1, feed.getItems().size());
+        assertNull(feed.getItems().get(0).getAccount());
+        assertEquals(1, feed.getNextSince());
+        assertTrue(feed.isHasMore());
+    }
+
+    @Test
+    @DisplayName("Should keep the cursor when nothing changed")
+    void testChangesSinceUpToDate() {
+        // Arrange
+        when(accountChangeRepository.sequenceBounds()).thenReturn(new SequenceBounds(1, 12));
+        when(accountChangeRepository.findSince(12, 101)).thenReturn(List.of());
+
+        // Act
+        AccountChangeFeed feed = feedService.changesSince(12, 100);
+
+        // Assert
+        assertTrue(feed.getItems().isEmpty());
+        assertEquals(12, feed.getNextSince());
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor whose following changes were purged")
+    void testChangesSinceExpiredCursor() {
+        // Arrange
+        when(accountChangeRepository.sequenceBounds()).thenReturn(new SequenceBounds(50, 80));
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> feedService.changesSince(10, 100));
+        verify(accountChangeRepository, never()).findSince(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject a negative cursor or a limit outside the allowed range")
+    void testChangesSinceValidation() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> feedService.changesSince(-1, 100));
+        assertThrows(BadRequestException.class, () -> feedService.changesSince(0, 0));
+        assertThrows(BadRequestException.class, () -> feedService.changesSince(0, 501));
+        verifyNoInteractions(accountChangeRepository);
+    }
+}
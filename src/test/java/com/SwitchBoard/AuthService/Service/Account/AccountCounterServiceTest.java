@@ -0,0 +1,212 @@
+package com.SwitchBoard.AuthService.Service.Account;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeType;
+import com.SwitchBoard.AuthService.DTO.Account.CounterIncrementRequest;
+import com.SwitchBoard.AuthService.Exception.BadRequestException;
+import com.SwitchBoard.AuthService.Exception.ServiceUnavailableException;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository;
+import com.SwitchBoard.AuthService.Repository.AccountCounterRepository;
+import com.SwitchBoard.AuthService.Repository.AccountCounterRepository.CounterDelta;
+import com.SwitchBoard.AuthService.Service.Leaderboard.LeaderboardService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Account Counter Service Test")
+class AccountCounterServiceTest {
+
+    @Mock
+    private AccountCounterRepository accountCounterRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AccountProfileCache accountProfileCache;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private AccountChangeRepository accountChangeRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountCounterService counterService;
+
+    private final UUID firstAccount = new UUID(0, 1);
+    private final UUID secondAccount = new UUID(0, 2);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        counterService = new AccountCounterService(accountCounterRepository, transactionTemplate, accountProfileCache,
+                leaderboardService, accountChangeRepository, meterRegistry);
+        ReflectionTestUtils.setField(counterService, "maxBuffered", 100);
+        ReflectionTestUtils.setField(counterService, "maxPending", 1000);
+        lenient().doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should coalesce buffered events into one delta per account in id order")
+    @SuppressWarnings("unchecked")
+    void testFlushCoalesces() {
+        // Arrange
+        counterService.submit(event("e1", secondAccount, 10, 0, 1));
+        counterService.submit(event("e2", firstAccount, 5, 1, 0));
+        counterService.submit(event("e3", secondAccount, 7, 0, 1));
+        when(accountCounterRepository.recordNewEvents(anyCollection())).thenReturn(Set.of("e1", "e2", "e3"));
+        when(accountCounterRepository.applyDeltas(anyList())).thenReturn(new int[]{1, 1});
+
+        // Act
+        counterService.flush();
+
+        // Assert
+        ArgumentCaptor<List<CounterDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(accountCounterRepository).applyDeltas(deltas.capture());
+        assertEquals(List.of(
+                new CounterDelta(firstAccount, 5, 1, 0),
+                new CounterDelta(secondAccount, 17, 0, 2)), deltas.getValue());
+        verify(accountProfileCache).evict(firstAccount);
+        verify(accountProfileCache).evict(secondAccount);
+        verify(leaderboardService).incrementPoints(Map.of(firstAccount, 5, secondAccount, 17));
+        verify(accountChangeRepository).append(List.of(firstAccount, secondAccount), AccountChangeType.COUNTERS);
+        assertEquals(3.0, meterRegistry.get("auth.account_counters.events").tag("result", "applied").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should skip events that were already applied")
+    void testApplySkipsDuplicates() {
+        // Arrange
+        when(accountCounterRepository.recordNewEvents(anyCollection())).thenReturn(Set.of("e2"));
+        when(accountCounterRepository.applyDeltas(anyList())).thenReturn(new int[]{1});
+
+        // Act
+        counterService.apply(List.of(
+                event("e1", firstAccount, 10, 0, 1),
+                event("e2", firstAccount, 3, 0, 0),
+                event("e2", firstAccount, 3, 0, 0)));
+
+        // Assert
+        verify(accountCounterRepository).applyDeltas(List.of(new CounterDelta(firstAccount, 3, 0, 0)));
+        assertEquals(1.0, meterRegistry.get("auth.account_counters.events").tag("result", "duplicate").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not update accounts when every event is a redelivery")
+    void testApplyAllDuplicates() {
+        // Arrange
+        when(accountCounterRepository.recordNewEvents(anyCollection())).thenReturn(Set.of());
+
+        // Act
+        counterService.apply(List.of(event("e1", firstAccount, 10, 0, 1)));
+
+        // Assert
+        verify(accountCounterRepository, never()).applyDeltas(anyList());
+        verifyNoInteractions(accountProfileCache, leaderboardService, accountChangeRepository);
+    }
+
+    @Test
+    @DisplayName("Should keep buffered events for the next flush when a flush fails")
+    @SuppressWarnings("unchecked")
+    void testFlushFailureRequeues() {
+        // Arrange
+        counterService.submit(event("e1", firstAccount, 10, 0, 1));
+        when(accountCounterRepository.recordNewEvents(anyCollection()))
+                .thenThrow(new RuntimeException("connection reset"))
+                .thenReturn(Set.of("e1"));
+        when(accountCounterRepository.applyDeltas(anyList())).thenReturn(new int[]{1});
+
+        // Act
+        counterService.flush();
+        counterService.flush();
+
+        // Assert
+        ArgumentCaptor<Collection<CounterIncrementRequest>> recorded = ArgumentCaptor.forClass(Collection.class);
+        verify(accountCounterRepository, times(2)).recordNewEvents(recorded.capture());
+        assertEquals(1, recorded.getAllValues().get(1).size());
+        verify(accountCounterRepository).applyDeltas(List.of(new CounterDelta(firstAccount, 10, 0, 1)));
+    }
+
+    @Test
+    @DisplayName("Should refuse increments with 503 once pending events reach the cap")
+    void testSubmitRejectsWhenBackedUp() {
+        // Arrange
+        ReflectionTestUtils.setField(counterService, "maxPending", 2);
+        counterService.submit(event("e1", firstAccount, 10, 0, 1));
+        counterService.submit(event("e2", secondAccount, 5, 0, 0));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> counterService.submit(event("e3", firstAccount, 1, 0, 0)));
+        assertEquals(1.0, meterRegistry.get("auth.account_counters.events").tag("result", "rejected").counter().count());
+        verifyNoInteractions(accountCounterRepository);
+    }
+
+    @Test
+    @DisplayName("Should keep refusing increments while failed flushes hold the buffer at the cap")
+    @SuppressWarnings("unchecked")
+    void testFlushFailureStaysBounded() {
+        // Arrange
+        ReflectionTestUtils.setField(counterService, "maxPending", 2);
+        counterService.submit(event("e1", firstAccount, 10, 0, 1));
+        counterService.submit(event("e2", secondAccount, 5, 0, 0));
+        when(accountCounterRepository.recordNewEvents(anyCollection()))
+                .thenThrow(new RuntimeException("connection reset"))
+                .thenReturn(Set.of("e1", "e2"));
+        when(accountCounterRepository.applyDeltas(anyList())).thenReturn(new int[]{1, 1});
+
+        // Act
+        counterService.flush();
+
+        // Assert
+        assertThrows(ServiceUnavailableException.class, () -> counterService.submit(event("e3", firstAccount, 1, 0, 0)));
+        counterService.flush();
+        counterService.submit(event("e3", firstAccount, 1, 0, 0));
+        ArgumentCaptor<Collection<CounterIncrementRequest>> recorded = ArgumentCaptor.forClass(Collection.class);
+        verify(accountCounterRepository, times(2)).recordNewEvents(recorded.capture());
+        assertEquals(2, recorded.getAllValues().get(1).size());
+    }
+
+    @Test
+    @DisplayName("Should reject increments without an event id or delta")
+    void testSubmitValidation() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> counterService.submit(event(null, firstAccount, 1, 0, 0)));
+        assertThrows(BadRequestException.class, () -> counterService.submit(event("e1", firstAccount, 0, 0, 0)));
+        counterService.flush();
+        verifyNoInteractions(accountCounterRepository);
+    }
+
+    private CounterIncrementRequest event(String eventId, UUID accountId, int reward, int assigned, int completed) {
+        return CounterIncrementRequest.builder()
+                .eventId(eventId)
+                .accountId(accountId)
+                .rewardPoints(reward)
+                .tasksAssigned(assigned)
+                .tasksCompleted(completed)
+                .build();
+    }
+}
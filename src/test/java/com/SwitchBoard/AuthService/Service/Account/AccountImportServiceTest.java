@@ -0,0 +1,219 @@
+package com.SwitchBoard.AuthService.Service.Account;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeType;
+import com.SwitchBoard.AuthService.DTO.Account.AccountImportError;
+import com.SwitchBoard.AuthService.DTO.Account.AccountImportSummary;
+import com.SwitchBoard.AuthService.Messaging.Publisher.NotificationPublisher;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository;
+import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import com.SwitchBoard.AuthService.Service.Leaderboard.LeaderboardService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Account Import Service Test")
+class AccountImportServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private NotificationPublisher notificationPublisher;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private AccountChangeRepository accountChangeRepository;
+
+    private AccountImportService importService;
+    private final List<AccountImportError> errors = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        importService = new AccountImportService(accountRepository, jdbcTemplate, transactionTemplate,
+                notificationPublisher, new ObjectMapper(), leaderboardService, accountChangeRepository);
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should insert valid NDJSON records in chunks and report rejected ones")
+    @SuppressWarnings("unchecked")
+    void testImportNdjson() throws Exception {
+        // Arrange
+        String body = """
+                {"name":"Ann","email":"Ann@Example.com"}
+                not json
+                {"name":"No Email"}
+                {"name":"Ann again","email":"ann@example.com"}
+
+                {"name":"Bob","email":"bob@example.com"}
+                {"name":"Cat","email":"cat@example.com"}
+                """;
+        when(accountRepository.findExistingEmails(anyCollection()))
+                .thenReturn(List.of("bob@example.com"), List.of());
+        stubInsert();
+
+        // Act
+        AccountImportSummary summary = importService.importAccounts(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), AccountImportService.Format.NDJSON, errors::add);
+
+        // Assert
+        assertEquals(new AccountImportSummary(6, 2, 4), summary);
+        assertEquals(List.of(2L, 3L, 4L, 5L), errors.stream().map(AccountImportError::getRecord).toList());
+        assertEquals("Duplicate email in upload", errors.get(2).getMessage());
+        assertEquals("Email already exists", errors.get(3).getMessage());
+
+        ArgumentCaptor<Map<String, String>> published = ArgumentCaptor.forClass(Map.class);
+        verify(notificationPublisher, times(2)).sendOnboardingNotifications(published.capture());
+        assertEquals(Map.of("ann@example.com", "Ann"), published.getAllValues().get(0));
+        assertEquals(Map.of("cat@example.com", "Cat"), published.getAllValues().get(1));
+        verify(leaderboardService, times(2)).addAccounts(argThat(ids -> ids.size() == 1));
+        verify(accountChangeRepository, times(2)).append(argThat(ids -> ids.size() == 1), eq(AccountChangeType.CREATED));
+    }
+
+    @Test
+    @DisplayName("Should map CSV columns by header and report rows skipped by a concurrent insert")
+    void testImportCsv() throws Exception {
+        // Arrange
+        String body = "name,email,aimRole\r\n\"Doe, Jane\",jane@example.com,Engineer\r\nshort,row\r\n";
+        when(accountRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        stubInsert("jane@example.com");
+
+        // Act
+        AccountImportSummary summary = importService.importAccounts(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), AccountImportService.Format.CSV, errors::add);
+
+        // Assert
+        assertEquals(new AccountImportSummary(2, 0, 2), summary);
+        assertTrue(errors.get(0).getMessage().startsWith("Expected 3 fields"));
+        assertEquals("jane@example.com", errors.get(1).getEmail());
+        verify(accountChangeRepository).append(List.of(), AccountChangeType.CREATED);
+        verifyNoInteractions(notificationPublisher, leaderboardService);
+    }
+
+    @Test
+    @DisplayName("Should take created rows from the INSERT's RETURNING ids, so skipped rows are never onboarded")
+    @SuppressWarnings("unchecked")
+    void testImportOnboardsOnlyReturnedRows() throws Exception {
+        // Arrange
+        String body = """
+                {"name":"Ann","email":"ann@example.com"}
+                {"name":"Bob","email":"bob@example.com"}
+                """;
+        when(accountRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        stubInsert("bob@example.com");
+
+        // Act
+        AccountImportSummary summary = importService.importAccounts(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), AccountImportService.Format.NDJSON, errors::add);
+
+        // Assert
+        assertEquals(new AccountImportSummary(2, 1, 1), summary);
+        assertEquals(2L, errors.get(0).getRecord());
+        assertEquals("Email already exists", errors.get(0).getMessage());
+        ArgumentCaptor<List<UUID>> changed = ArgumentCaptor.forClass(List.class);
+        verify(accountChangeRepository).append(changed.capture(), eq(AccountChangeType.CREATED));
+        assertEquals(1, changed.getValue().size());
+        verify(leaderboardService).addAccounts(changed.getValue());
+        verify(notificationPublisher).sendOnboardingNotifications(Map.of("ann@example.com", "Ann"));
+        verify(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should report an unterminated quote as a rejected record and still return the summary")
+    void testImportCsvUnterminatedQuote() throws Exception {
+        // Arrange
+        String body = "name,email\r\nAnn,ann@example.com\r\n\"Bob,bob@example.com\r\n";
+        when(accountRepository.findExistingEmails(anyCollection())).thenReturn(List.of("ann@example.com"));
+
+        // Act
+        AccountImportSummary summary = importService.importAccounts(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), AccountImportService.Format.CSV, errors::add);
+
+        // Assert
+        assertEquals(new AccountImportSummary(2, 0, 2), summary);
+        assertEquals(2L, errors.get(0).getRecord());
+        assertEquals("Malformed CSV: Unterminated quoted field", errors.get(0).getMessage());
+        verifyNoInteractions(jdbcTemplate, transactionTemplate, notificationPublisher);
+    }
+
+    @Test
+    @DisplayName("Should skip the insert when every record already exists")
+    void testImportAllExisting() throws Exception {
+        // Arrange
+        String body = "{\"email\":\"ann@example.com\"}\n";
+        when(accountRepository.findExistingEmails(anyCollection())).thenReturn(List.of("ann@example.com"));
+
+        // Act
+        AccountImportSummary summary = importService.importAccounts(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), AccountImportService.Format.NDJSON, errors::add);
+
+        // Assert
+        assertEquals(new AccountImportSummary(1, 0, 1), summary);
+        verifyNoInteractions(jdbcTemplate, transactionTemplate, notificationPublisher);
+    }
+
+    // Runs the INSERT's statement creator against a mock connection and returns the ids of the rows whose
+    // email is not listed, as RETURNING would when ON CONFLICT skips the listed ones
+    @SuppressWarnings("unchecked")
+    private void stubInsert(String... conflictingEmails) throws SQLException {
+        Set<String> conflicts = Set.of(conflictingEmails);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Set<UUID>>) invocation.getArgument(0)).doInTransaction(null));
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenAnswer(invocation -> {
+            List<Object[]> arrays = new ArrayList<>();
+            Connection connection = mock(Connection.class);
+            when(connection.prepareStatement(argThat(sql -> sql.endsWith("RETURNING id")))).thenReturn(mock(PreparedStatement.class));
+            when(connection.createArrayOf(anyString(), any())).thenAnswer(call -> {
+                arrays.add(call.getArgument(1));
+                return null;
+            });
+            invocation.getArgument(0, PreparedStatementCreator.class).createPreparedStatement(connection);
+
+            Object[] ids = arrays.get(0);
+            Object[] emails = arrays.get(2);
+            List<UUID> returned = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                if (!conflicts.contains(emails[i])) {
+                    returned.add((UUID) ids[i]);
+                }
+            }
+            return returned;
+        });
+    }
+}
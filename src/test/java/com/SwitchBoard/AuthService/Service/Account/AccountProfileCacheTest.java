@@ -0,0 +1,219 @@
+package com.SwitchBoard.AuthService.Service.Account;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Account Profile Cache Test")
+class AccountProfileCacheTest {
+
+    @Mock
+    private RedisTemplate<String, byte[]> bytesRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, byte[]> valueOperations;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private AccountProfileCache cache;
+    private MessageListener invalidationListener;
+
+    private UUID accountId;
+    private AccountResponseDto profile;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AccountProfileCache(bytesRedisTemplate, listenerContainer, objectMapper, meterRegistry, 100, 30);
+        ReflectionTestUtils.setField(cache, "redisTtlSeconds", 300L);
+
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+        invalidationListener = listener.getValue();
+
+        accountId = UUID.randomUUID();
+        profile = AccountResponseDto.builder().id(accountId).name("Test User").email("test@example.com").build();
+    }
+
+    @Test
+    @DisplayName("Should load from the database once and then serve from the local cache")
+    void testReadThrough() {
+        // Arrange
+        when(bytesRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(AccountProfileCache.profileKey(accountId))).thenReturn(null);
+        stubFill(1L);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        Optional<AccountResponseDto> first = cache.get(accountId, () -> {
+            loads.incrementAndGet();
+            return Optional.of(profile);
+        });
+        Optional<AccountResponseDto> second = cache.get(accountId, Optional::empty);
+
+        // Assert
+        assertEquals(profile, first.orElseThrow());
+        assertEquals(profile, second.orElseThrow());
+        assertEquals(1, loads.get());
+        verify(bytesRedisTemplate).execute(ArgumentMatchers.<RedisScript<Long>>any(),
+                eq(List.of(AccountProfileCache.profileKey(accountId), AccountProfileCache.generationKey(accountId))),
+                eq("0".getBytes(StandardCharsets.UTF_8)), any(byte[].class), eq("300".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1.0, meterRegistry.get("auth.account_profile.cache.redis").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should serve a profile held in Redis without calling the loader")
+    void testRedisHit() throws Exception {
+        // Arrange
+        byte[] bytes = objectMapper.writeValueAsBytes(
+                new AccountProfileCache.CachedProfile(System.currentTimeMillis(), profile));
+        when(bytesRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(AccountProfileCache.profileKey(accountId))).thenReturn(bytes);
+
+        // Act
+        Optional<AccountResponseDto> result = cache.get(accountId, () -> fail("loader should not run"));
+
+        // Assert
+        assertEquals(profile, result.orElseThrow());
+        assertEquals(1.0, meterRegistry.get("auth.account_profile.cache.redis").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("auth.account_profile.cache.staleness").summary().count());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database when Redis is unavailable")
+    void testRedisFailureFallsBack() {
+        // Arrange
+        when(bytesRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenThrow(new RuntimeException("connection refused"));
+
+        // Act
+        Optional<AccountResponseDto> result = cache.get(accountId, () -> Optional.of(profile));
+
+        // Assert
+        assertEquals(profile, result.orElseThrow());
+        verify(bytesRedisTemplate, never()).execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not cache a row loaded while the account was evicted")
+    void testEvictionDuringLoad() {
+        // Arrange
+        when(bytesRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        stubFill(0L);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.get(accountId, () -> {
+            loads.incrementAndGet();
+            return Optional.of(profile);
+        });
+        cache.get(accountId, () -> {
+            loads.incrementAndGet();
+            return Optional.of(profile);
+        });
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(2.0, meterRegistry.get("auth.account_profile.cache.stale_fills").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not keep a row locally when an invalidation arrived during its load")
+    void testLocalInvalidationDuringLoad() {
+        // Arrange
+        when(bytesRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        stubFill(1L);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.get(accountId, () -> {
+            loads.incrementAndGet();
+            invalidationListener.onMessage(new DefaultMessage(
+                    AccountProfileCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                    accountId.toString().getBytes(StandardCharsets.UTF_8)), null);
+            return Optional.of(profile);
+        });
+        cache.get(accountId, () -> {
+            loads.incrementAndGet();
+            return Optional.of(profile);
+        });
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should bump the generation, delete the Redis entry and broadcast the invalidation")
+    void testEvict() {
+        // Arrange
+        when(bytesRedisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        // Act
+        cache.evict(accountId);
+
+        // Assert
+        verify(valueOperations).increment(AccountProfileCache.generationKey(accountId));
+        verify(bytesRedisTemplate).expire(AccountProfileCache.generationKey(accountId), Duration.ofSeconds(300));
+        verify(bytesRedisTemplate).delete(AccountProfileCache.profileKey(accountId));
+        verify(bytesRedisTemplate).convertAndSend(AccountProfileCache.INVALIDATION_CHANNEL,
+                accountId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should drop the local copy when another node broadcasts an invalidation")
+    void testInvalidationMessage() {
+        // Arrange
+        when(bytesRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        stubFill(1L);
+        cache.get(accountId, () -> Optional.of(profile));
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        invalidationListener.onMessage(new DefaultMessage(
+                AccountProfileCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                accountId.toString().getBytes(StandardCharsets.UTF_8)), null);
+        cache.get(accountId, () -> {
+            loads.incrementAndGet();
+            return Optional.of(profile);
+        });
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    private void stubFill(Long result) {
+        when(bytesRedisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), any(), any(), any()))
+                .thenReturn(result);
+    }
+}
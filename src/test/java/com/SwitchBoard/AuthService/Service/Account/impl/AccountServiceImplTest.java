@@ -1,12 +1,22 @@
 package com.SwitchBoard.AuthService.Service.Account.impl;
 
+import com.SwitchBoard.AuthService.DTO.Account.AccountBatchRequest;
+import com.SwitchBoard.AuthService.DTO.Account.AccountChangeType;
+import com.SwitchBoard.AuthService.DTO.Account.AccountPageResponse;
 import com.SwitchBoard.AuthService.DTO.Account.AccountRequestDto;
 import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
+import com.SwitchBoard.AuthService.DTO.Account.AccountSearchResponse;
 import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
 import com.SwitchBoard.AuthService.DTO.Authentication.ApiResponse;
+import com.SwitchBoard.AuthService.Exception.BadRequestException;
+import com.SwitchBoard.AuthService.Exception.ConflictException;
 import com.SwitchBoard.AuthService.Messaging.Publisher.NotificationPublisher;
 import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Repository.AccountChangeRepository;
 import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import com.SwitchBoard.AuthService.Service.Account.AccountProfileCache;
+import com.SwitchBoard.AuthService.Service.Leaderboard.LeaderboardService;
+import com.SwitchBoard.AuthService.Util.AccountMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,11 +25,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +48,15 @@ class AccountServiceImplTest {
     @Mock
     private NotificationPublisher notificationPublisher;
 
+    @Mock
+    private AccountProfileCache accountProfileCache;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private AccountChangeRepository accountChangeRepository;
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
@@ -42,7 +67,11 @@ class AccountServiceImplTest {
     @BeforeEach
     void setUp() {
         testAccountId = UUID.randomUUID();
-        
+        ReflectionTestUtils.setField(accountService, "maxPageSize", 500);
+        ReflectionTestUtils.setField(accountService, "maxBatchSize", 3);
+        ReflectionTestUtils.setField(accountService, "maxSearchSize", 50);
+        ReflectionTestUtils.setField(accountService, "maxSearchOffset", 1000);
+
         testAccount = Account.builder()
                 .id(testAccountId)
                 .name("Test User")
@@ -57,7 +86,7 @@ class AccountServiceImplTest {
                 .totalRewardPoints(100)
                 .taskAssignedCount(10)
                 .taskCompletedCount(8)
-                .userRole(Collections.singletonList(USER_ROLE.USER))
+                .userRole(EnumSet.of(USER_ROLE.USER))
                 .googleAccount(false)
                 .build();
 
@@ -79,7 +108,7 @@ class AccountServiceImplTest {
     void testCreateProfileSuccess() {
         // Arrange
         when(accountRepository.findByEmail(testAccountRequestDto.getEmail())).thenReturn(Optional.empty());
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(testAccount);
 
         // Act
         ApiResponse response = accountService.createProfile(testAccountRequestDto);
@@ -90,7 +119,7 @@ class AccountServiceImplTest {
         assertTrue(response.getMessage().contains("Account created successfully"));
 
         ArgumentCaptor<Account> accountCaptor = ArgumentCaptor.forClass(Account.class);
-        verify(accountRepository).save(accountCaptor.capture());
+        verify(accountRepository).saveAndFlush(accountCaptor.capture());
         Account savedAccount = accountCaptor.getValue();
 
         assertEquals(testAccountRequestDto.getName(), savedAccount.getName());
@@ -103,6 +132,8 @@ class AccountServiceImplTest {
 
         verify(notificationPublisher).sendOnboardingNotification(
                 savedAccount.getEmail(), savedAccount.getName());
+        verify(leaderboardService).addAccounts(List.of(testAccountId));
+        verify(accountChangeRepository).append(List.of(testAccountId), AccountChangeType.CREATED);
     }
 
     @Test
@@ -117,24 +148,50 @@ class AccountServiceImplTest {
         });
 
         assertTrue(exception.getMessage().contains("Email already exists"));
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountRepository, never()).saveAndFlush(any(Account.class));
         verify(notificationPublisher, never()).sendOnboardingNotification(anyString(), anyString());
     }
 
+    @Test
+    @DisplayName("Should report a concurrent registration of the same email as a duplicate")
+    void testCreateProfileConcurrentDuplicate() {
+        // Arrange
+        when(accountRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
+        when(accountRepository.saveAndFlush(any(Account.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates idx_account_email_lower"));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> accountService.createProfile(testAccountRequestDto));
+        assertTrue(exception.getMessage().contains("Email already exists"));
+        verifyNoInteractions(leaderboardService, notificationPublisher, accountChangeRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a profile without an email")
+    void testCreateProfileBlankEmail() {
+        // Arrange
+        testAccountRequestDto.setEmail("  ");
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> accountService.createProfile(testAccountRequestDto));
+        verifyNoInteractions(accountRepository);
+    }
+
     @Test
     @DisplayName("Should convert email to lowercase when creating profile")
     void testCreateProfileEmailLowercase() {
         // Arrange
         testAccountRequestDto.setEmail("Test@EXAMPLE.COM");
         when(accountRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(accountRepository.saveAndFlush(any(Account.class))).thenReturn(testAccount);
 
         // Act
         accountService.createProfile(testAccountRequestDto);
 
         // Assert
         ArgumentCaptor<Account> accountCaptor = ArgumentCaptor.forClass(Account.class);
-        verify(accountRepository).save(accountCaptor.capture());
+        verify(accountRepository).saveAndFlush(accountCaptor.capture());
         assertEquals("test@example.com", accountCaptor.getValue().getEmail());
     }
 
@@ -151,8 +208,7 @@ class AccountServiceImplTest {
                 .leetcodeUrl("https://leetcode.com/newurl")
                 .build();
 
-        when(accountRepository.findById(testAccountId)).thenReturn(Optional.of(testAccount));
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(accountRepository.applyProfilePatch(testAccountId, updates)).thenReturn(List.of("Test User"));
 
         // Act
         ApiResponse response = accountService.updateProfile(testAccountId, updates);
@@ -160,40 +216,29 @@ class AccountServiceImplTest {
         // Assert
         assertNotNull(response);
         assertTrue(response.isSuccess());
-        assertTrue(response.getMessage().contains("User profile updated successfully"));
+        assertEquals("User profile updated successfully for Test User", response.getMessage());
 
-        verify(accountRepository).findById(testAccountId);
-        verify(accountRepository).save(testAccount);
-
-        assertEquals(updates.getAimRole(), testAccount.getAimRole());
-        assertEquals(updates.getCurrentRole(), testAccount.getCurrentRole());
-        assertEquals(updates.getMobile(), testAccount.getMobile());
-        assertEquals(updates.getGithubUrl(), testAccount.getGithubUrl());
-        assertEquals(updates.getLinkedinUrl(), testAccount.getLinkedinUrl());
-        assertEquals(updates.getLeetcodeUrl(), testAccount.getLeetcodeUrl());
+        verify(accountRepository).applyProfilePatch(testAccountId, updates);
+        verify(accountProfileCache).evict(testAccountId);
+        verify(accountChangeRepository).append(List.of(testAccountId), AccountChangeType.UPDATED);
     }
 
     @Test
-    @DisplayName("Should update only non-null fields")
+    @DisplayName("Should update without loading or saving the entity")
     void testUpdateProfilePartialUpdate() {
         // Arrange
-        String originalMobile = testAccount.getMobile();
-        String originalGithub = testAccount.getGithubUrl();
-        
         AccountRequestDto updates = AccountRequestDto.builder()
                 .aimRole("Senior Developer")
                 .build();
 
-        when(accountRepository.findById(testAccountId)).thenReturn(Optional.of(testAccount));
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(accountRepository.applyProfilePatch(testAccountId, updates)).thenReturn(List.of("Test User"));
 
         // Act
         accountService.updateProfile(testAccountId, updates);
 
         // Assert
-        assertEquals(updates.getAimRole(), testAccount.getAimRole());
-        assertEquals(originalMobile, testAccount.getMobile());
-        assertEquals(originalGithub, testAccount.getGithubUrl());
+        verify(accountRepository, never()).findById(any());
+        verify(accountRepository, never()).save(any(Account.class));
     }
 
     @Test
@@ -204,7 +249,7 @@ class AccountServiceImplTest {
                 .aimRole("Senior Developer")
                 .build();
 
-        when(accountRepository.findById(testAccountId)).thenReturn(Optional.empty());
+        when(accountRepository.applyProfilePatch(testAccountId, updates)).thenReturn(List.of());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -212,7 +257,9 @@ class AccountServiceImplTest {
         });
 
         assertTrue(exception.getMessage().contains("User not found with ID"));
-        verify(accountRepository, never()).save(any(Account.class));
+        verify(accountRepository, never()).existsById(any());
+        verify(accountProfileCache, never()).evict(any());
+        verifyNoInteractions(accountChangeRepository);
     }
 
     @Test
@@ -227,11 +274,12 @@ class AccountServiceImplTest {
                 .totalRewardPoints(50)
                 .taskAssignedCount(5)
                 .taskCompletedCount(3)
-                .userRole(Collections.singletonList(USER_ROLE.USER))
+                .userRole(EnumSet.of(USER_ROLE.USER))
                 .build();
 
-        List<Account> accounts = Arrays.asList(testAccount, account2);
-        when(accountRepository.findAll()).thenReturn(accounts);
+        List<AccountResponseDto> accounts = Arrays.asList(
+                AccountMapper.toResponseDto(testAccount), AccountMapper.toResponseDto(account2));
+        when(accountRepository.findAllResponses()).thenReturn(accounts);
 
         // Act
         List<AccountResponseDto> result = accountService.getAllUsers();
@@ -251,14 +299,14 @@ class AccountServiceImplTest {
         assertEquals(account2.getId(), dto2.getId());
         assertEquals(account2.getName(), dto2.getName());
 
-        verify(accountRepository).findAll();
+        verify(accountRepository).findAllResponses();
     }
 
     @Test
     @DisplayName("Should return empty list when no users exist")
     void testGetAllUsersEmpty() {
         // Arrange
-        when(accountRepository.findAll()).thenReturn(Collections.emptyList());
+        when(accountRepository.findAllResponses()).thenReturn(Collections.emptyList());
 
         // Act
         List<AccountResponseDto> result = accountService.getAllUsers();
@@ -266,14 +314,15 @@ class AccountServiceImplTest {
         // Assert
         assertNotNull(result);
         assertTrue(result.isEmpty());
-        verify(accountRepository).findAll();
+        verify(accountRepository).findAllResponses();
     }
 
     @Test
     @DisplayName("Should get user by ID successfully")
     void testGetUserSuccess() {
         // Arrange
-        when(accountRepository.findById(testAccountId)).thenReturn(Optional.of(testAccount));
+        stubCacheMiss();
+        when(accountRepository.findResponseById(testAccountId)).thenReturn(Optional.of(AccountMapper.toResponseDto(testAccount)));
 
         // Act
         AccountResponseDto result = accountService.getUser(testAccountId);
@@ -294,14 +343,15 @@ class AccountServiceImplTest {
         assertEquals(testAccount.getTaskAssignedCount(), result.getTaskAssignedCount());
         assertEquals(testAccount.getTaskCompletedCount(), result.getTaskCompletedCount());
 
-        verify(accountRepository).findById(testAccountId);
+        verify(accountRepository).findResponseById(testAccountId);
     }
 
     @Test
     @DisplayName("Should throw exception when getting non-existent user")
     void testGetUserNotFound() {
         // Arrange
-        when(accountRepository.findById(testAccountId)).thenReturn(Optional.empty());
+        stubCacheMiss();
+        when(accountRepository.findResponseById(testAccountId)).thenReturn(Optional.empty());
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -309,7 +359,7 @@ class AccountServiceImplTest {
         });
 
         assertTrue(exception.getMessage().contains("User not found with ID"));
-        verify(accountRepository).findById(testAccountId);
+        verify(accountRepository).findResponseById(testAccountId);
     }
 
     @Test
@@ -317,7 +367,7 @@ class AccountServiceImplTest {
     void testCreateProfileRepositoryException() {
         // Arrange
         when(accountRepository.findByEmail(anyString())).thenReturn(Optional.empty());
-        when(accountRepository.save(any(Account.class))).thenThrow(new RuntimeException("Database error"));
+        when(accountRepository.saveAndFlush(any(Account.class))).thenThrow(new RuntimeException("Database error"));
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
@@ -328,33 +378,202 @@ class AccountServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should update all fields when all are provided")
-    void testUpdateProfileAllFields() {
+    @DisplayName("Should report a conflict when the expected version is stale")
+    void testUpdateProfileStaleVersion() {
         // Arrange
-        Date newDeadline = new Date();
         AccountRequestDto updates = AccountRequestDto.builder()
                 .aimRole("Tech Lead")
-                .currentRole("Senior Developer")
-                .mobile("5555555555")
-                .githubUrl("https://github.com/updated")
-                .linkedinUrl("https://linkedin.com/in/updated")
-                .leetcodeUrl("https://leetcode.com/updated")
-                .deadline(newDeadline)
+                .version(3L)
                 .build();
 
-        when(accountRepository.findById(testAccountId)).thenReturn(Optional.of(testAccount));
-        when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
+        when(accountRepository.applyProfilePatch(testAccountId, updates)).thenReturn(List.of());
+        when(accountRepository.existsById(testAccountId)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> accountService.updateProfile(testAccountId, updates));
+        verify(accountProfileCache, never()).evict(any());
+    }
+
+    @Test
+    @DisplayName("Should return a cursor when more users exist after the page")
+    void testListUsersFirstPage() {
+        // Arrange
+        AccountResponseDto account2 = AccountResponseDto.builder().id(UUID.randomUUID()).build();
+        when(accountRepository.findFirstPage(Limit.of(2)))
+                .thenReturn(List.of(AccountMapper.toResponseDto(testAccount), account2));
 
         // Act
-        accountService.updateProfile(testAccountId, updates);
+        AccountPageResponse result = accountService.listUsers(null, 1);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(testAccountId, result.getItems().get(0).getId());
+        assertEquals(testAccountId, result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should return no cursor on the last page")
+    void testListUsersLastPage() {
+        // Arrange
+        UUID after = UUID.randomUUID();
+        when(accountRepository.findPageAfter(after, Limit.of(11))).thenReturn(List.of(AccountMapper.toResponseDto(testAccount)));
+
+        // Act
+        AccountPageResponse result = accountService.listUsers(after, 10);
 
         // Assert
-        assertEquals(updates.getAimRole(), testAccount.getAimRole());
-        assertEquals(updates.getCurrentRole(), testAccount.getCurrentRole());
-        assertEquals(updates.getMobile(), testAccount.getMobile());
-        assertEquals(updates.getGithubUrl(), testAccount.getGithubUrl());
-        assertEquals(updates.getLinkedinUrl(), testAccount.getLinkedinUrl());
-        assertEquals(updates.getLeetcodeUrl(), testAccount.getLeetcodeUrl());
-        assertEquals(newDeadline, testAccount.getDeadline());
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+        verify(accountRepository, never()).findFirstPage(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a page size outside the allowed range")
+    void testListUsersInvalidLimit() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> accountService.listUsers(null, 0));
+        assertThrows(BadRequestException.class, () -> accountService.listUsers(null, 501));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should filter by role bit and page from the nil UUID")
+    void testListUsersByRole() {
+        // Arrange
+        UUID adminId = UUID.randomUUID();
+        AccountResponseDto admin = AccountResponseDto.builder().id(adminId).build();
+        when(accountRepository.findIdsWithAnyRole(USER_ROLE.ADMIN.mask(), new UUID(0L, 0L), 2))
+                .thenReturn(List.of(testAccountId, adminId));
+        when(accountRepository.findResponsesByIds(List.of(testAccountId)))
+                .thenReturn(List.of(AccountMapper.toResponseDto(testAccount)));
+
+        // Act
+        AccountPageResponse result = accountService.listUsersByRole(USER_ROLE.ADMIN, null, 1);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals(testAccountId, result.getNextCursor());
+        verify(accountRepository, never()).findResponsesByIds(List.of(adminId));
+    }
+
+    @Test
+    @DisplayName("Should search by escaped prefix and substring and keep the ranked order")
+    void testSearchUsers() {
+        // Arrange
+        UUID otherId = UUID.randomUUID();
+        AccountResponseDto other = AccountResponseDto.builder().id(otherId).build();
+        when(accountRepository.searchIdsBySubstring("te_st", "te\\_st%", "%te\\_st%", 3, 2))
+                .thenReturn(List.of(otherId, testAccountId, UUID.randomUUID()));
+        when(accountRepository.findResponsesByIds(List.of(otherId, testAccountId)))
+                .thenReturn(List.of(AccountMapper.toResponseDto(testAccount), other));
+
+        // Act
+        AccountSearchResponse result = accountService.searchUsers(" Te_St ", 1, 2);
+
+        // Assert
+        assertEquals(List.of(otherId, testAccountId), result.getItems().stream().map(AccountResponseDto::getId).toList());
+        assertTrue(result.isHasMore());
+        assertEquals(1, result.getPage());
+    }
+
+    @Test
+    @DisplayName("Should only search prefixes for short queries")
+    void testSearchUsersShortQuery() {
+        // Arrange
+        when(accountRepository.searchIdsByPrefix("te", "te%", 21, 0)).thenReturn(List.of());
+
+        // Act
+        AccountSearchResponse result = accountService.searchUsers("te", 0, 20);
+
+        // Assert
+        assertTrue(result.getItems().isEmpty());
+        assertFalse(result.isHasMore());
+        verify(accountRepository, never()).findResponsesByIds(any());
+    }
+
+    @Test
+    @DisplayName("Should reject blank queries, oversized pages and deep offsets")
+    void testSearchUsersInvalid() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> accountService.searchUsers("  ", 0, 20));
+        assertThrows(BadRequestException.class, () -> accountService.searchUsers("test", 0, 51));
+        assertThrows(BadRequestException.class, () -> accountService.searchUsers("test", 51, 20));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should stream users in order")
+    void testStreamAllUsers() {
+        // Arrange
+        AccountResponseDto account2 = AccountResponseDto.builder().id(UUID.randomUUID()).build();
+        when(accountRepository.streamAllOrderById())
+                .thenReturn(Stream.of(AccountMapper.toResponseDto(testAccount), account2));
+        List<UUID> streamed = new ArrayList<>();
+
+        // Act
+        accountService.streamAllUsers(user -> streamed.add(user.getId()));
+
+        // Assert
+        assertEquals(List.of(testAccountId, account2.getId()), streamed);
+    }
+
+    @Test
+    @DisplayName("Should serve a cached profile without querying the database")
+    void testGetUserFromCache() {
+        // Arrange
+        when(accountProfileCache.get(eq(testAccountId), any()))
+                .thenReturn(Optional.of(AccountMapper.toResponseDto(testAccount)));
+
+        // Act
+        AccountResponseDto result = accountService.getUser(testAccountId);
+
+        // Assert
+        assertEquals(testAccountId, result.getId());
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should resolve ids and emails with one query each, keyed as requested")
+    void testGetUsersBatch() {
+        // Arrange
+        AccountResponseDto dto = AccountMapper.toResponseDto(testAccount);
+        UUID unknownId = UUID.randomUUID();
+        AccountBatchRequest request = AccountBatchRequest.builder()
+                .ids(List.of(testAccountId, unknownId))
+                .emails(List.of("Test@Example.com"))
+                .build();
+        when(accountRepository.findResponsesByIds(Set.of(testAccountId, unknownId))).thenReturn(List.of(dto));
+        when(accountRepository.findResponsesByEmails(Set.of("test@example.com"))).thenReturn(List.of(dto));
+
+        // Act
+        Map<String, AccountResponseDto> result = accountService.getUsers(request);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(dto, result.get(testAccountId.toString()));
+        assertEquals(dto, result.get("Test@Example.com"));
+        assertFalse(result.containsKey(unknownId.toString()));
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized batches")
+    void testGetUsersBatchSize() {
+        // Arrange
+        AccountBatchRequest empty = new AccountBatchRequest();
+        AccountBatchRequest oversized = AccountBatchRequest.builder()
+                .ids(List.of(UUID.randomUUID(), UUID.randomUUID()))
+                .emails(List.of("a@example.com", "b@example.com"))
+                .build();
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> accountService.getUsers(empty));
+        assertThrows(BadRequestException.class, () -> accountService.getUsers(oversized));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubCacheMiss() {
+        when(accountProfileCache.get(eq(testAccountId), any()))
+                .thenAnswer(invocation -> ((Supplier<Optional<AccountResponseDto>>) invocation.getArgument(1)).get());
     }
 }
@@ -0,0 +1,206 @@
+package com.SwitchBoard.AuthService.Service.Leaderboard;
+
+import com.SwitchBoard.AuthService.DTO.Leaderboard.LeaderboardEntry;
+import com.SwitchBoard.AuthService.Exception.BadRequestException;
+import com.SwitchBoard.AuthService.Exception.ResourceNotFoundException;
+import com.SwitchBoard.AuthService.Repository.AccountCounterRepository;
+import com.SwitchBoard.AuthService.Util.RedisLease;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.ObjIntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Leaderboard Service Test")
+class LeaderboardServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, Object> zSetOperations;
+
+    @Mock
+    private AccountCounterRepository accountCounterRepository;
+
+    @Mock
+    private RedisLease redisLease;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LeaderboardService leaderboardService;
+
+    private final UUID first = new UUID(0, 1);
+    private final UUID second = new UUID(0, 2);
+    private final UUID third = new UUID(0, 3);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        leaderboardService = new LeaderboardService(redisTemplate, accountCounterRepository, redisLease, meterRegistry);
+        ReflectionTestUtils.setField(leaderboardService, "maxPageSize", 100);
+        ReflectionTestUtils.setField(leaderboardService, "rebuildChunkSize", 2);
+        ReflectionTestUtils.setField(leaderboardService, "leaseSeconds", 600L);
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    @DisplayName("Should number top entries from one in descending score order")
+    void testTop() {
+        // Arrange
+        when(zSetOperations.reverseRangeWithScores(LeaderboardService.KEY, 0, 1))
+                .thenReturn(tuples(first, 90, second, 40));
+
+        // Act
+        List<LeaderboardEntry> top = leaderboardService.top(2);
+
+        // Assert
+        assertEquals(List.of(new LeaderboardEntry(1, first, 90), new LeaderboardEntry(2, second, 40)), top);
+    }
+
+    @Test
+    @DisplayName("Should reject a page size outside the allowed range")
+    void testTopInvalidLimit() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> leaderboardService.top(0));
+        assertThrows(BadRequestException.class, () -> leaderboardService.top(101));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should return the rank and points of an account")
+    void testRankOf() {
+        // Arrange
+        when(zSetOperations.reverseRank(LeaderboardService.KEY, second.toString())).thenReturn(4L);
+        when(zSetOperations.score(LeaderboardService.KEY, second.toString())).thenReturn(40.0);
+
+        // Act
+        LeaderboardEntry entry = leaderboardService.rankOf(second);
+
+        // Assert
+        assertEquals(new LeaderboardEntry(5, second, 40), entry);
+    }
+
+    @Test
+    @DisplayName("Should report accounts that are not on the leaderboard")
+    void testRankOfMissing() {
+        // Arrange
+        when(zSetOperations.reverseRank(LeaderboardService.KEY, first.toString())).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> leaderboardService.rankOf(first));
+    }
+
+    @Test
+    @DisplayName("Should clamp the around-me window at the top of the board")
+    void testAround() {
+        // Arrange
+        when(zSetOperations.reverseRank(LeaderboardService.KEY, second.toString())).thenReturn(1L);
+        when(zSetOperations.reverseRangeWithScores(LeaderboardService.KEY, 0, 3))
+                .thenReturn(tuples(first, 90, second, 40, third, 10));
+
+        // Act
+        List<LeaderboardEntry> around = leaderboardService.around(second, 2);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), around.stream().map(LeaderboardEntry::getRank).toList());
+        assertEquals(second, around.get(1).getAccountId());
+    }
+
+    @Test
+    @DisplayName("Should send point deltas as ZINCRBY commands in one pipeline")
+    @SuppressWarnings("unchecked")
+    void testIncrementPoints() {
+        // Arrange
+        RedisOperations<String, Object> operations = mock(RedisOperations.class);
+        when(operations.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation ->
+                List.of(((SessionCallback<Object>) invocation.getArgument(0)).execute(operations)));
+
+        // Act
+        leaderboardService.incrementPoints(Map.of(first, 15));
+
+        // Assert
+        verify(zSetOperations).incrementScore(LeaderboardService.KEY, first.toString(), 15);
+    }
+
+    @Test
+    @DisplayName("Should not fail the caller when Redis is unavailable")
+    void testAddAccountsRedisFailure() {
+        // Arrange
+        when(zSetOperations.addIfAbsent(eq(LeaderboardService.KEY), anySet())).thenThrow(new RuntimeException("Redis down"));
+
+        // Act
+        assertDoesNotThrow(() -> leaderboardService.addAccounts(List.of(first)));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("auth.leaderboard.update.errors").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should stage the rebuild in chunks and swap it in with RENAME")
+    @SuppressWarnings("unchecked")
+    void testRebuild() {
+        // Arrange
+        when(redisLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(Optional.of("owner"));
+        doAnswer(invocation -> {
+            ObjIntConsumer<UUID> consumer = invocation.getArgument(0);
+            consumer.accept(first, 90);
+            consumer.accept(second, 40);
+            consumer.accept(third, 10);
+            return null;
+        }).when(accountCounterRepository).scanRewardPoints(any());
+
+        // Act
+        boolean rebuilt = leaderboardService.rebuild();
+
+        // Assert
+        assertTrue(rebuilt);
+        verify(redisTemplate).delete(LeaderboardService.STAGING_KEY);
+        verify(zSetOperations, times(2)).add(eq(LeaderboardService.STAGING_KEY), anySet());
+        verify(redisTemplate).rename(LeaderboardService.STAGING_KEY, LeaderboardService.KEY);
+        verify(redisLease).release(anyString(), eq("owner"));
+    }
+
+    @Test
+    @DisplayName("Should skip the rebuild when another node holds the lease")
+    void testRebuildLeaseHeld() {
+        // Arrange
+        when(redisLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(leaderboardService.rebuild());
+        verifyNoInteractions(accountCounterRepository);
+        verify(redisTemplate, never()).rename(anyString(), anyString());
+    }
+
+    private Set<TypedTuple<Object>> tuples(Object... idsAndScores) {
+        Set<TypedTuple<Object>> tuples = new LinkedHashSet<>();
+        for (int i = 0; i < idsAndScores.length; i += 2) {
+            tuples.add(new DefaultTypedTuple<>(idsAndScores[i].toString(), ((Integer) idsAndScores[i + 1]).doubleValue()));
+        }
+        return tuples;
+    }
+}
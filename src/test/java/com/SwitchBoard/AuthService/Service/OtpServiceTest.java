@@ -3,6 +3,7 @@ package com.SwitchBoard.AuthService.Service;
 import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
 import com.SwitchBoard.AuthService.DTO.Authentication.ApiResponse;
 import com.SwitchBoard.AuthService.DTO.Authentication.AuthResponse;
+import com.SwitchBoard.AuthService.DTO.Authentication.OtpChallengeResponse;
 import com.SwitchBoard.AuthService.Exception.ResourceNotFoundException;
 import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
 import com.SwitchBoard.AuthService.Exception.UnexpectedException;
@@ -11,6 +12,7 @@ import com.SwitchBoard.AuthService.Model.Account;
 import com.SwitchBoard.AuthService.Model.RefreshToken;
 import com.SwitchBoard.AuthService.Repository.AccountRepository;
 import com.SwitchBoard.AuthService.Util.JwtUtil;
+import com.SwitchBoard.AuthService.Util.OtpChallengeCodec;
 import com.SwitchBoard.AuthService.Util.OtpUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -25,11 +27,14 @@ import org.mockito.quality.Strictness;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -58,6 +63,9 @@ class OtpServiceTest {
     @Mock
     private RefreshTokenService refreshTokenService;
 
+    @Mock
+    private OtpChallengeCodec otpChallengeCodec;
+
     @Mock
     private HashOperations<String, Object, Object> hashOperations;
 
@@ -88,7 +96,7 @@ class OtpServiceTest {
                 .id(UUID.randomUUID())
                 .email("test@example.com")
                 .name("Test User")
-                .userRole(Collections.singletonList(USER_ROLE.USER))
+                .userRole(EnumSet.of(USER_ROLE.USER))
                 .build();
 
         when(redisTemplate.opsForHash()).thenReturn(hashOperations);
@@ -101,7 +109,7 @@ class OtpServiceTest {
         // Arrange
         String email = "test@example.com";
         when(accountRepository.findByEmail(email)).thenReturn(Optional.of(testAccount));
-        when(redisTemplate.hasKey(COOLDOWN_PREFIX + email.toLowerCase())).thenReturn(false);
+        when(redisTemplate.hasKey(cooldownKey(email))).thenReturn(false);
 
         // Act
         ApiResponse response = otpService.generateOtp(email);
@@ -112,11 +120,12 @@ class OtpServiceTest {
         assertTrue(response.getMessage().contains("OTP sent successfully"));
 
         verify(accountRepository).findByEmail(email);
-        verify(redisTemplate).delete(OTP_PREFIX + email.toLowerCase());
-        verify(hashOperations).put(eq(OTP_PREFIX + email.toLowerCase()), eq("hash"), anyString());
-        verify(hashOperations).put(eq(OTP_PREFIX + email.toLowerCase()), eq("attempts"), eq(0));
-        verify(redisTemplate).expire(OTP_PREFIX + email.toLowerCase(), OTP_TTL_MINUTES, TimeUnit.MINUTES);
-        verify(valueOperations).set(eq(COOLDOWN_PREFIX + email.toLowerCase()), eq("1"), any(Duration.class));
+        verify(redisTemplate).delete(otpKey(email));
+        verify(hashOperations).put(eq(otpKey(email)), eq("hash"), anyString());
+        verify(hashOperations).put(eq(otpKey(email)), eq("attempts"), eq(0));
+        verify(redisTemplate).expire(otpKey(email), OTP_TTL_MINUTES, TimeUnit.MINUTES);
+        verify(valueOperations).set(eq(cooldownKey(email)), eq("1"), any(Duration.class));
+        verify(valueOperations).set(currentChallengeKey(email), "challenge-id", Duration.ofMinutes(OTP_TTL_MINUTES));
         verify(notificationPublisher).sendOtpNotification(eq(email), anyString());
     }
 
@@ -144,7 +153,7 @@ class OtpServiceTest {
         // Arrange
         String email = "test@example.com";
         when(accountRepository.findByEmail(email)).thenReturn(Optional.of(testAccount));
-        when(redisTemplate.hasKey(COOLDOWN_PREFIX + email.toLowerCase())).thenReturn(true);
+        when(redisTemplate.hasKey(cooldownKey(email))).thenReturn(true);
 
         // Act & Assert
         UnexpectedException exception = assertThrows(UnexpectedException.class, () -> {
@@ -170,9 +179,9 @@ class OtpServiceTest {
                 .expiryDate(LocalDateTime.now().plusDays(7))
                 .build();
 
-        when(redisTemplate.hasKey(OTP_PREFIX + email.toLowerCase())).thenReturn(true);
-        when(hashOperations.get(OTP_PREFIX + email.toLowerCase(), "hash")).thenReturn(hashedOtp);
-        when(hashOperations.get(OTP_PREFIX + email.toLowerCase(), "attempts")).thenReturn(0);
+        when(redisTemplate.hasKey(otpKey(email))).thenReturn(true);
+        when(hashOperations.get(otpKey(email), "hash")).thenReturn(hashedOtp);
+        when(hashOperations.get(otpKey(email), "attempts")).thenReturn(0);
         when(accountRepository.findByEmail(email)).thenReturn(Optional.of(testAccount));
         when(jwtUtil.generateToken(email, testAccount.getName(), testAccount.getId(), testAccount.getUserRole()))
                 .thenReturn(jwtToken);
@@ -187,7 +196,7 @@ class OtpServiceTest {
         assertEquals(refreshToken.getToken(), response.getRefreshToken());
         assertEquals(JWT_EXPIRATION, response.getExpiresIn());
 
-        verify(redisTemplate).delete(OTP_PREFIX + email.toLowerCase());
+        verify(redisTemplate).delete(otpKey(email));
         verify(jwtUtil).generateToken(email, testAccount.getName(), testAccount.getId(), testAccount.getUserRole());
         verify(refreshTokenService).createRefreshToken(testAccount);
     }
@@ -198,7 +207,7 @@ class OtpServiceTest {
         // Arrange
         String email = "test@example.com";
         String otp = "123456";
-        when(redisTemplate.hasKey(OTP_PREFIX + email.toLowerCase())).thenReturn(false);
+        when(redisTemplate.hasKey(otpKey(email))).thenReturn(false);
 
         // Act & Assert
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -216,9 +225,9 @@ class OtpServiceTest {
         String email = "test@example.com";
         String otp = "123456";
 
-        when(redisTemplate.hasKey(OTP_PREFIX + email.toLowerCase())).thenReturn(true);
-        when(hashOperations.get(OTP_PREFIX + email.toLowerCase(), "hash")).thenReturn("hashed-otp");
-        when(hashOperations.get(OTP_PREFIX + email.toLowerCase(), "attempts")).thenReturn(MAX_ATTEMPTS);
+        when(redisTemplate.hasKey(otpKey(email))).thenReturn(true);
+        when(hashOperations.get(otpKey(email), "hash")).thenReturn("hashed-otp");
+        when(hashOperations.get(otpKey(email), "attempts")).thenReturn(MAX_ATTEMPTS);
 
         // Act & Assert
         UnauthorizedException exception = assertThrows(UnauthorizedException.class, () -> {
@@ -226,7 +235,7 @@ class OtpServiceTest {
         });
 
         assertTrue(exception.getMessage().contains("Maximum attempts exceeded"));
-        verify(redisTemplate).delete(OTP_PREFIX + email.toLowerCase());
+        verify(redisTemplate).delete(otpKey(email));
         verify(accountRepository, never()).findByEmail(anyString());
     }
 
@@ -239,9 +248,9 @@ class OtpServiceTest {
         String correctHashedOtp = OtpUtils.hashOtp("654321");
         int currentAttempts = 1;
 
-        when(redisTemplate.hasKey(OTP_PREFIX + email.toLowerCase())).thenReturn(true);
-        when(hashOperations.get(OTP_PREFIX + email.toLowerCase(), "hash")).thenReturn(correctHashedOtp);
-        when(hashOperations.get(OTP_PREFIX + email.toLowerCase(), "attempts")).thenReturn(currentAttempts);
+        when(redisTemplate.hasKey(otpKey(email))).thenReturn(true);
+        when(hashOperations.get(otpKey(email), "hash")).thenReturn(correctHashedOtp);
+        when(hashOperations.get(otpKey(email), "attempts")).thenReturn(currentAttempts);
 
         // Act & Assert
         UnauthorizedException exception = assertThrows(UnauthorizedException.class, () -> {
@@ -249,7 +258,7 @@ class OtpServiceTest {
         });
 
         assertTrue(exception.getMessage().contains("Invalid OTP"));
-        verify(hashOperations).put(OTP_PREFIX + email.toLowerCase(), "attempts", currentAttempts + 1);
+        verify(hashOperations).put(otpKey(email), "attempts", currentAttempts + 1);
         verify(redisTemplate, never()).delete(anyString());
     }
 
@@ -266,9 +275,9 @@ class OtpServiceTest {
                 .expiryDate(LocalDateTime.now().plusDays(7))
                 .build();
 
-        when(redisTemplate.hasKey(OTP_PREFIX + email.toLowerCase())).thenReturn(true);
-        when(hashOperations.get(OTP_PREFIX + email.toLowerCase(), "hash")).thenReturn(hashedOtp);
-        when(hashOperations.get(OTP_PREFIX + email.toLowerCase(), "attempts")).thenReturn(null);
+        when(redisTemplate.hasKey(otpKey(email))).thenReturn(true);
+        when(hashOperations.get(otpKey(email), "hash")).thenReturn(hashedOtp);
+        when(hashOperations.get(otpKey(email), "attempts")).thenReturn(null);
         when(accountRepository.findByEmail(email)).thenReturn(Optional.of(testAccount));
         when(jwtUtil.generateToken(email, testAccount.getName(), testAccount.getId(), testAccount.getUserRole()))
                 .thenReturn(jwtToken);
@@ -279,7 +288,7 @@ class OtpServiceTest {
 
         // Assert
         assertNotNull(response);
-        verify(redisTemplate).delete(OTP_PREFIX + email.toLowerCase());
+        verify(redisTemplate).delete(otpKey(email));
     }
 
     @Test
@@ -290,9 +299,9 @@ class OtpServiceTest {
         String otp = "123456";
         String hashedOtp = OtpUtils.hashOtp(otp);
 
-        when(redisTemplate.hasKey(OTP_PREFIX + email.toLowerCase())).thenReturn(true);
-        when(hashOperations.get(OTP_PREFIX + email.toLowerCase(), "hash")).thenReturn(hashedOtp);
-        when(hashOperations.get(OTP_PREFIX + email.toLowerCase(), "attempts")).thenReturn(0);
+        when(redisTemplate.hasKey(otpKey(email))).thenReturn(true);
+        when(hashOperations.get(otpKey(email), "hash")).thenReturn(hashedOtp);
+        when(hashOperations.get(otpKey(email), "attempts")).thenReturn(0);
         when(accountRepository.findByEmail(email)).thenReturn(Optional.empty());
 
         // Act & Assert
@@ -301,7 +310,7 @@ class OtpServiceTest {
         });
 
         assertTrue(exception.getMessage().contains("User with email " + email + " not found"));
-        verify(redisTemplate).delete(OTP_PREFIX + email.toLowerCase());
+        verify(redisTemplate).delete(otpKey(email));
     }
 
     @Test
@@ -309,8 +318,8 @@ class OtpServiceTest {
     void testGenerateOtpEmailCaseInsensitive() {
         // Arrange
         String email = "Test@Example.COM";
-        when(accountRepository.findByEmail(email)).thenReturn(Optional.of(testAccount));
-        when(redisTemplate.hasKey(COOLDOWN_PREFIX + email.toLowerCase())).thenReturn(false);
+        when(accountRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testAccount));
+        when(redisTemplate.hasKey(cooldownKey(email))).thenReturn(false);
 
         // Act
         ApiResponse response = otpService.generateOtp(email);
@@ -330,13 +339,13 @@ class OtpServiceTest {
         // Arrange
         String email = "test@example.com";
         when(accountRepository.findByEmail(email)).thenReturn(Optional.of(testAccount));
-        when(redisTemplate.hasKey(COOLDOWN_PREFIX + email.toLowerCase())).thenReturn(false);
+        when(redisTemplate.hasKey(cooldownKey(email))).thenReturn(false);
 
         // Act
         otpService.generateOtp(email);
 
         // Assert
-        verify(redisTemplate).expire(OTP_PREFIX + email.toLowerCase(), OTP_TTL_MINUTES, TimeUnit.MINUTES);
+        verify(redisTemplate).expire(otpKey(email), OTP_TTL_MINUTES, TimeUnit.MINUTES);
     }
 
     @Test
@@ -345,14 +354,164 @@ class OtpServiceTest {
         // Arrange
         String email = "test@example.com";
         when(accountRepository.findByEmail(email)).thenReturn(Optional.of(testAccount));
-        when(redisTemplate.hasKey(COOLDOWN_PREFIX + email.toLowerCase())).thenReturn(false);
+        when(redisTemplate.hasKey(cooldownKey(email))).thenReturn(false);
 
         // Act
         otpService.generateOtp(email);
 
         // Assert
         ArgumentCaptor<Duration> durationCaptor = ArgumentCaptor.forClass(Duration.class);
-        verify(valueOperations).set(eq(COOLDOWN_PREFIX + email.toLowerCase()), eq("1"), durationCaptor.capture());
+        verify(valueOperations).set(eq(cooldownKey(email)), eq("1"), durationCaptor.capture());
         assertEquals(COOLDOWN_SECONDS, durationCaptor.getValue().getSeconds());
     }
+
+    @Test
+    @DisplayName("Should keep OTP and cooldown keys in the same cluster hash slot")
+    void testGenerateOtpKeysShareHashTag() {
+        // Arrange
+        String email = "Test@Example.COM";
+        when(accountRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testAccount));
+        when(redisTemplate.hasKey(cooldownKey(email))).thenReturn(false);
+
+        // Act
+        otpService.generateOtp(email);
+
+        // Assert
+        verify(hashOperations).put(eq("otp:{test@example.com}"), eq("hash"), anyString());
+        verify(valueOperations).set(eq("cooldown:{test@example.com}"), eq("1"), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should issue a sealed challenge without storing the OTP in Redis")
+    void testGenerateOtpChallengeMode() {
+        // Arrange
+        String email = "test@example.com";
+        ReflectionTestUtils.setField(otpService, "challengeEnabled", true);
+        when(accountRepository.findByEmail(email)).thenReturn(Optional.of(testAccount));
+        when(redisTemplate.hasKey(cooldownKey(email))).thenReturn(false);
+        when(otpChallengeCodec.newChallengeId()).thenReturn("challenge-id");
+        when(otpChallengeCodec.seal(eq(email), anyString(), anyLong(), eq("challenge-id"))).thenReturn("sealed-challenge");
+
+        // Act
+        ApiResponse response = otpService.generateOtp(email);
+
+        // Assert
+        assertTrue(response.isSuccess());
+        OtpChallengeResponse challenge = (OtpChallengeResponse) response.getData();
+        assertEquals("sealed-challenge", challenge.getChallenge());
+        assertEquals(OTP_TTL_MINUTES * 60L, challenge.getExpiresIn());
+        verify(hashOperations, never()).put(anyString(), any(), any());
+        verify(redisTemplate, never()).delete(anyString());
+        verify(valueOperations).set(eq(cooldownKey(email)), eq("1"), any(Duration.class));
+        verify(notificationPublisher).sendOtpNotification(eq(email), anyString());
+    }
+
+    @Test
+    @DisplayName("Should validate OTP against a sealed challenge")
+    void testValidateOtpChallengeSuccess() throws Exception {
+        // Arrange
+        String email = "test@example.com";
+        String otp = "123456";
+        OtpChallengeCodec.OtpChallenge challenge = new OtpChallengeCodec.OtpChallenge(
+                email, Instant.now().getEpochSecond() + 300, "challenge-id", "digest");
+        RefreshToken refreshToken = RefreshToken.builder()
+                .token("refresh-token")
+                .expiryDate(LocalDateTime.now().plusDays(7))
+                .build();
+
+        when(otpChallengeCodec.open("sealed-challenge")).thenReturn(challenge);
+        when(otpChallengeCodec.matches(challenge, otp)).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class),
+                eq(List.of(otpKey(email) + ":challenge:challenge-id", currentChallengeKey(email))),
+                eq("1"), eq(String.valueOf(MAX_ATTEMPTS)), anyString(), eq("challenge-id"))).thenReturn(0L);
+        when(accountRepository.findByEmail(email)).thenReturn(Optional.of(testAccount));
+        when(jwtUtil.generateToken(email, testAccount.getName(), testAccount.getId(), testAccount.getUserRole()))
+                .thenReturn("jwt-token");
+        when(refreshTokenService.createRefreshToken(testAccount)).thenReturn(refreshToken);
+
+        // Act
+        AuthResponse response = otpService.validateOtp(email, otp, "sealed-challenge");
+
+        // Assert
+        assertEquals("jwt-token", response.getAccessToken());
+        assertEquals("refresh-token", response.getRefreshToken());
+        verify(hashOperations, never()).get(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a challenge that was already used")
+    void testValidateOtpChallengeAlreadyUsed() {
+        // Arrange
+        String email = "test@example.com";
+        OtpChallengeCodec.OtpChallenge challenge = new OtpChallengeCodec.OtpChallenge(
+                email, Instant.now().getEpochSecond() + 300, "challenge-id", "digest");
+        when(otpChallengeCodec.open("sealed-challenge")).thenReturn(challenge);
+        when(otpChallengeCodec.matches(challenge, "123456")).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), eq("1"), anyString(), anyString(), anyString())).thenReturn(-2L);
+
+        // Act & Assert
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> otpService.validateOtp(email, "123456", "sealed-challenge"));
+        assertTrue(exception.getMessage().contains("already used"));
+        verify(refreshTokenService, never()).createRefreshToken(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a challenge superseded by a newer one for the same email")
+    void testValidateOtpChallengeSuperseded() {
+        // Arrange
+        String email = "test@example.com";
+        OtpChallengeCodec.OtpChallenge challenge = new OtpChallengeCodec.OtpChallenge(
+                email, Instant.now().getEpochSecond() + 300, "old-challenge-id", "digest");
+        when(otpChallengeCodec.open("sealed-challenge")).thenReturn(challenge);
+        when(otpChallengeCodec.matches(challenge, "123456")).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), eq("1"), anyString(), anyString(),
+                eq("old-challenge-id"))).thenReturn(-3L);
+
+        // Act & Assert
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> otpService.validateOtp(email, "123456", "sealed-challenge"));
+        assertTrue(exception.getMessage().contains("no longer valid"));
+        verify(refreshTokenService, never()).createRefreshToken(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a challenge issued for another email")
+    void testValidateOtpChallengeEmailMismatch() {
+        // Arrange
+        OtpChallengeCodec.OtpChallenge challenge = new OtpChallengeCodec.OtpChallenge(
+                "other@example.com", Instant.now().getEpochSecond() + 300, "challenge-id", "digest");
+        when(otpChallengeCodec.open("sealed-challenge")).thenReturn(challenge);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class,
+                () -> otpService.validateOtp("test@example.com", "123456", "sealed-challenge"));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired challenge")
+    void testValidateOtpChallengeExpired() {
+        // Arrange
+        String email = "test@example.com";
+        OtpChallengeCodec.OtpChallenge challenge = new OtpChallengeCodec.OtpChallenge(
+                email, Instant.now().getEpochSecond() - 1, "challenge-id", "digest");
+        when(otpChallengeCodec.open("sealed-challenge")).thenReturn(challenge);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> otpService.validateOtp(email, "123456", "sealed-challenge"));
+    }
+
+    private static String otpKey(String email) {
+        return OTP_PREFIX + "{" + email.toLowerCase() + "}";
+    }
+
+    private static String currentChallengeKey(String email) {
+        return otpKey(email) + ":challenge:current";
+    }
+
+    private static String cooldownKey(String email) {
+        return COOLDOWN_PREFIX + "{" + email.toLowerCase() + "}";
+    }
 }
@@ -0,0 +1,108 @@
+package com.SwitchBoard.AuthService.Service;
+
+import com.SwitchBoard.AuthService.Exception.UnexpectedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Refresh Token Family Registry Test")
+class RefreshTokenFamilyRegistryTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @InjectMocks
+    private RefreshTokenFamilyRegistry familyRegistry;
+
+    private static final long TRACKING_STARTED = 1_700_000_000_000L;
+    private final UUID familyId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(familyRegistry, "refreshTokenExpiration", 604800L);
+        ReflectionTestUtils.setField(familyRegistry, "adoptUntrackedIssuedBefore", TRACKING_STARTED);
+    }
+
+    @Test
+    @DisplayName("Should advance a family whose presented version is current")
+    void testAdvanceCurrentVersion() {
+        // Arrange
+        stubAdvance("0", 1L);
+
+        // Act & Assert
+        assertTrue(familyRegistry.advance(familyId, 1, TRACKING_STARTED + 1));
+    }
+
+    @Test
+    @DisplayName("Should reject a stale version")
+    void testAdvanceStaleVersion() {
+        // Arrange
+        stubAdvance("0", -1L);
+
+        // Act & Assert
+        assertFalse(familyRegistry.advance(familyId, 1, TRACKING_STARTED + 1));
+    }
+
+    @Test
+    @DisplayName("Should adopt an untracked family only for tokens issued before tracking started")
+    void testAdvanceAdoptsTokensIssuedBeforeTracking() {
+        // Arrange
+        stubAdvance("1", 0L);
+
+        // Act & Assert
+        assertTrue(familyRegistry.advance(familyId, 1, TRACKING_STARTED - 1));
+    }
+
+    @Test
+    @DisplayName("Should reject an untracked family for tokens issued after tracking started")
+    void testAdvanceRejectsUntrackedFamily() {
+        // Arrange
+        stubAdvance("0", -2L);
+
+        // Act & Assert
+        assertFalse(familyRegistry.advance(familyId, 1, TRACKING_STARTED + 1));
+    }
+
+    @Test
+    @DisplayName("Should never adopt when no tracking cutoff is configured")
+    void testAdvanceNeverAdoptsWithoutCutoff() {
+        // Arrange
+        ReflectionTestUtils.setField(familyRegistry, "adoptUntrackedIssuedBefore", 0L);
+        stubAdvance("0", -2L);
+
+        // Act & Assert
+        assertFalse(familyRegistry.advance(familyId, 1, 1L));
+    }
+
+    @Test
+    @DisplayName("Should throw when the advance script returns nothing")
+    void testAdvanceScriptUnavailable() {
+        // Arrange
+        stubAdvance("0", null);
+
+        // Act & Assert
+        assertThrows(UnexpectedException.class, () -> familyRegistry.advance(familyId, 1, TRACKING_STARTED + 1));
+    }
+
+    private void stubAdvance(String adoptable, Long result) {
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(),
+                eq(List.of(RefreshTokenFamilyRegistry.FAMILY_PREFIX + familyId)), eq("1"), eq("604800"), eq(adoptable)))
+                .thenReturn(result);
+    }
+}
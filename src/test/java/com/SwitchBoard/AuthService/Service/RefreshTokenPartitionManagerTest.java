@@ -0,0 +1,88 @@
+package com.SwitchBoard.AuthService.Service;
+
+import com.SwitchBoard.AuthService.Util.RedisLease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Refresh Token Partition Manager Test")
+class RefreshTokenPartitionManagerTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RedisLease redisLease;
+
+    @InjectMocks
+    private RefreshTokenPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(partitionManager, "monthsAhead", 2);
+        ReflectionTestUtils.setField(partitionManager, "retentionDays", 7);
+    }
+
+    @Test
+    @DisplayName("Should create future partitions and drop fully expired ones")
+    void testMaintain() {
+        // Arrange
+        YearMonth current = YearMonth.now();
+        String old = "refresh_tokens_p" + current.minusMonths(3).format(SUFFIX);
+        String live = "refresh_tokens_p" + current.format(SUFFIX);
+        when(redisLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(Optional.of("owner"));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("refresh_tokens")))
+                .thenReturn(List.of(old, live));
+
+        // Act
+        partitionManager.maintain();
+
+        // Assert
+        verify(jdbcTemplate).execute(contains("CREATE TABLE IF NOT EXISTS " + live + " PARTITION OF refresh_tokens"));
+        verify(jdbcTemplate).execute(contains("refresh_tokens_p" + current.plusMonths(2).format(SUFFIX)));
+        verify(jdbcTemplate).execute("ALTER TABLE refresh_tokens DETACH PARTITION " + old + " CONCURRENTLY");
+        verify(jdbcTemplate).execute("DROP TABLE " + old);
+        verify(jdbcTemplate, never()).execute("DROP TABLE " + live);
+        verify(redisLease).release(anyString(), eq("owner"));
+    }
+
+    @Test
+    @DisplayName("Should skip maintenance when another node holds the lease")
+    void testMaintainSkippedWithoutLease() {
+        // Arrange
+        when(redisLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(Optional.empty());
+
+        // Act
+        partitionManager.maintain();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should ignore tables that are not monthly partitions")
+    void testParseMonth() {
+        assertEquals(YearMonth.of(2025, 1), RefreshTokenPartitionManager.parseMonth("refresh_tokens_p202501"));
+        assertNull(RefreshTokenPartitionManager.parseMonth("refresh_tokens_archive"));
+        assertNull(RefreshTokenPartitionManager.parseMonth("refresh_tokens_pold"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.SwitchBoard.AuthService.Service;
+
+import com.SwitchBoard.AuthService.Repository.RefreshTokenRepository;
+import com.SwitchBoard.AuthService.Util.RedisLease;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Refresh Token Purge Job Test")
+class RefreshTokenPurgeJobTest {
+
+    private static final String LEASE_KEY = "lease:refresh-token-purge";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private RedisLease redisLease;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenPurgeJob purgeJob;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        purgeJob = new RefreshTokenPurgeJob(refreshTokenRepository, redisLease, meterRegistry);
+        ReflectionTestUtils.setField(purgeJob, "enabled", true);
+        ReflectionTestUtils.setField(purgeJob, "batchSize", 100);
+        ReflectionTestUtils.setField(purgeJob, "maxBatches", 10);
+        ReflectionTestUtils.setField(purgeJob, "revokedRetentionHours", 24L);
+        ReflectionTestUtils.setField(purgeJob, "leaseSeconds", 600L);
+    }
+
+    @Test
+    @DisplayName("Should delete in batches until a short batch and release the lease")
+    void testPurgeDeletesInBatches() {
+        // Arrange
+        when(redisLease.tryAcquire(LEASE_KEY, Duration.ofSeconds(600))).thenReturn(Optional.of("owner"));
+        when(refreshTokenRepository.deletePurgeableBatch(any(LocalDateTime.class), any(LocalDateTime.class), eq(100)))
+                .thenReturn(100, 100, 42);
+        when(refreshTokenRepository.totalRelationSize()).thenReturn(8192L);
+
+        // Act
+        purgeJob.purge();
+
+        // Assert
+        verify(refreshTokenRepository, times(3)).deletePurgeableBatch(any(LocalDateTime.class), any(LocalDateTime.class), eq(100));
+        assertEquals(242.0, meterRegistry.get("auth.refresh_tokens.purged").counter().count());
+        assertEquals(3, meterRegistry.get("auth.refresh_tokens.purge.batch").timer().count());
+        assertEquals(8192.0, meterRegistry.get("auth.refresh_tokens.table.size").gauge().value());
+        verify(redisLease).release(LEASE_KEY, "owner");
+    }
+
+    @Test
+    @DisplayName("Should stop after the configured number of batches")
+    void testPurgeHonoursMaxBatches() {
+        // Arrange
+        ReflectionTestUtils.setField(purgeJob, "maxBatches", 2);
+        when(refreshTokenRepository.deletePurgeableBatch(any(LocalDateTime.class), any(LocalDateTime.class), eq(100)))
+                .thenReturn(100);
+
+        // Act
+        long purged = purgeJob.purgeBatches();
+
+        // Assert
+        assertEquals(200, purged);
+        verify(refreshTokenRepository, times(2)).deletePurgeableBatch(any(LocalDateTime.class), any(LocalDateTime.class), eq(100));
+    }
+
+    @Test
+    @DisplayName("Should skip the run when another node holds the lease")
+    void testPurgeSkippedWithoutLease() {
+        // Arrange
+        when(redisLease.tryAcquire(eq(LEASE_KEY), any(Duration.class))).thenReturn(Optional.empty());
+
+        // Act
+        purgeJob.purge();
+
+        // Assert
+        verifyNoInteractions(refreshTokenRepository);
+    }
+}
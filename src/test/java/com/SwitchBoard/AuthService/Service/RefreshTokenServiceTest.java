@@ -1,8 +1,12 @@
 package com.SwitchBoard.AuthService.Service;
 
+import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
 import com.SwitchBoard.AuthService.Model.Account;
 import com.SwitchBoard.AuthService.Model.RefreshToken;
-import com.SwitchBoard.AuthService.Repository.RefreshTokenRepository;
+import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import com.SwitchBoard.AuthService.Repository.RefreshTokenStore;
+import com.SwitchBoard.AuthService.Util.RefreshTokenCodec;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,15 +14,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Date;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,7 +35,19 @@ import static org.mockito.Mockito.*;
 class RefreshTokenServiceTest {
 
     @Mock
-    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenStore refreshTokenStore;
+
+    @Mock
+    private RevokedAccountFilter revokedAccountFilter;
+
+    @Mock
+    private RefreshTokenFamilyRegistry refreshTokenFamilyRegistry;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Spy
+    private RefreshTokenCodec refreshTokenCodec = new RefreshTokenCodec();
 
     @InjectMocks
     private RefreshTokenService refreshTokenService;
@@ -37,6 +58,8 @@ class RefreshTokenServiceTest {
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(refreshTokenService, "refreshTokenExpiration", REFRESH_TOKEN_EXPIRATION);
+        ReflectionTestUtils.setField(refreshTokenCodec, "tokenSecret",
+                Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes()));
         
         testAccount = Account.builder()
                 .id(UUID.randomUUID())
@@ -51,13 +74,12 @@ class RefreshTokenServiceTest {
         // Arrange
         RefreshToken expectedToken = RefreshToken.builder()
                 .id(UUID.randomUUID())
-                .token("test-token-uuid")
                 .account(testAccount)
                 .expiryDate(LocalDateTime.now().plusSeconds(REFRESH_TOKEN_EXPIRATION))
                 .isRevoked(false)
                 .build();
 
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(expectedToken);
+        when(refreshTokenStore.issue(any(RefreshToken.class))).thenReturn(expectedToken);
 
         // Act
         RefreshToken result = refreshTokenService.createRefreshToken(testAccount);
@@ -67,75 +89,319 @@ class RefreshTokenServiceTest {
         assertEquals(testAccount, result.getAccount());
         assertFalse(result.getIsRevoked());
         
-        // Verify that existing tokens were revoked
-        verify(refreshTokenRepository).revokeAllTokensByAccount(testAccount);
-        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        // Existing tokens are revoked by the store as part of issuing
+        verify(refreshTokenStore).issue(any(RefreshToken.class));
 
         // Verify the saved token properties
         ArgumentCaptor<RefreshToken> tokenCaptor = ArgumentCaptor.forClass(RefreshToken.class);
-        verify(refreshTokenRepository).save(tokenCaptor.capture());
+        verify(refreshTokenStore).issue(tokenCaptor.capture());
         RefreshToken savedToken = tokenCaptor.getValue();
         
-        assertNotNull(savedToken.getToken());
-        assertTrue(savedToken.getToken().contains("-")); // UUID format check
+        assertNotNull(savedToken.getSelector());
+        assertEquals(32, savedToken.getVerifierHash().length);
+        assertNull(savedToken.getToken(), "Plaintext token must not be persisted");
         assertEquals(testAccount, savedToken.getAccount());
         assertNotNull(savedToken.getExpiryDate());
+
+        // The client receives selector.verifier, and only the verifier hash is stored
+        String[] parts = result.getToken().split("\\.");
+        assertEquals(2, parts.length);
+        assertEquals(savedToken.getSelector(), parts[0]);
+        assertArrayEquals(DigestUtils.sha256(parts[1]), savedToken.getVerifierHash());
     }
 
     @Test
-    @DisplayName("Should revoke all tokens before creating new one")
+    @DisplayName("Should issue new token in a single store call")
     void testCreateRefreshTokenRevokesExisting() {
         // Arrange
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(RefreshToken.builder().build());
+        when(refreshTokenStore.issue(any(RefreshToken.class))).thenReturn(RefreshToken.builder().build());
 
         // Act
         refreshTokenService.createRefreshToken(testAccount);
 
         // Assert
-        verify(refreshTokenRepository).revokeAllTokensByAccount(testAccount);
-        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(refreshTokenStore).issue(any(RefreshToken.class));
+        verifyNoMoreInteractions(refreshTokenStore);
     }
 
     @Test
-    @DisplayName("Should find valid token by token string")
+    @DisplayName("Should find valid token by selector and matching verifier")
     void testFindByToken() {
         // Arrange
-        String tokenString = "valid-token-uuid";
         RefreshToken expectedToken = RefreshToken.builder()
                 .id(UUID.randomUUID())
-                .token(tokenString)
+                .selector("selector")
+                .verifierHash(DigestUtils.sha256("verifier"))
                 .account(testAccount)
                 .expiryDate(LocalDateTime.now().plusDays(1))
                 .isRevoked(false)
                 .build();
 
-        when(refreshTokenRepository.findValidToken(eq(tokenString), any(LocalDateTime.class)))
+        when(refreshTokenStore.findValidBySelector(eq("selector"), any(LocalDateTime.class)))
                 .thenReturn(Optional.of(expectedToken));
 
         // Act
-        Optional<RefreshToken> result = refreshTokenService.findByToken(tokenString);
+        Optional<RefreshToken> result = refreshTokenService.findByToken("selector.verifier");
 
         // Assert
         assertTrue(result.isPresent());
-        assertEquals(tokenString, result.get().getToken());
+        assertEquals("selector", result.get().getSelector());
         assertEquals(testAccount, result.get().getAccount());
-        verify(refreshTokenRepository).findValidToken(eq(tokenString), any(LocalDateTime.class));
+        verify(refreshTokenStore).findValidBySelector(eq("selector"), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should return empty when verifier does not match")
+    void testFindByTokenWrongVerifier() {
+        // Arrange
+        RefreshToken storedToken = RefreshToken.builder()
+                .selector("selector")
+                .verifierHash(DigestUtils.sha256("verifier"))
+                .expiryDate(LocalDateTime.now().plusDays(1))
+                .build();
+        when(refreshTokenStore.findValidBySelector(eq("selector"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(storedToken));
+
+        // Act
+        Optional<RefreshToken> result = refreshTokenService.findByToken("selector.guessed");
+
+        // Assert
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    @DisplayName("Should resolve legacy UUID tokens migrated to selector/verifier")
+    void testFindByLegacyToken() {
+        // Arrange
+        String first = UUID.randomUUID().toString();
+        String second = UUID.randomUUID().toString();
+        RefreshToken storedToken = RefreshToken.builder()
+                .selector(first)
+                .verifierHash(DigestUtils.sha256(second))
+                .expiryDate(LocalDateTime.now().plusDays(1))
+                .build();
+        when(refreshTokenStore.findValidBySelector(eq(first), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(storedToken));
+
+        // Act
+        Optional<RefreshToken> result = refreshTokenService.findByToken(first + "-" + second);
+
+        // Assert
+        assertTrue(result.isPresent());
     }
 
     @Test
     @DisplayName("Should return empty when token not found")
     void testFindByTokenNotFound() {
         // Arrange
-        String tokenString = "non-existent-token";
-        when(refreshTokenRepository.findValidToken(eq(tokenString), any(LocalDateTime.class)))
+        when(refreshTokenStore.findValidBySelector(eq("missing"), any(LocalDateTime.class)))
                 .thenReturn(Optional.empty());
 
         // Act
-        Optional<RefreshToken> result = refreshTokenService.findByToken(tokenString);
+        Optional<RefreshToken> result = refreshTokenService.findByToken("missing.verifier");
 
         // Assert
         assertFalse(result.isPresent());
-        verify(refreshTokenRepository).findValidToken(eq(tokenString), any(LocalDateTime.class));
+        verify(refreshTokenStore).findValidBySelector(eq("missing"), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Should return empty for malformed tokens without querying")
+    void testFindByTokenMalformed() {
+        // Act & Assert
+        assertFalse(refreshTokenService.findByToken("non-existent-token").isPresent());
+        assertFalse(refreshTokenService.findByToken(null).isPresent());
+        verifyNoInteractions(refreshTokenStore);
+    }
+
+    @Test
+    @DisplayName("Should rotate through one store lookup and one store issue")
+    void testRotateRefreshToken() {
+        // Arrange
+        RefreshToken current = RefreshToken.builder()
+                .selector("selector")
+                .verifierHash(DigestUtils.sha256("verifier"))
+                .account(testAccount)
+                .expiryDate(LocalDateTime.now().plusDays(1))
+                .isRevoked(false)
+                .build();
+        when(refreshTokenStore.findValidBySelector(eq("selector"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(current));
+        when(refreshTokenStore.issue(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        RefreshToken result = refreshTokenService.rotateRefreshToken("selector.verifier");
+
+        // Assert
+        assertEquals(testAccount, result.getAccount());
+        assertNotEquals("selector", result.getSelector());
+        verify(refreshTokenStore, times(1)).findValidBySelector(eq("selector"), any(LocalDateTime.class));
+        verify(refreshTokenStore, times(1)).issue(any(RefreshToken.class));
+        verifyNoMoreInteractions(refreshTokenStore);
+    }
+
+    @Test
+    @DisplayName("Should reject rotation of an unknown token without issuing")
+    void testRotateRefreshTokenNotFound() {
+        // Arrange
+        when(refreshTokenStore.findValidBySelector(eq("missing"), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> refreshTokenService.rotateRefreshToken("missing.verifier"));
+        assertTrue(exception.getMessage().contains("Invalid refresh token"));
+        verify(refreshTokenStore, never()).issue(any());
+    }
+
+    @Test
+    @DisplayName("Should rotate a stateless token without any store or database access")
+    void testRotateStatelessTokenWithoutReads() {
+        // Arrange
+        ReflectionTestUtils.setField(refreshTokenService, "statelessEnabled", true);
+        RefreshToken issued = refreshTokenService.createRefreshToken(testAccount);
+        when(revokedAccountFilter.mightBeRevoked(testAccount.getId())).thenReturn(false);
+        when(refreshTokenFamilyRegistry.advance(any(UUID.class), eq(1), anyLong())).thenReturn(true);
+
+        // Act
+        RefreshToken rotated = refreshTokenService.rotateRefreshToken(issued.getToken());
+
+        // Assert
+        assertTrue(RefreshTokenCodec.isStateless(rotated.getToken()));
+        assertEquals(testAccount.getId(), rotated.getAccount().getId());
+        assertEquals(testAccount.getEmail(), rotated.getAccount().getEmail());
+        RefreshTokenCodec.StatelessRefreshToken before = refreshTokenCodec.open(issued.getToken());
+        RefreshTokenCodec.StatelessRefreshToken after = refreshTokenCodec.open(rotated.getToken());
+        assertEquals(before.familyId(), after.familyId());
+        assertEquals(before.version() + 1, after.version());
+        verify(refreshTokenFamilyRegistry).start(before.familyId(), 1);
+        verify(refreshTokenFamilyRegistry).advance(before.familyId(), 1, before.issuedAt());
+        verifyNoInteractions(refreshTokenStore, accountRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a stateless token whose family has already rotated past it")
+    void testRotateStatelessTokenReused() {
+        // Arrange
+        ReflectionTestUtils.setField(refreshTokenService, "statelessEnabled", true);
+        RefreshToken issued = refreshTokenService.createRefreshToken(testAccount);
+        when(revokedAccountFilter.mightBeRevoked(testAccount.getId())).thenReturn(false);
+        when(refreshTokenFamilyRegistry.advance(any(UUID.class), eq(1), anyLong())).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotateRefreshToken(issued.getToken()));
+    }
+
+    @Test
+    @DisplayName("Should reject a stateless token issued before the account was revoked")
+    void testRotateStatelessTokenRevoked() {
+        // Arrange
+        ReflectionTestUtils.setField(refreshTokenService, "statelessEnabled", true);
+        RefreshToken issued = refreshTokenService.createRefreshToken(testAccount);
+        testAccount.setRefreshRevokedAt(new Date(System.currentTimeMillis() + 1000));
+        when(revokedAccountFilter.mightBeRevoked(testAccount.getId())).thenReturn(true);
+        when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotateRefreshToken(issued.getToken()));
+    }
+
+    @Test
+    @DisplayName("Should accept a stateless token on a filter false positive")
+    void testRotateStatelessTokenFilterFalsePositive() {
+        // Arrange
+        ReflectionTestUtils.setField(refreshTokenService, "statelessEnabled", true);
+        RefreshToken issued = refreshTokenService.createRefreshToken(testAccount);
+        when(revokedAccountFilter.mightBeRevoked(testAccount.getId())).thenReturn(true);
+        when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
+        when(refreshTokenFamilyRegistry.advance(any(UUID.class), eq(1), anyLong())).thenReturn(true);
+
+        // Act
+        RefreshToken rotated = refreshTokenService.rotateRefreshToken(issued.getToken());
+
+        // Assert
+        assertSame(testAccount, rotated.getAccount());
+    }
+
+    @Test
+    @DisplayName("Should reject stateless tokens when the mode is disabled")
+    void testRotateStatelessTokenDisabled() {
+        // Arrange
+        ReflectionTestUtils.setField(refreshTokenService, "statelessEnabled", true);
+        RefreshToken issued = refreshTokenService.createRefreshToken(testAccount);
+        ReflectionTestUtils.setField(refreshTokenService, "statelessEnabled", false);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotateRefreshToken(issued.getToken()));
+        verifyNoInteractions(refreshTokenStore);
+    }
+
+    @Test
+    @DisplayName("Should record revocation for stateless tokens")
+    void testRevokeAllTokensStateless() {
+        // Arrange
+        ReflectionTestUtils.setField(refreshTokenService, "statelessEnabled", true);
+
+        // Act
+        refreshTokenService.revokeAllTokensByAccount(testAccount);
+
+        // Assert
+        verify(refreshTokenStore).revokeAllByAccount(testAccount);
+        verify(accountRepository).markRefreshRevoked(eq(testAccount.getId()), any(Date.class));
+        verify(revokedAccountFilter).revoke(eq(testAccount.getId()), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should revoke the family and the account when logging out a stateless token")
+    void testLogoutStateless() {
+        // Arrange
+        ReflectionTestUtils.setField(refreshTokenService, "statelessEnabled", true);
+        RefreshToken issued = refreshTokenService.createRefreshToken(testAccount);
+        UUID familyId = refreshTokenCodec.open(issued.getToken()).familyId();
+        when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
+
+        // Act
+        refreshTokenService.logout(issued.getToken());
+
+        // Assert
+        verify(refreshTokenFamilyRegistry).revoke(familyId);
+        verify(refreshTokenStore).revokeAllByAccount(testAccount);
+        verify(revokedAccountFilter).revoke(eq(testAccount.getId()), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should revoke the account's tokens when logging out a stored token")
+    void testLogoutStored() {
+        // Arrange
+        String verifier = "verifier";
+        RefreshToken stored = RefreshToken.builder()
+                .selector("selector")
+                .verifierHash(DigestUtils.sha256(verifier))
+                .account(testAccount)
+                .expiryDate(LocalDateTime.now().plusDays(1))
+                .isRevoked(false)
+                .build();
+        when(refreshTokenStore.findValidBySelector(eq("selector"), any(LocalDateTime.class))).thenReturn(Optional.of(stored));
+
+        // Act
+        refreshTokenService.logout("selector." + verifier);
+
+        // Assert
+        verify(refreshTokenStore).revokeAllByAccount(testAccount);
+        verifyNoInteractions(refreshTokenFamilyRegistry, revokedAccountFilter);
+    }
+
+    @Test
+    @DisplayName("Should treat logout of an unknown token as already logged out")
+    void testLogoutUnknownToken() {
+        // Arrange
+        when(refreshTokenStore.findValidBySelector(eq("selector"), any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        // Act
+        refreshTokenService.logout("selector.verifier");
+
+        // Assert
+        verify(refreshTokenStore, never()).revokeAllByAccount(any());
     }
 
     @Test
@@ -213,7 +479,7 @@ class RefreshTokenServiceTest {
         refreshTokenService.revokeAllTokensByAccount(testAccount);
 
         // Assert
-        verify(refreshTokenRepository).revokeAllTokensByAccount(testAccount);
+        verify(refreshTokenStore).revokeAllByAccount(testAccount);
     }
 
     @Test
@@ -221,17 +487,17 @@ class RefreshTokenServiceTest {
     void testGenerateUniqueTokens() {
         // Arrange
         ArgumentCaptor<RefreshToken> tokenCaptor = ArgumentCaptor.forClass(RefreshToken.class);
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(RefreshToken.builder().build());
+        when(refreshTokenStore.issue(any(RefreshToken.class))).thenReturn(RefreshToken.builder().build());
 
         // Act
         refreshTokenService.createRefreshToken(testAccount);
         refreshTokenService.createRefreshToken(testAccount);
 
         // Assert
-        verify(refreshTokenRepository, times(2)).save(tokenCaptor.capture());
+        verify(refreshTokenStore, times(2)).issue(tokenCaptor.capture());
         
-        String token1 = tokenCaptor.getAllValues().get(0).getToken();
-        String token2 = tokenCaptor.getAllValues().get(1).getToken();
+        String token1 = tokenCaptor.getAllValues().get(0).getSelector();
+        String token2 = tokenCaptor.getAllValues().get(1).getSelector();
         
         assertNotNull(token1);
         assertNotNull(token2);
@@ -243,14 +509,14 @@ class RefreshTokenServiceTest {
     void testTokenExpirationDate() {
         // Arrange
         ArgumentCaptor<RefreshToken> tokenCaptor = ArgumentCaptor.forClass(RefreshToken.class);
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(RefreshToken.builder().build());
+        when(refreshTokenStore.issue(any(RefreshToken.class))).thenReturn(RefreshToken.builder().build());
         LocalDateTime beforeCreation = LocalDateTime.now();
 
         // Act
         refreshTokenService.createRefreshToken(testAccount);
 
         // Assert
-        verify(refreshTokenRepository).save(tokenCaptor.capture());
+        verify(refreshTokenStore).issue(tokenCaptor.capture());
         RefreshToken savedToken = tokenCaptor.getValue();
         
         LocalDateTime expectedExpiry = beforeCreation.plusSeconds(REFRESH_TOKEN_EXPIRATION);
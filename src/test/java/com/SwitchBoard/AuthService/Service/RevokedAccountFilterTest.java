@@ -0,0 +1,80 @@
+package com.SwitchBoard.AuthService.Service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Revoked Account Filter Test")
+class RevokedAccountFilterTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, Object> zSetOperations;
+
+    @InjectMocks
+    private RevokedAccountFilter revokedAccountFilter;
+
+    private final UUID storedAccount = new UUID(0, 1);
+    private final UUID revokedAccount = new UUID(0, 2);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(revokedAccountFilter, "enabled", true);
+        ReflectionTestUtils.setField(revokedAccountFilter, "refreshTokenExpiration", 604800L);
+        ReflectionTestUtils.setField(revokedAccountFilter, "expectedRevocations", 1000);
+        ReflectionTestUtils.setField(revokedAccountFilter, "falsePositiveRate", 0.001);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    @DisplayName("Should add a revocation to the local filter without reading the revoked set back")
+    void testRevokeUpdatesLocalFilter() {
+        // Arrange
+        when(zSetOperations.range(RevokedAccountFilter.REVOKED_KEY, 0, -1)).thenReturn(Set.of(storedAccount.toString()));
+        revokedAccountFilter.sync();
+
+        // Act
+        revokedAccountFilter.revoke(revokedAccount, 1000L);
+
+        // Assert
+        assertTrue(revokedAccountFilter.mightBeRevoked(revokedAccount));
+        assertTrue(revokedAccountFilter.mightBeRevoked(storedAccount));
+        verify(zSetOperations).add(RevokedAccountFilter.REVOKED_KEY, revokedAccount.toString(), 1000L);
+        verify(zSetOperations, times(1)).range(anyString(), anyLong(), anyLong());
+        verify(zSetOperations, times(1)).removeRangeByScore(anyString(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Should keep a revocation made while a sync was reading the revoked set")
+    void testRevokeDuringSyncSurvivesRebuild() {
+        // Arrange
+        when(zSetOperations.range(RevokedAccountFilter.REVOKED_KEY, 0, -1)).thenAnswer(invocation -> {
+            revokedAccountFilter.revoke(revokedAccount, 1000L);
+            return Set.of(storedAccount.toString());
+        });
+
+        // Act
+        revokedAccountFilter.sync();
+
+        // Assert
+        assertTrue(revokedAccountFilter.mightBeRevoked(revokedAccount));
+        assertTrue(revokedAccountFilter.mightBeRevoked(storedAccount));
+    }
+}
@@ -0,0 +1,326 @@
+package com.SwitchBoard.AuthService.Service;
+
+import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
+import com.SwitchBoard.AuthService.DTO.Authentication.AuthResponse;
+import com.SwitchBoard.AuthService.Exception.ConflictException;
+import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
+import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Model.RefreshToken;
+import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import com.SwitchBoard.AuthService.Util.JwtUtil;
+import com.SwitchBoard.AuthService.Util.RedisLease;
+import com.SwitchBoard.AuthService.Util.SecretCipher;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Token Refresh Service Test")
+class TokenRefreshServiceTest {
+
+    private static final String TOKEN = "selector.verifier";
+    private static final String TOKEN_HASH = DigestUtils.sha256Hex(TOKEN);
+    private static final byte[] PAIR_KEY = DigestUtils.sha256("refresh-grace-pair:" + TOKEN);
+    private static final String GRACE_KEY = "refresh:grace:{" + TOKEN_HASH + "}";
+    private static final String ROTATED_KEY = "refresh:rotated:{" + TOKEN_HASH + "}";
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private RedisLease redisLease;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Spy
+    private SecretCipher secretCipher = new SecretCipher();
+
+    @InjectMocks
+    private TokenRefreshService tokenRefreshService;
+
+    private Account testAccount;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRefreshService, "jwtExpiration", 3600L);
+        ReflectionTestUtils.setField(tokenRefreshService, "refreshTokenExpiration", 604800L);
+        ReflectionTestUtils.setField(tokenRefreshService, "graceSeconds", 10L);
+        ReflectionTestUtils.setField(tokenRefreshService, "waitMillis", 200L);
+        ReflectionTestUtils.setField(tokenRefreshService, "lockMillis", 5000L);
+        ReflectionTestUtils.setField(tokenRefreshService, "pollMillis", 10L);
+
+        testAccount = Account.builder()
+                .id(UUID.randomUUID())
+                .email("test@example.com")
+                .name("Test User")
+                .userRole(EnumSet.of(USER_ROLE.USER))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should rotate once and cache the successor pair for the grace window")
+    void testRefreshRotatesAndCaches() throws Exception {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of(GRACE_KEY, ROTATED_KEY))).thenReturn(Arrays.asList(null, null));
+        when(redisLease.tryAcquire(eq("refresh:lock:" + TOKEN_HASH), any(Duration.class))).thenReturn(Optional.of("owner"));
+        when(refreshTokenService.rotateRefreshToken(TOKEN)).thenReturn(successor());
+        when(jwtUtil.generateToken(any(), any(), any(), any())).thenReturn("jwt-token");
+
+        // Act
+        AuthResponse response = tokenRefreshService.refresh(TOKEN);
+
+        // Assert
+        assertEquals("jwt-token", response.getAccessToken());
+        assertEquals("next.token", response.getRefreshToken());
+        ArgumentCaptor<Object> pair = ArgumentCaptor.forClass(Object.class);
+        verify(valueOperations).set(eq(GRACE_KEY), pair.capture(), eq(Duration.ofSeconds(10)));
+        assertFalse(pair.getValue().toString().contains("next.token"));
+        assertEquals("jwt-token next.token", secretCipher.decrypt(pair.getValue().toString(), PAIR_KEY));
+        verify(valueOperations).set(ROTATED_KEY, testAccount.getId().toString(), Duration.ofSeconds(604800));
+        verify(redisLease).release("refresh:lock:" + TOKEN_HASH, "owner");
+    }
+
+    @Test
+    @DisplayName("Should serve the cached pair inside the grace window without rotating")
+    void testRefreshServedFromGraceWindow() throws Exception {
+        // Arrange
+        String pair = sealedPair(PAIR_KEY);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of(GRACE_KEY, ROTATED_KEY))).thenReturn(Arrays.asList(pair, null));
+
+        // Act
+        AuthResponse response = tokenRefreshService.refresh(TOKEN);
+
+        // Assert
+        assertEquals("jwt-token", response.getAccessToken());
+        assertEquals("next.token", response.getRefreshToken());
+        assertEquals(3600L, response.getExpiresIn());
+        verifyNoInteractions(refreshTokenService, redisLease, jwtUtil);
+    }
+
+    @Test
+    @DisplayName("Should wait for a concurrent rotation and return its pair")
+    void testRefreshWaitsForConcurrentRotation() throws Exception {
+        // Arrange
+        String pair = sealedPair(PAIR_KEY);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of(GRACE_KEY, ROTATED_KEY))).thenReturn(Arrays.asList(null, null));
+        when(valueOperations.get(GRACE_KEY)).thenReturn(null, pair);
+        when(redisLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(Optional.empty());
+
+        // Act
+        AuthResponse response = tokenRefreshService.refresh(TOKEN);
+
+        // Assert
+        assertEquals("next.token", response.getRefreshToken());
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    @DisplayName("Should ask the caller to retry when a concurrent rotation does not finish in time")
+    void testRefreshConcurrentRotationTimeout() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of(GRACE_KEY, ROTATED_KEY))).thenReturn(Arrays.asList(null, null));
+        when(redisLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ConflictException.class, () -> tokenRefreshService.refresh(TOKEN));
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    @DisplayName("Should revoke the account when a rotated token is reused after the window")
+    void testRefreshDetectsReuse() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of(GRACE_KEY, ROTATED_KEY)))
+                .thenReturn(Arrays.asList(null, testAccount.getId().toString()));
+        when(accountRepository.findById(testAccount.getId())).thenReturn(Optional.of(testAccount));
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> tokenRefreshService.refresh(TOKEN));
+        verify(refreshTokenService).revokeAllTokensByAccount(testAccount);
+        verify(refreshTokenService, never()).rotateRefreshToken(any());
+        verify(redisTemplate).delete(ROTATED_KEY);
+    }
+
+    @Test
+    @DisplayName("Should give a second tab the pair when the rotation finishes while it waits, not treat it as a replay")
+    @SuppressWarnings("unchecked")
+    void testConcurrentTabsShareOneRotation() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(tokenRefreshService, "waitMillis", 2000L);
+        Map<String, Object> redis = new ConcurrentHashMap<>();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation ->
+                ((List<String>) invocation.getArgument(0)).stream().map(redis::get).toList());
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> redis.get(invocation.getArgument(0, String.class)));
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), any(), any(Duration.class));
+        CountDownLatch rotationStarted = new CountDownLatch(1);
+        CountDownLatch secondTabWaiting = new CountDownLatch(1);
+        when(redisLease.tryAcquire(anyString(), any(Duration.class)))
+                .thenReturn(Optional.of("owner"))
+                .thenAnswer(invocation -> {
+                    secondTabWaiting.countDown();
+                    return Optional.empty();
+                });
+        when(refreshTokenService.rotateRefreshToken(TOKEN)).thenAnswer(invocation -> {
+            rotationStarted.countDown();
+            assertTrue(secondTabWaiting.await(2, TimeUnit.SECONDS));
+            return successor();
+        });
+        when(jwtUtil.generateToken(any(), any(), any(), any())).thenReturn("jwt-token");
+        ExecutorService firstTab = Executors.newSingleThreadExecutor();
+
+        try {
+            // Act: the first tab holds the lock mid-rotation when the second tab reads the markers
+            Future<AuthResponse> first = firstTab.submit(() -> tokenRefreshService.refresh(TOKEN));
+            assertTrue(rotationStarted.await(2, TimeUnit.SECONDS));
+            AuthResponse second = tokenRefreshService.refresh(TOKEN);
+
+            // Assert
+            assertEquals(first.get(2, TimeUnit.SECONDS).getRefreshToken(), second.getRefreshToken());
+            verify(refreshTokenService, times(1)).rotateRefreshToken(TOKEN);
+            verify(refreshTokenService, never()).revokeAllTokensByAccount(any());
+            verifyNoInteractions(accountRepository);
+        } finally {
+            firstTab.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve a pair cached just before the wait ran out instead of asking for a retry")
+    void testRefreshRechecksPairBeforeTimingOut() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(tokenRefreshService, "waitMillis", 0L);
+        String pair = sealedPair(PAIR_KEY);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of(GRACE_KEY, ROTATED_KEY))).thenReturn(Arrays.asList(null, null));
+        when(valueOperations.get(GRACE_KEY)).thenReturn(pair);
+        when(redisLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(Optional.empty());
+
+        // Act
+        AuthResponse response = tokenRefreshService.refresh(TOKEN);
+
+        // Assert
+        assertEquals("next.token", response.getRefreshToken());
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    @DisplayName("Should not rotate again when the pair appeared before the lock was taken")
+    void testRefreshRechecksPairAfterLock() throws Exception {
+        // Arrange
+        String pair = sealedPair(PAIR_KEY);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of(GRACE_KEY, ROTATED_KEY))).thenReturn(Arrays.asList(null, null));
+        when(valueOperations.get(GRACE_KEY)).thenReturn(pair);
+        when(redisLease.tryAcquire(anyString(), any(Duration.class))).thenReturn(Optional.of("owner"));
+
+        // Act
+        AuthResponse response = tokenRefreshService.refresh(TOKEN);
+
+        // Assert
+        assertEquals("next.token", response.getRefreshToken());
+        verifyNoInteractions(refreshTokenService);
+        verify(redisLease).release("refresh:lock:" + TOKEN_HASH, "owner");
+    }
+
+    @Test
+    @DisplayName("Should rotate directly when the grace window is disabled")
+    void testRefreshWithoutGraceWindow() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(tokenRefreshService, "graceSeconds", 0L);
+        when(refreshTokenService.rotateRefreshToken(TOKEN)).thenReturn(successor());
+        when(jwtUtil.generateToken(any(), any(), any(), any())).thenReturn("jwt-token");
+
+        // Act
+        AuthResponse response = tokenRefreshService.refresh(TOKEN);
+
+        // Assert
+        assertEquals("next.token", response.getRefreshToken());
+        verifyNoInteractions(redisTemplate, redisLease);
+    }
+
+    @Test
+    @DisplayName("Should collapse concurrent refreshes of a stateless token through the grace window")
+    void testRefreshStatelessServedFromGraceWindow() throws Exception {
+        // Arrange
+        String sealed = "v1.sealed";
+        String pair = sealedPair(DigestUtils.sha256("refresh-grace-pair:" + sealed));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        String sealedHash = DigestUtils.sha256Hex(sealed);
+        when(valueOperations.multiGet(List.of("refresh:grace:{" + sealedHash + "}", "refresh:rotated:{" + sealedHash + "}")))
+                .thenReturn(Arrays.asList(pair, null));
+
+        // Act
+        AuthResponse response = tokenRefreshService.refresh(sealed);
+
+        // Assert
+        assertEquals("next.token", response.getRefreshToken());
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    @DisplayName("Should drop the cached pair and revoke the session on logout")
+    void testLogout() {
+        // Act
+        tokenRefreshService.logout(TOKEN);
+
+        // Assert
+        verify(redisTemplate).delete(GRACE_KEY);
+        verify(refreshTokenService).logout(TOKEN);
+    }
+
+    private String sealedPair(byte[] pairKey) {
+        return secretCipher.encrypt("jwt-token next.token", pairKey);
+    }
+
+    private RefreshToken successor() {
+        return RefreshToken.builder()
+                .token("next.token")
+                .account(testAccount)
+                .build();
+    }
+}
@@ -0,0 +1,320 @@
+package com.SwitchBoard.AuthService.Service;
+
+import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
+import com.SwitchBoard.AuthService.DTO.Authentication.ApiResponse;
+import com.SwitchBoard.AuthService.DTO.Authentication.AuthResponse;
+import com.SwitchBoard.AuthService.DTO.Totp.TotpEnrollResponse;
+import com.SwitchBoard.AuthService.Exception.BadRequestException;
+import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
+import com.SwitchBoard.AuthService.Exception.UnexpectedException;
+import com.SwitchBoard.AuthService.Model.Account;
+import com.SwitchBoard.AuthService.Model.RefreshToken;
+import com.SwitchBoard.AuthService.Repository.AccountRepository;
+import com.SwitchBoard.AuthService.Util.JwtUtil;
+import com.SwitchBoard.AuthService.Util.SecretCipher;
+import com.SwitchBoard.AuthService.Util.TotpUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TOTP Service Test")
+class TotpServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private OtpService otpService;
+
+    @Mock
+    private SecretCipher secretCipher;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @InjectMocks
+    private TotpService totpService;
+
+    private static final String EMAIL = "test@example.com";
+    private static final String SECRET = "GEZDGNBVGY3TQOJQGEZDGNBVGY3TQOJQ";
+    private static final String ENCRYPTED_SECRET = "encrypted-secret";
+    private Account testAccount;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(totpService, "jwtExpiration", 3600L);
+        ReflectionTestUtils.setField(totpService, "issuer", "SwitchBoard");
+        ReflectionTestUtils.setField(totpService, "periodSeconds", 30);
+        ReflectionTestUtils.setField(totpService, "window", 1);
+        ReflectionTestUtils.setField(totpService, "TOTP_PREFIX", "totp:");
+        ReflectionTestUtils.setField(totpService, "MAX_ATTEMPTS", 5);
+        ReflectionTestUtils.setField(totpService, "LOCKOUT_MINUTES", 15);
+
+        testAccount = Account.builder()
+                .id(UUID.randomUUID())
+                .email(EMAIL)
+                .name("Test User")
+                .userRole(EnumSet.of(USER_ROLE.USER))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should enroll after verifying the emailed OTP")
+    void testEnrollSuccess() {
+        // Arrange
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testAccount));
+        when(secretCipher.encrypt(anyString())).thenReturn(ENCRYPTED_SECRET);
+
+        // Act
+        TotpEnrollResponse response = totpService.enroll(EMAIL, "123456", null);
+
+        // Assert
+        verify(otpService).verifyOtpCode(EMAIL, "123456", null);
+        assertNotNull(response.getSecret());
+        assertTrue(response.getOtpauthUri().startsWith("otpauth://totp/SwitchBoard%3Atest%40example.com?secret="));
+        assertEquals(ENCRYPTED_SECRET, testAccount.getTotpSecret());
+        assertFalse(testAccount.isTotpEnabled());
+        verify(accountRepository).save(testAccount);
+    }
+
+    @Test
+    @DisplayName("Should reject activation when enrollment was not started")
+    void testActivateWithoutEnrollment() {
+        // Arrange
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testAccount));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> totpService.activate(EMAIL, "123456"));
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should activate TOTP with a valid code")
+    void testActivateSuccess() {
+        // Arrange
+        testAccount.setTotpSecret(ENCRYPTED_SECRET);
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testAccount));
+        stubAttempts(1L);
+        when(secretCipher.decrypt(ENCRYPTED_SECRET)).thenReturn(SECRET);
+        when(accountRepository.markTotpStepUsed(eq(testAccount.getId()), anyLong())).thenReturn(1);
+
+        // Act
+        ApiResponse response = totpService.activate(EMAIL, currentCode());
+
+        // Assert
+        assertTrue(response.isSuccess());
+        assertTrue(testAccount.isTotpEnabled());
+        assertNotNull(testAccount.getTotpLastStep());
+        verify(accountRepository).save(testAccount);
+    }
+
+    @Test
+    @DisplayName("Should login with a valid TOTP code without the emailed OTP flow")
+    void testLoginSuccess() throws Exception {
+        // Arrange
+        testAccount.setTotpSecret(ENCRYPTED_SECRET);
+        testAccount.setTotpEnabled(true);
+        RefreshToken refreshToken = RefreshToken.builder()
+                .token("refresh-token")
+                .expiryDate(LocalDateTime.now().plusDays(7))
+                .build();
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testAccount));
+        stubAttempts(1L);
+        when(secretCipher.decrypt(ENCRYPTED_SECRET)).thenReturn(SECRET);
+        when(accountRepository.markTotpStepUsed(eq(testAccount.getId()), anyLong())).thenReturn(1);
+        when(jwtUtil.generateToken(EMAIL, testAccount.getName(), testAccount.getId(), testAccount.getUserRole()))
+                .thenReturn("jwt-token");
+        when(refreshTokenService.createRefreshToken(testAccount)).thenReturn(refreshToken);
+
+        // Act
+        AuthResponse response = totpService.login(EMAIL, currentCode());
+
+        // Assert
+        assertEquals("jwt-token", response.getAccessToken());
+        assertEquals("refresh-token", response.getRefreshToken());
+        verifyNoInteractions(otpService);
+    }
+
+    @Test
+    @DisplayName("Should reject a replayed TOTP code")
+    void testLoginReplayRejected() {
+        // Arrange
+        testAccount.setTotpSecret(ENCRYPTED_SECRET);
+        testAccount.setTotpEnabled(true);
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testAccount));
+        stubAttempts(1L);
+        when(secretCipher.decrypt(ENCRYPTED_SECRET)).thenReturn(SECRET);
+        when(accountRepository.markTotpStepUsed(eq(testAccount.getId()), anyLong())).thenReturn(0);
+
+        // Act & Assert
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> totpService.login(EMAIL, currentCode()));
+        assertTrue(exception.getMessage().contains("already used"));
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    @DisplayName("Should clear the failure counter after a successful code")
+    void testLoginClearsFailures() throws Exception {
+        // Arrange
+        testAccount.setTotpSecret(ENCRYPTED_SECRET);
+        testAccount.setTotpEnabled(true);
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testAccount));
+        stubAttempts(3L);
+        when(secretCipher.decrypt(ENCRYPTED_SECRET)).thenReturn(SECRET);
+        when(accountRepository.markTotpStepUsed(eq(testAccount.getId()), anyLong())).thenReturn(1);
+        when(refreshTokenService.createRefreshToken(testAccount)).thenReturn(RefreshToken.builder().token("refresh-token").build());
+
+        // Act
+        totpService.login(EMAIL, currentCode());
+
+        // Assert
+        verify(redisTemplate).delete(failuresKey());
+    }
+
+    @Test
+    @DisplayName("Should reject login when TOTP is not enabled")
+    void testLoginNotEnabled() {
+        // Arrange
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testAccount));
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> totpService.login(EMAIL, "123456"));
+        verify(accountRepository, never()).markTotpStepUsed(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid TOTP code and count the failure")
+    void testLoginInvalidCode() {
+        // Arrange
+        testAccount.setTotpSecret(ENCRYPTED_SECRET);
+        testAccount.setTotpEnabled(true);
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testAccount));
+        when(secretCipher.decrypt(ENCRYPTED_SECRET)).thenReturn(SECRET);
+        stubAttempts(1L);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> totpService.login(EMAIL, "not-a-code"));
+        verify(accountRepository, never()).markTotpStepUsed(any(), anyLong());
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("Should lock out TOTP verification once the failure limit is reached")
+    void testLoginLockedOut() {
+        // Arrange
+        testAccount.setTotpSecret(ENCRYPTED_SECRET);
+        testAccount.setTotpEnabled(true);
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testAccount));
+        stubAttempts(6L);
+
+        // Act & Assert
+        UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+                () -> totpService.login(EMAIL, currentCode()));
+        assertTrue(exception.getMessage().contains("Too many failed attempts"));
+        verifyNoInteractions(secretCipher, refreshTokenService);
+        verify(accountRepository, never()).markTotpStepUsed(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should lock out activation once the failure limit is reached")
+    void testActivateLockedOut() {
+        // Arrange
+        testAccount.setTotpSecret(ENCRYPTED_SECRET);
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testAccount));
+        stubAttempts(6L);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> totpService.activate(EMAIL, currentCode()));
+        assertFalse(testAccount.isTotpEnabled());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should check at most the attempt limit of codes when guesses arrive concurrently")
+    void testConcurrentGuessesStayWithinLimit() throws Exception {
+        // Arrange
+        testAccount.setTotpSecret(ENCRYPTED_SECRET);
+        testAccount.setTotpEnabled(true);
+        AtomicLong counter = new AtomicLong();
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testAccount));
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(List.of(failuresKey())), eq("900")))
+                .thenAnswer(invocation -> counter.incrementAndGet());
+        when(secretCipher.decrypt(ENCRYPTED_SECRET)).thenReturn(SECRET);
+        ExecutorService guessers = Executors.newFixedThreadPool(8);
+
+        // Act
+        try {
+            List<Callable<Object>> guesses = Collections.nCopies(20, () -> {
+                assertThrows(UnauthorizedException.class, () -> totpService.login(EMAIL, "000000"));
+                return null;
+            });
+            guessers.invokeAll(guesses, 5, TimeUnit.SECONDS);
+        } finally {
+            guessers.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(20, counter.get());
+        verify(secretCipher, times(5)).decrypt(ENCRYPTED_SECRET);
+    }
+
+    @Test
+    @DisplayName("Should fail closed when the attempt counter cannot be read")
+    void testLoginAttemptScriptUnavailable() {
+        // Arrange
+        testAccount.setTotpSecret(ENCRYPTED_SECRET);
+        testAccount.setTotpEnabled(true);
+        when(accountRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testAccount));
+        stubAttempts(null);
+
+        // Act & Assert
+        assertThrows(UnexpectedException.class, () -> totpService.login(EMAIL, currentCode()));
+        verifyNoInteractions(secretCipher, refreshTokenService);
+    }
+
+    private void stubAttempts(Long attempts) {
+        when(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(List.of(failuresKey())), eq("900")))
+                .thenReturn(attempts);
+    }
+
+    private String failuresKey() {
+        return "totp:failures:" + testAccount.getId();
+    }
+
+    private static String currentCode() {
+        return TotpUtils.generateCode(SECRET, TotpUtils.timeStep(Instant.now().getEpochSecond(), 30));
+    }
+}
@@ -0,0 +1,52 @@
+package com.SwitchBoard.AuthService.Util;
+
+import com.SwitchBoard.AuthService.DTO.Account.AccountResponseDto;
+import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
+import com.SwitchBoard.AuthService.Model.Account;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Account Mapper Test")
+class AccountMapperTest {
+
+    @Test
+    @DisplayName("Should copy every exposed field and nothing internal")
+    void testToResponseDto() {
+        // Arrange
+        Account account = Account.builder()
+                .id(UUID.randomUUID())
+                .name("Test User")
+                .email("test@example.com")
+                .mobile("1234567890")
+                .linkedinUrl("https://linkedin.com/in/testuser")
+                .githubUrl("https://github.com/testuser")
+                .leetcodeUrl("https://leetcode.com/testuser")
+                .cvPath("/path/to/cv.pdf")
+                .deadline(new Date())
+                .aimRole("Software Engineer")
+                .currentRole("Junior Developer")
+                .totalRewardPoints(100)
+                .taskAssignedCount(10)
+                .taskCompletedCount(8)
+                .totpSecret("encrypted-secret")
+                .userRole(EnumSet.of(USER_ROLE.USER))
+                .version(3L)
+                .build();
+
+        // Act
+        AccountResponseDto dto = AccountMapper.toResponseDto(account);
+
+        // Assert
+        AccountResponseDto expected = new AccountResponseDto(account.getId(), "Test User", "test@example.com",
+                "1234567890", "https://linkedin.com/in/testuser", "https://github.com/testuser",
+                "https://leetcode.com/testuser", "/path/to/cv.pdf", account.getDeadline(), "Software Engineer",
+                "Junior Developer", 100, 10, 8, EnumSet.of(USER_ROLE.USER), 3L);
+        assertEquals(expected, dto);
+    }
+}
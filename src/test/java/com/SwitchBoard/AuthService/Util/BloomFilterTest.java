@@ -0,0 +1,73 @@
+package com.SwitchBoard.AuthService.Util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bloom Filter Test")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report an added value as absent")
+    void testNoFalseNegatives() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        String[] values = new String[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i]);
+        }
+
+        // Act & Assert
+        for (String value : values) {
+            assertTrue(filter.mightContain(value));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured rate")
+    void testFalsePositiveRate() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should copy a filter so values added to the copy leave the original unchanged")
+    void testCopyIsIndependent() {
+        // Arrange
+        BloomFilter original = new BloomFilter(1000, 0.001);
+        original.put("kept");
+
+        // Act
+        BloomFilter copy = original.copy();
+        copy.put("added");
+
+        // Assert
+        assertTrue(copy.mightContain("kept"));
+        assertTrue(copy.mightContain("added"));
+        assertFalse(original.mightContain("added"));
+    }
+
+    @Test
+    @DisplayName("Should report nothing for an empty filter")
+    void testEmptyFilter() {
+        assertFalse(new BloomFilter(10, 0.01).mightContain("anything"));
+    }
+}
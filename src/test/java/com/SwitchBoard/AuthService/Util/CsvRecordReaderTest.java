@@ -0,0 +1,50 @@
+package com.SwitchBoard.AuthService.Util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CSV Record Reader Test")
+class CsvRecordReaderTest {
+
+    @Test
+    @DisplayName("Should split plain and quoted fields across CRLF and LF records")
+    void testReadRecords() throws IOException {
+        // Arrange
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\n\"multi\nline\",2,3"));
+
+        // Act & Assert
+        assertEquals(List.of("a", "b", "c"), reader.next());
+        assertEquals(List.of("x, y", "say \"hi\"", ""), reader.next());
+        assertEquals(List.of("multi\nline", "2", "3"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should skip blank lines between records")
+    void testSkipBlankLines() throws IOException {
+        // Arrange
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a\n\n\r\nb\n"));
+
+        // Act & Assert
+        assertEquals(List.of("a"), reader.next());
+        assertEquals(List.of("b"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should reject an unterminated quoted field")
+    void testUnterminatedQuote() {
+        // Arrange
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"open,field\n"));
+
+        // Act & Assert
+        assertThrows(CsvRecordReader.MalformedRecordException.class, reader::next);
+    }
+}
@@ -0,0 +1,42 @@
+package com.SwitchBoard.AuthService.Util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Email Normalizer Test")
+class EmailNormalizerTest {
+
+    @Test
+    @DisplayName("Should trim and lower-case an email")
+    void testNormalize() {
+        // Act & Assert
+        assertEquals("ann@example.com", EmailNormalizer.normalize("  Ann@Example.COM "));
+        assertEquals("ann.smith+work@example.com", EmailNormalizer.normalize("Ann.Smith+Work@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should treat null and blank emails as missing")
+    void testNormalizeMissing() {
+        // Act & Assert
+        assertNull(EmailNormalizer.normalize(null));
+        assertNull(EmailNormalizer.normalize("   "));
+    }
+
+    @Test
+    @DisplayName("Should not depend on the default locale")
+    void testNormalizeLocaleIndependent() {
+        // Arrange
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            // Act & Assert - a Turkish default would lower-case 'I' to a dotless i
+            assertEquals("ivan@example.com", EmailNormalizer.normalize("IVAN@EXAMPLE.COM"));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+}
@@ -188,4 +188,29 @@ class JwtUtilTest {
         assertEquals(email, claims.getSubject());
         assertEquals(username, claims.get("username"));
     }
+
+    @Test
+    @DisplayName("Should parse a token it issued and reject one signed by another key")
+    void testParseToken() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(jwtUtil, "publicKeyPath", Base64.getEncoder().encodeToString(publicKey.getEncoded()));
+        UUID userId = UUID.randomUUID();
+        String token = jwtUtil.generateToken("test@example.com", "Test User", userId, Collections.singletonList(USER_ROLE.ADMIN));
+
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        JwtUtil otherIssuer = new JwtUtil();
+        ReflectionTestUtils.setField(otherIssuer, "privateKeyPath",
+                Base64.getEncoder().encodeToString(keyPairGenerator.generateKeyPair().getPrivate().getEncoded()));
+        ReflectionTestUtils.setField(otherIssuer, "jwtExpiration", JWT_EXPIRATION);
+        String forged = otherIssuer.generateToken("test@example.com", "Test User", userId, Collections.singletonList(USER_ROLE.ADMIN));
+
+        // Act
+        Claims claims = jwtUtil.parseToken(token);
+
+        // Assert
+        assertEquals("test@example.com", claims.getSubject());
+        assertEquals(userId.toString(), claims.get("userId"));
+        assertThrows(Exception.class, () -> jwtUtil.parseToken(forged));
+    }
 }
@@ -0,0 +1,78 @@
+package com.SwitchBoard.AuthService.Util;
+
+import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OTP Challenge Codec Test")
+class OtpChallengeCodecTest {
+
+    private OtpChallengeCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        codec = new OtpChallengeCodec();
+        ReflectionTestUtils.setField(codec, "challengeSecret",
+                Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes()));
+    }
+
+    @Test
+    @DisplayName("Should round-trip a sealed challenge")
+    void testSealAndOpen() {
+        // Act
+        String token = codec.seal("test@example.com", "123456", 1_700_000_000L);
+        OtpChallengeCodec.OtpChallenge challenge = codec.open(token);
+
+        // Assert
+        assertEquals("test@example.com", challenge.email());
+        assertEquals(1_700_000_000L, challenge.expiresAt());
+        assertTrue(codec.matches(challenge, "123456"));
+        assertFalse(codec.matches(challenge, "654321"));
+        assertFalse(codec.matches(challenge, null));
+        assertFalse(token.contains("123456"), "Challenge must not carry the OTP in clear text");
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered challenge")
+    void testOpenTampered() {
+        // Arrange
+        String token = codec.seal("test@example.com", "123456", 1_700_000_000L);
+        String tampered = token.replace(".1700000000.", ".1900000000.");
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> codec.open(tampered));
+        assertThrows(UnauthorizedException.class, () -> codec.open("garbage"));
+        assertThrows(UnauthorizedException.class, () -> codec.open(null));
+    }
+
+    @Test
+    @DisplayName("Should issue a distinct challenge id per seal")
+    void testUniqueChallengeIds() {
+        // Act
+        OtpChallengeCodec.OtpChallenge first = codec.open(codec.seal("test@example.com", "123456", 1L));
+        OtpChallengeCodec.OtpChallenge second = codec.open(codec.seal("test@example.com", "123456", 1L));
+
+        // Assert
+        assertNotEquals(first.challengeId(), second.challengeId());
+    }
+
+    @Test
+    @DisplayName("Should seal a challenge under a caller-chosen id")
+    void testSealWithChallengeId() {
+        // Arrange
+        String challengeId = codec.newChallengeId();
+
+        // Act
+        OtpChallengeCodec.OtpChallenge challenge = codec.open(codec.seal("test@example.com", "123456", 1L, challengeId));
+
+        // Assert
+        assertEquals(challengeId, challenge.challengeId());
+        assertTrue(codec.matches(challenge, "123456"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.SwitchBoard.AuthService.Util;
+
+import com.SwitchBoard.AuthService.DTO.Account.USER_ROLE;
+import com.SwitchBoard.AuthService.Exception.UnauthorizedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Refresh Token Codec Test")
+class RefreshTokenCodecTest {
+
+    private RefreshTokenCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        codec = new RefreshTokenCodec();
+        ReflectionTestUtils.setField(codec, "tokenSecret",
+                Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes()));
+    }
+
+    @Test
+    @DisplayName("Should round-trip a sealed refresh token")
+    void testSealAndOpen() {
+        // Arrange
+        RefreshTokenCodec.StatelessRefreshToken original = new RefreshTokenCodec.StatelessRefreshToken(
+                UUID.randomUUID(), UUID.randomUUID(), 3, 1_700_000_000_000L, 1_700_604_800_000L,
+                "test.user+tag@example.com", "Test. User", EnumSet.of(USER_ROLE.USER, USER_ROLE.ADMIN));
+
+        // Act
+        String token = codec.seal(original);
+        RefreshTokenCodec.StatelessRefreshToken opened = codec.open(token);
+
+        // Assert
+        assertTrue(RefreshTokenCodec.isStateless(token));
+        assertEquals(original, opened);
+    }
+
+    @Test
+    @DisplayName("Should handle missing name and roles")
+    void testSealAndOpenEmptyFields() {
+        // Arrange
+        RefreshTokenCodec.StatelessRefreshToken original = new RefreshTokenCodec.StatelessRefreshToken(
+                UUID.randomUUID(), UUID.randomUUID(), 1, 1L, 2L, "test@example.com", null, EnumSet.noneOf(USER_ROLE.class));
+
+        // Act
+        RefreshTokenCodec.StatelessRefreshToken opened = codec.open(codec.seal(original));
+
+        // Assert
+        assertNull(opened.name());
+        assertTrue(opened.roles().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a tampered refresh token")
+    void testOpenTampered() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        String token = codec.seal(new RefreshTokenCodec.StatelessRefreshToken(
+                accountId, UUID.randomUUID(), 1, 1L, 2L, "test@example.com", "Test User", EnumSet.of(USER_ROLE.USER)));
+        String tampered = token.replace("USER", "SUPER_ADMIN");
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> codec.open(tampered));
+        assertThrows(UnauthorizedException.class, () -> codec.open("v1.garbage"));
+        assertThrows(UnauthorizedException.class, () -> codec.open("selector.verifier"));
+        assertThrows(UnauthorizedException.class, () -> codec.open(null));
+    }
+}
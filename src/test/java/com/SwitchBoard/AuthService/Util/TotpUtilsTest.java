@@ -0,0 +1,54 @@
+package com.SwitchBoard.AuthService.Util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TOTP Utils Test")
+class TotpUtilsTest {
+
+    // Base32 of the RFC 6238 SHA-1 test seed "12345678901234567890"
+    private static final String RFC_SECRET = "GEZDGNBVGY3TQOJQGEZDGNBVGY3TQOJQ";
+
+    @Test
+    @DisplayName("Should match RFC 6238 test vectors")
+    void testGenerateCodeRfcVectors() {
+        assertEquals("287082", TotpUtils.generateCode(RFC_SECRET, TotpUtils.timeStep(59L, 30)));
+        assertEquals("081804", TotpUtils.generateCode(RFC_SECRET, TotpUtils.timeStep(1111111109L, 30)));
+        assertEquals("050471", TotpUtils.generateCode(RFC_SECRET, TotpUtils.timeStep(1111111111L, 30)));
+        assertEquals("005924", TotpUtils.generateCode(RFC_SECRET, TotpUtils.timeStep(1234567890L, 30)));
+    }
+
+    @Test
+    @DisplayName("Should generate a Base32 secret without padding")
+    void testGenerateSecret() {
+        // Act
+        String secret = TotpUtils.generateSecret();
+
+        // Assert
+        assertEquals(32, secret.length(), "160-bit secret should encode to 32 Base32 characters");
+        assertTrue(secret.matches("[A-Z2-7]+"), "Secret should only contain Base32 characters");
+        assertNotEquals(secret, TotpUtils.generateSecret(), "Secrets should be random");
+    }
+
+    @Test
+    @DisplayName("Should accept codes inside the window and return the matching step")
+    void testVerifyCodeWithinWindow() {
+        // Arrange
+        long currentStep = 1000L;
+        String previousCode = TotpUtils.generateCode(RFC_SECRET, currentStep - 1);
+
+        // Act & Assert
+        assertEquals(currentStep - 1, TotpUtils.verifyCode(RFC_SECRET, previousCode, currentStep, 1));
+        assertEquals(-1, TotpUtils.verifyCode(RFC_SECRET, previousCode, currentStep, 0));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed codes")
+    void testVerifyCodeMalformed() {
+        assertEquals(-1, TotpUtils.verifyCode(RFC_SECRET, null, 1L, 1));
+        assertEquals(-1, TotpUtils.verifyCode(RFC_SECRET, "12345", 1L, 1));
+        assertEquals(-1, TotpUtils.verifyCode(RFC_SECRET, "abcdef", 1L, 1));
+    }
+}